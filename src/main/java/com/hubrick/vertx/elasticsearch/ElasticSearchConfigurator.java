@@ -15,12 +15,20 @@
  */
 package com.hubrick.vertx.elasticsearch;
 
+import com.hubrick.vertx.elasticsearch.model.CircuitBreakerOptions;
+import com.hubrick.vertx.elasticsearch.model.ClientSelection;
+import com.hubrick.vertx.elasticsearch.model.OperationClass;
 import org.elasticsearch.common.transport.TransportAddress;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * ES client configuration provider
+ * <p>
+ * Everything beyond the cluster name, sniffing and transport addresses has a default which keeps the behaviour of
+ * earlier versions, so existing implementations only override what they want to configure.
  */
 public interface ElasticSearchConfigurator {
 
@@ -28,8 +36,139 @@ public interface ElasticSearchConfigurator {
 
     boolean getClientTransportSniff();
 
+    /**
+     * Additional transport client settings, applied after the cluster name and sniffing
+     */
+    default Map<String, String> getSettings() {
+        return Collections.emptyMap();
+    }
+
     boolean getSettingsRequireUnits();
 
     List<TransportAddress> getTransportAddresses();
 
+    default int getClientPoolSize() {
+        return 1;
+    }
+
+    default ClientSelection getClientPoolSelection() {
+        return ClientSelection.ROUND_ROBIN;
+    }
+
+    default int getMappingWorkerPoolSize() {
+        return 0;
+    }
+
+    default boolean getRawResponseEnabled() {
+        return true;
+    }
+
+    default long getScrollIdleTimeout() {
+        return 0;
+    }
+
+    default int getSearchCacheMaxEntries() {
+        return 0;
+    }
+
+    default long getSearchCacheTtl() {
+        return 0;
+    }
+
+    default int getGetCacheMaxEntries() {
+        return 0;
+    }
+
+    default long getGetCacheTtl() {
+        return 60000;
+    }
+
+    default boolean getBulkBufferEnabled() {
+        return false;
+    }
+
+    default int getBulkBufferMaxActions() {
+        return 1000;
+    }
+
+    default long getBulkBufferMaxSizeInBytes() {
+        return 5L * 1024 * 1024;
+    }
+
+    default long getBulkBufferFlushInterval() {
+        return 100;
+    }
+
+    default int getRequestLimitMaxConcurrent(OperationClass operationClass) {
+        return 0;
+    }
+
+    default int getRequestLimitMaxQueued(OperationClass operationClass) {
+        return 1000;
+    }
+
+    default int getRetryMaxRetries() {
+        return 0;
+    }
+
+    default long getRetryInitialDelay() {
+        return 50;
+    }
+
+    default long getRetryMaxDelay() {
+        return 2000;
+    }
+
+    default double getRetryBudget() {
+        return 0.1;
+    }
+
+    default boolean getCircuitBreakerEnabled() {
+        return false;
+    }
+
+    /**
+     * The event bus address circuit breaker state changes are published to
+     */
+    default String getCircuitBreakerAddress() {
+        return "vertx-elasticsearch.circuit-breaker";
+    }
+
+    default CircuitBreakerOptions getCircuitBreakerOptions(OperationClass operationClass) {
+        return new CircuitBreakerOptions();
+    }
+
+    default boolean getHedgingEnabled() {
+        return false;
+    }
+
+    /**
+     * The percentile of recent latencies after which a hedge request is sent, e.g. {@code 0.95}
+     */
+    default double getHedgingPercentile() {
+        return 0.95;
+    }
+
+    default long getHedgingMinDelay() {
+        return 10;
+    }
+
+    default int getHedgingWindowSize() {
+        return 1000;
+    }
+
+    /**
+     * The maximum fraction of requests which are hedged
+     */
+    default double getHedgingMaxRate() {
+        return 0.05;
+    }
+
+    /**
+     * Whether a {@code preference} is derived from the session key of searches and gets which have none
+     */
+    default boolean getSessionAffinityEnabled() {
+        return false;
+    }
+
 }
@@ -15,19 +15,36 @@
  */
 package com.hubrick.vertx.elasticsearch;
 
+import com.hubrick.vertx.elasticsearch.impl.LocalServiceRegistry;
+import com.hubrick.vertx.elasticsearch.impl.ParallelScanReadStream;
+import com.hubrick.vertx.elasticsearch.impl.ScrollReadStream;
+import com.hubrick.vertx.elasticsearch.impl.SmileJsonObjectCodec;
+import com.hubrick.vertx.elasticsearch.impl.SourceDecoder;
+import com.hubrick.vertx.elasticsearch.model.BulkItem;
+import com.hubrick.vertx.elasticsearch.model.BulkOptions;
+import com.hubrick.vertx.elasticsearch.model.BulkResponse;
 import com.hubrick.vertx.elasticsearch.model.DeleteByQueryOptions;
 import com.hubrick.vertx.elasticsearch.model.DeleteByQueryResponse;
 import com.hubrick.vertx.elasticsearch.model.DeleteOptions;
 import com.hubrick.vertx.elasticsearch.model.DeleteResponse;
 import com.hubrick.vertx.elasticsearch.model.GetOptions;
+import com.hubrick.vertx.elasticsearch.model.GetItem;
 import com.hubrick.vertx.elasticsearch.model.GetResponse;
+import com.hubrick.vertx.elasticsearch.model.Hit;
 import com.hubrick.vertx.elasticsearch.model.IndexOptions;
 import com.hubrick.vertx.elasticsearch.model.IndexResponse;
+import com.hubrick.vertx.elasticsearch.model.MultiGetOptions;
+import com.hubrick.vertx.elasticsearch.model.MultiGetResponse;
+import com.hubrick.vertx.elasticsearch.model.MultiSearchOptions;
+import com.hubrick.vertx.elasticsearch.model.MultiSearchResponse;
 import com.hubrick.vertx.elasticsearch.model.SearchOptions;
+import com.hubrick.vertx.elasticsearch.model.SearchRequestItem;
 import com.hubrick.vertx.elasticsearch.model.SearchResponse;
 import com.hubrick.vertx.elasticsearch.model.SearchScrollOptions;
+import com.hubrick.vertx.elasticsearch.model.SearchShardsResponse;
 import com.hubrick.vertx.elasticsearch.model.SuggestOptions;
 import com.hubrick.vertx.elasticsearch.model.SuggestResponse;
+import com.hubrick.vertx.elasticsearch.model.TypedHits;
 import com.hubrick.vertx.elasticsearch.model.UpdateOptions;
 import com.hubrick.vertx.elasticsearch.model.UpdateResponse;
 import io.vertx.codegen.annotations.GenIgnore;
@@ -35,9 +52,13 @@ import io.vertx.codegen.annotations.ProxyGen;
 import io.vertx.codegen.annotations.ProxyIgnore;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.serviceproxy.ProxyHelper;
 
 import java.util.Collections;
@@ -54,12 +75,48 @@ public interface ElasticSearchService {
         return ProxyHelper.createProxy(ElasticSearchService.class, vertx, address);
     }
 
+    /**
+     * Creates an event bus proxy which exchanges requests and responses with the verticle in the binary Smile format
+     * instead of json. Saves bandwidth and encoding time for large responses in a clustered deployment.
+     * The verticle serves binary requests if {@code binary} is enabled in its config, on {@code <address>.binary} unless
+     * {@code address.binary} is configured.
+     */
+    static ElasticSearchService createBinaryEventBusProxy(Vertx vertx, String binaryAddress) {
+        SmileJsonObjectCodec.register(vertx.eventBus());
+        return ProxyHelper.createProxy(ElasticSearchService.class, vertx, binaryAddress, new DeliveryOptions().setCodecName(SmileJsonObjectCodec.NAME));
+    }
+
+    /**
+     * Binds directly to the service if {@link ElasticSearchServiceVerticle} is deployed in the same JVM, which passes
+     * options and responses by reference instead of encoding them to json. Falls back to the event bus proxy otherwise.
+     * <p>
+     * Responses are never shared between callers, cached responses are copied before they are handed out. Options must
+     * not be modified until the result handler has been called.
+     */
+    static ElasticSearchService createLocalProxy(Vertx vertx, String address) {
+        final ElasticSearchService service = LocalServiceRegistry.lookup(vertx, address);
+        return service != null ? service : createEventBusProxy(vertx, address);
+    }
+
     @ProxyIgnore
     void start();
 
     @ProxyIgnore
     void stop();
 
+    /**
+     * Stops the service and calls the completion handler once pending work, e.g. buffered writes, has been completed
+     * and the client has been closed.
+     *
+     * @param completionHandler called once the service is stopped
+     */
+    @GenIgnore
+    @ProxyIgnore
+    default void stop(Handler<AsyncResult<Void>> completionHandler) {
+        stop();
+        completionHandler.handle(Future.succeededFuture());
+    }
+
     /**
      * http://www.elastic.co/guide/en/elasticsearch/client/java-api/1.4/index_.html
      *
@@ -85,6 +142,24 @@ public interface ElasticSearchService {
      */
     void index(String index, String type, JsonObject source, IndexOptions options, Handler<AsyncResult<IndexResponse>> resultHandler);
 
+    /**
+     * Indexes an already encoded json or smile source without decoding it first. The buffer must not be modified
+     * until the result handler is called.
+     * <p>
+     * Only json sources are supported through the event bus proxy.
+     *
+     * @param index         the index name
+     * @param type          the type name
+     * @param source        the encoded source to be indexed
+     * @param options       optional index options (id, timeout, ttl, etc.)
+     * @param resultHandler result handler callback
+     */
+    @GenIgnore
+    @ProxyIgnore
+    default void index(String index, String type, Buffer source, IndexOptions options, Handler<AsyncResult<IndexResponse>> resultHandler) {
+        index(index, type, new JsonObject(source.toString()), options, resultHandler);
+    }
+
     /**
      * http://www.elastic.co/guide/en/elasticsearch/client/java-api/1.4/java-update-api.html
      *
@@ -96,6 +171,26 @@ public interface ElasticSearchService {
      */
     void update(String index, String type, String id, UpdateOptions options, Handler<AsyncResult<UpdateResponse>> resultHandler);
 
+    /**
+     * Partially updates a document with an already encoded json or smile doc without decoding it first. The doc set
+     * in the options is ignored. The buffer must not be modified until the result handler is called.
+     * <p>
+     * Only json docs are supported through the event bus proxy.
+     *
+     * @param index         the index name
+     * @param type          the type name
+     * @param id            the source id to update
+     * @param doc           the encoded partial document
+     * @param options       the update options (upsert, retries, etc.)
+     * @param resultHandler result handler callback
+     */
+    @GenIgnore
+    @ProxyIgnore
+    default void update(String index, String type, String id, Buffer doc, UpdateOptions options, Handler<AsyncResult<UpdateResponse>> resultHandler) {
+        final UpdateOptions updateOptions = options == null ? new UpdateOptions() : new UpdateOptions(options);
+        update(index, type, id, updateOptions.setDoc(new JsonObject(doc.toString())), resultHandler);
+    }
+
     /**
      * http://www.elastic.co/guide/en/elasticsearch/client/java-api/1.4/get.html
      *
@@ -121,6 +216,23 @@ public interface ElasticSearchService {
      */
     void get(String index, String type, String id, GetOptions options, Handler<AsyncResult<GetResponse>> resultHandler);
 
+    /**
+     * Gets a document and binds its source to {@code sourceType} with the vert.x json mapper.
+     * The result is {@code null} if the document does not exist.
+     *
+     * @param index         the index name
+     * @param type          the type name
+     * @param id            the source id to get
+     * @param options       the get options
+     * @param sourceType    the type to bind the source to
+     * @param resultHandler result handler callback
+     */
+    @GenIgnore
+    @ProxyIgnore
+    default <T> void get(String index, String type, String id, GetOptions options, Class<T> sourceType, Handler<AsyncResult<T>> resultHandler) {
+        get(index, type, id, options, SourceDecoder.decoding(resultHandler, getResponse -> SourceDecoder.decodeGetResponse(getResponse, sourceType)));
+    }
+
     @GenIgnore
     @ProxyIgnore
     default void search(String index, Handler<AsyncResult<SearchResponse>> resultHandler) {
@@ -141,6 +253,21 @@ public interface ElasticSearchService {
 
     void search(List<String> indices, SearchOptions options, Handler<AsyncResult<SearchResponse>> resultHandler);
 
+    /**
+     * Searches and binds the source of every hit to {@code sourceType} with the vert.x json mapper, without
+     * decoding the sources into json objects first.
+     *
+     * @param indices       the indices to search
+     * @param options       the search options
+     * @param sourceType    the type to bind the hit sources to
+     * @param resultHandler result handler callback
+     */
+    @GenIgnore
+    @ProxyIgnore
+    default <T> void search(List<String> indices, SearchOptions options, Class<T> sourceType, Handler<AsyncResult<TypedHits<T>>> resultHandler) {
+        search(indices, options, SourceDecoder.decoding(resultHandler, searchResponse -> SourceDecoder.decodeHits(searchResponse, sourceType)));
+    }
+
     @GenIgnore
     @ProxyIgnore
     default void searchScroll(String scrollId, Handler<AsyncResult<SearchResponse>> resultHandler) {
@@ -156,6 +283,66 @@ public interface ElasticSearchService {
      */
     void searchScroll(String scrollId, SearchScrollOptions options, Handler<AsyncResult<SearchResponse>> resultHandler);
 
+    /**
+     * https://www.elastic.co/guide/en/elasticsearch/reference/2.4/search-request-scroll.html#_clear_scroll_api
+     *
+     * @param scrollIds     the scroll ids to clear
+     * @param resultHandler result handler callback
+     */
+    void clearScroll(List<String> scrollIds, Handler<AsyncResult<Void>> resultHandler);
+
+    /**
+     * https://www.elastic.co/guide/en/elasticsearch/reference/2.4/search-shards.html
+     *
+     * @param indices       the index names
+     * @param resultHandler result handler callback
+     */
+    void searchShards(List<String> indices, Handler<AsyncResult<SearchShardsResponse>> resultHandler);
+
+    @GenIgnore
+    @ProxyIgnore
+    default ReadStream<Hit> scrollStream(String index, SearchOptions options) {
+        return scrollStream(Collections.singletonList(index), options);
+    }
+
+    /**
+     * Streams all hits of a scroll search. The next page is only fetched when the previous one was consumed and the
+     * stream isn't paused. The scroll is cleared once the stream ends or fails. If no scroll keep alive is set in the
+     * options it defaults to 1m.
+     *
+     * @param indices the index names
+     * @param options the search options
+     * @return the stream of hits
+     */
+    @GenIgnore
+    @ProxyIgnore
+    default ReadStream<Hit> scrollStream(List<String> indices, SearchOptions options) {
+        return new ScrollReadStream(this, indices, options);
+    }
+
+    @GenIgnore
+    @ProxyIgnore
+    default ReadStream<Hit> parallelScan(String index, SearchOptions options, int parallelism) {
+        return parallelScan(Collections.singletonList(index), options, parallelism);
+    }
+
+    /**
+     * Streams all hits of the indices with up to {@code parallelism} scrolls running at the same time. The shards
+     * are looked up with {@link #searchShards(List, Handler)} and split into groups, every group is scrolled on its
+     * own using a {@code _shards} preference and sorted by {@code _doc} unless the options define a sort. Hits of
+     * all groups are merged into one stream in arrival order, so there is no overall order.
+     *
+     * @param indices     the index names
+     * @param options     the search options, any preference is replaced
+     * @param parallelism the maximum number of concurrent scrolls
+     * @return the stream of hits
+     */
+    @GenIgnore
+    @ProxyIgnore
+    default ReadStream<Hit> parallelScan(List<String> indices, SearchOptions options, int parallelism) {
+        return new ParallelScanReadStream(this, indices, options, parallelism);
+    }
+
     /**
      * http://www.elastic.co/guide/en/elasticsearch/client/java-api/1.4/delete.html
      *
@@ -236,4 +423,96 @@ public interface ElasticSearchService {
      * @param resultHandler result handler callback
      */
     void deleteByQuery(List<String> indices, JsonObject query, DeleteByQueryOptions options, Handler<AsyncResult<DeleteByQueryResponse>> resultHandler);
+
+    /**
+     * https://www.elastic.co/guide/en/elasticsearch/client/java-api/2.4/java-docs-bulk.html
+     *
+     * @param items         the index, update and delete actions to execute
+     * @param resultHandler result handler callback
+     */
+    @GenIgnore
+    @ProxyIgnore
+    default void bulk(List<BulkItem> items, Handler<AsyncResult<BulkResponse>> resultHandler) {
+        bulk(items, new BulkOptions(), resultHandler);
+    }
+
+    /**
+     * https://www.elastic.co/guide/en/elasticsearch/client/java-api/2.4/java-docs-bulk.html
+     *
+     * @param items         the index, update and delete actions to execute
+     * @param options       optional bulk options (refresh, timeout, etc.)
+     * @param resultHandler result handler callback
+     */
+    @GenIgnore
+    @ProxyIgnore
+    default void bulk(List<BulkItem> items, BulkOptions options, Handler<AsyncResult<BulkResponse>> resultHandler) {
+        final BulkOptions bulkOptions = options == null ? new BulkOptions() : new BulkOptions(options);
+        items.forEach(bulkOptions::addItem);
+        bulk(bulkOptions, resultHandler);
+    }
+
+    /**
+     * https://www.elastic.co/guide/en/elasticsearch/client/java-api/2.4/java-docs-bulk.html
+     *
+     * @param options       the bulk options holding the actions to execute
+     * @param resultHandler result handler callback
+     */
+    void bulk(BulkOptions options, Handler<AsyncResult<BulkResponse>> resultHandler);
+
+    /**
+     * https://www.elastic.co/guide/en/elasticsearch/client/java-api/2.4/java-docs-multi-get.html
+     *
+     * @param items         the documents to get
+     * @param resultHandler result handler callback
+     */
+    @GenIgnore
+    @ProxyIgnore
+    default void multiGet(List<GetItem> items, Handler<AsyncResult<MultiGetResponse>> resultHandler) {
+        multiGet(items, new MultiGetOptions(), resultHandler);
+    }
+
+    /**
+     * https://www.elastic.co/guide/en/elasticsearch/client/java-api/2.4/java-docs-multi-get.html
+     *
+     * @param items         the documents to get
+     * @param options       optional multi get options (preference, realtime, etc.)
+     * @param resultHandler result handler callback
+     */
+    @GenIgnore
+    @ProxyIgnore
+    default void multiGet(List<GetItem> items, MultiGetOptions options, Handler<AsyncResult<MultiGetResponse>> resultHandler) {
+        final MultiGetOptions multiGetOptions = options == null ? new MultiGetOptions() : new MultiGetOptions(options);
+        items.forEach(multiGetOptions::addItem);
+        multiGet(multiGetOptions, resultHandler);
+    }
+
+    /**
+     * https://www.elastic.co/guide/en/elasticsearch/client/java-api/2.4/java-docs-multi-get.html
+     *
+     * @param options       the multi get options holding the documents to get
+     * @param resultHandler result handler callback
+     */
+    void multiGet(MultiGetOptions options, Handler<AsyncResult<MultiGetResponse>> resultHandler);
+
+    /**
+     * https://www.elastic.co/guide/en/elasticsearch/client/java-api/2.4/java-search-msearch.html
+     *
+     * @param items         the searches to execute
+     * @param resultHandler result handler callback
+     */
+    @GenIgnore
+    @ProxyIgnore
+    default void multiSearch(List<SearchRequestItem> items, Handler<AsyncResult<MultiSearchResponse>> resultHandler) {
+        final MultiSearchOptions multiSearchOptions = new MultiSearchOptions();
+        items.forEach(multiSearchOptions::addItem);
+        multiSearch(multiSearchOptions, resultHandler);
+    }
+
+    /**
+     * https://www.elastic.co/guide/en/elasticsearch/client/java-api/2.4/java-search-msearch.html
+     *
+     * @param options       the multi search options holding the searches to execute
+     * @param resultHandler result handler callback
+     */
+    void multiSearch(MultiSearchOptions options, Handler<AsyncResult<MultiSearchResponse>> resultHandler);
 }
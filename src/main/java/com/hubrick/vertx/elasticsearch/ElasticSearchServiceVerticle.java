@@ -15,7 +15,16 @@
  */
 package com.hubrick.vertx.elasticsearch;
 
+import com.hubrick.vertx.elasticsearch.impl.LocalServiceRegistry;
+import com.hubrick.vertx.elasticsearch.impl.SmileJsonObjectCodec;
 import io.vertx.core.AbstractVerticle;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.json.JsonObject;
 import io.vertx.serviceproxy.ProxyHelper;
 
 import javax.inject.Inject;
@@ -27,6 +36,8 @@ public class ElasticSearchServiceVerticle extends AbstractVerticle {
 
     private final ElasticSearchService service;
     private final ElasticSearchAdminService adminService;
+    private String address;
+    private ElasticSearchServiceVertxProxyHandler binaryProxyHandler;
 
     @Inject
     public ElasticSearchServiceVerticle(ElasticSearchService service, ElasticSearchAdminService adminService) {
@@ -37,7 +48,7 @@ public class ElasticSearchServiceVerticle extends AbstractVerticle {
     @Override
     public void start() throws Exception {
 
-        String address = config().getString("address");
+        address = config().getString("address");
         if (address == null || address.isEmpty()) {
             throw new IllegalStateException("address field must be specified in config for service verticle");
         }
@@ -50,14 +61,100 @@ public class ElasticSearchServiceVerticle extends AbstractVerticle {
         ProxyHelper.registerService(ElasticSearchService.class, vertx, service, address);
         ProxyHelper.registerService(ElasticSearchAdminService.class, vertx, adminService, adminAddress);
 
+        // Serve clients which prefer the binary wire format if enabled
+        if (config().getBoolean("binary", false)) {
+            String binaryAddress = config().getString("address.binary");
+            if (binaryAddress == null || binaryAddress.isEmpty()) {
+                binaryAddress = address + ".binary";
+            }
+
+            SmileJsonObjectCodec.register(vertx.eventBus());
+            binaryProxyHandler = new ElasticSearchServiceVertxProxyHandler(vertx, service);
+            vertx.eventBus().<JsonObject>consumer(binaryAddress, this::handleBinaryRequest);
+        }
+
+        // Allow callers in the same JVM to bind directly
+        LocalServiceRegistry.register(vertx, address, service);
+
         // Start the service
         service.start();
 
     }
 
+    /**
+     * Hands the request to the service proxy handler, which replies in the binary wire format.
+     */
+    private void handleBinaryRequest(Message<JsonObject> message) {
+        binaryProxyHandler.handle(new BinaryReplyMessage(message));
+    }
+
     @Override
-    public void stop() throws Exception {
-        service.stop();
+    public void stop(Future<Void> stopFuture) throws Exception {
+        if (address != null) {
+            LocalServiceRegistry.unregister(vertx, address, service);
+        }
+        service.stop(stopFuture.completer());
     }
 
+    /**
+     * Sends json object replies with the {@link SmileJsonObjectCodec}. Other replies, e.g. the empty reply of void
+     * operations, are sent as is.
+     */
+    private static class BinaryReplyMessage implements Message<JsonObject> {
+
+        private final Message<JsonObject> message;
+
+        private BinaryReplyMessage(Message<JsonObject> message) {
+            this.message = message;
+        }
+
+        @Override
+        public String address() {
+            return message.address();
+        }
+
+        @Override
+        public MultiMap headers() {
+            return message.headers();
+        }
+
+        @Override
+        public JsonObject body() {
+            return message.body();
+        }
+
+        @Override
+        public String replyAddress() {
+            return message.replyAddress();
+        }
+
+        @Override
+        public void reply(Object reply) {
+            reply(reply, new DeliveryOptions());
+        }
+
+        @Override
+        public <R> void reply(Object reply, Handler<AsyncResult<Message<R>>> replyHandler) {
+            reply(reply, new DeliveryOptions(), replyHandler);
+        }
+
+        @Override
+        public void reply(Object reply, DeliveryOptions options) {
+            message.reply(reply, binary(reply, options));
+        }
+
+        @Override
+        public <R> void reply(Object reply, DeliveryOptions options, Handler<AsyncResult<Message<R>>> replyHandler) {
+            message.reply(reply, binary(reply, options), replyHandler);
+        }
+
+        @Override
+        public void fail(int failureCode, String failureMessage) {
+            message.fail(failureCode, failureMessage);
+        }
+
+        private static DeliveryOptions binary(Object reply, DeliveryOptions options) {
+            return reply instanceof JsonObject ? new DeliveryOptions(options).setCodecName(SmileJsonObjectCodec.NAME) : options;
+        }
+    }
 }
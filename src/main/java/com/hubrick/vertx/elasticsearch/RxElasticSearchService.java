@@ -16,22 +16,35 @@
 package com.hubrick.vertx.elasticsearch;
 
 import com.hubrick.vertx.elasticsearch.impl.DefaultRxElasticSearchService;
+import com.hubrick.vertx.elasticsearch.model.BulkItem;
+import com.hubrick.vertx.elasticsearch.model.BulkOptions;
+import com.hubrick.vertx.elasticsearch.model.BulkResponse;
 import com.hubrick.vertx.elasticsearch.model.DeleteByQueryOptions;
 import com.hubrick.vertx.elasticsearch.model.DeleteByQueryResponse;
 import com.hubrick.vertx.elasticsearch.model.DeleteOptions;
 import com.hubrick.vertx.elasticsearch.model.DeleteResponse;
 import com.hubrick.vertx.elasticsearch.model.GetOptions;
+import com.hubrick.vertx.elasticsearch.model.GetItem;
 import com.hubrick.vertx.elasticsearch.model.GetResponse;
+import com.hubrick.vertx.elasticsearch.model.Hit;
 import com.hubrick.vertx.elasticsearch.model.IndexOptions;
 import com.hubrick.vertx.elasticsearch.model.IndexResponse;
+import com.hubrick.vertx.elasticsearch.model.MultiGetOptions;
+import com.hubrick.vertx.elasticsearch.model.MultiGetResponse;
+import com.hubrick.vertx.elasticsearch.model.MultiSearchOptions;
+import com.hubrick.vertx.elasticsearch.model.MultiSearchResponse;
 import com.hubrick.vertx.elasticsearch.model.SearchOptions;
+import com.hubrick.vertx.elasticsearch.model.SearchRequestItem;
 import com.hubrick.vertx.elasticsearch.model.SearchResponse;
 import com.hubrick.vertx.elasticsearch.model.SearchScrollOptions;
+import com.hubrick.vertx.elasticsearch.model.SearchShardsResponse;
 import com.hubrick.vertx.elasticsearch.model.SuggestOptions;
 import com.hubrick.vertx.elasticsearch.model.SuggestResponse;
+import com.hubrick.vertx.elasticsearch.model.TypedHits;
 import com.hubrick.vertx.elasticsearch.model.UpdateOptions;
 import com.hubrick.vertx.elasticsearch.model.UpdateResponse;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import rx.Observable;
 
@@ -50,20 +63,34 @@ public interface RxElasticSearchService {
         return new DefaultRxElasticSearchService(ElasticSearchService.createEventBusProxy(vertx, address));
     }
 
+    static RxElasticSearchService createBinaryEventBusProxy(Vertx vertx, String binaryAddress) {
+        return new DefaultRxElasticSearchService(ElasticSearchService.createBinaryEventBusProxy(vertx, binaryAddress));
+    }
+
+    static RxElasticSearchService createLocalProxy(Vertx vertx, String address) {
+        return new DefaultRxElasticSearchService(ElasticSearchService.createLocalProxy(vertx, address));
+    }
+
     default Observable<IndexResponse> index(String index, String type, JsonObject source) {
         return index(index, type, source, new IndexOptions());
     }
 
     Observable<IndexResponse> index(String index, String type, JsonObject source, IndexOptions options);
 
+    Observable<IndexResponse> index(String index, String type, Buffer source, IndexOptions options);
+
     Observable<UpdateResponse> update(String index, String type, String id, UpdateOptions options);
 
+    Observable<UpdateResponse> update(String index, String type, String id, Buffer doc, UpdateOptions options);
+
     default Observable<GetResponse> get(String index, String type, String id) {
         return get(index, type, id, new GetOptions());
     }
 
     Observable<GetResponse> get(String index, String type, String id, GetOptions options);
 
+    <T> Observable<T> get(String index, String type, String id, GetOptions options, Class<T> sourceType);
+
     default Observable<SearchResponse> search(String index) {
         return search(index, new SearchOptions());
     }
@@ -78,12 +105,48 @@ public interface RxElasticSearchService {
 
     Observable<SearchResponse> search(List<String> indices, SearchOptions options);
 
+    <T> Observable<TypedHits<T>> search(List<String> indices, SearchOptions options, Class<T> sourceType);
+
     default Observable<SearchResponse> searchScroll(String scrollId) {
         return searchScroll(scrollId, new SearchScrollOptions());
     }
 
     Observable<SearchResponse> searchScroll(String scrollId, SearchScrollOptions options);
 
+    Observable<Void> clearScroll(List<String> scrollIds);
+
+    default Observable<Hit> scrollAll(String index, SearchOptions options) {
+        return scrollAll(Collections.singletonList(index), options);
+    }
+
+    /**
+     * Emits all hits of a scroll search. Further pages are only fetched when requested by the subscriber and
+     * the scroll is cleared on completion, error or unsubscribe.
+     *
+     * @param indices the index names
+     * @param options the search options
+     * @return the hits
+     */
+    Observable<Hit> scrollAll(List<String> indices, SearchOptions options);
+
+    Observable<SearchShardsResponse> searchShards(List<String> indices);
+
+    default Observable<Hit> parallelScanAll(String index, SearchOptions options, int parallelism) {
+        return parallelScanAll(Collections.singletonList(index), options, parallelism);
+    }
+
+    /**
+     * Emits all hits of the indices with up to {@code parallelism} scrolls running at the same time, see
+     * {@link ElasticSearchService#parallelScan(List, SearchOptions, int)}. Pages are only fetched as far as requested
+     * by the subscriber and all scrolls are cleared on completion, error or unsubscribe.
+     *
+     * @param indices     the index names
+     * @param options     the search options
+     * @param parallelism the maximum number of concurrent scrolls
+     * @return the hits
+     */
+    Observable<Hit> parallelScanAll(List<String> indices, SearchOptions options, int parallelism);
+
     default Observable<DeleteResponse> delete(String index, String type, String id) {
         return delete(index, type, id, new DeleteOptions());
     }
@@ -117,4 +180,36 @@ public interface RxElasticSearchService {
     }
 
     Observable<DeleteByQueryResponse> deleteByQuery(List<String> indices, JsonObject query, DeleteByQueryOptions options);
+
+    default Observable<BulkResponse> bulk(List<BulkItem> items) {
+        return bulk(items, new BulkOptions());
+    }
+
+    default Observable<BulkResponse> bulk(List<BulkItem> items, BulkOptions options) {
+        final BulkOptions bulkOptions = options == null ? new BulkOptions() : new BulkOptions(options);
+        items.forEach(bulkOptions::addItem);
+        return bulk(bulkOptions);
+    }
+
+    Observable<BulkResponse> bulk(BulkOptions options);
+
+    default Observable<MultiGetResponse> multiGet(List<GetItem> items) {
+        return multiGet(items, new MultiGetOptions());
+    }
+
+    default Observable<MultiGetResponse> multiGet(List<GetItem> items, MultiGetOptions options) {
+        final MultiGetOptions multiGetOptions = options == null ? new MultiGetOptions() : new MultiGetOptions(options);
+        items.forEach(multiGetOptions::addItem);
+        return multiGet(multiGetOptions);
+    }
+
+    Observable<MultiGetResponse> multiGet(MultiGetOptions options);
+
+    default Observable<MultiSearchResponse> multiSearch(List<SearchRequestItem> items) {
+        final MultiSearchOptions multiSearchOptions = new MultiSearchOptions();
+        items.forEach(multiSearchOptions::addItem);
+        return multiSearch(multiSearchOptions);
+    }
+
+    Observable<MultiSearchResponse> multiSearch(MultiSearchOptions options);
 }
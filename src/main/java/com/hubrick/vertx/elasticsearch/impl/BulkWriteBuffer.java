@@ -0,0 +1,160 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.ActionRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Buffers single document writes and flushes them as one bulk request once the configured number of actions,
+ * the configured request size or the flush interval is reached. Every buffered action keeps its own listener which
+ * is completed with the matching bulk item response.
+ */
+class BulkWriteBuffer {
+
+    private final Vertx vertx;
+    private final BiConsumer<BulkRequest, ActionListener<BulkResponse>> bulkExecutor;
+    private final int maxActions;
+    private final long maxSizeInBytes;
+    private final long flushInterval;
+
+    private BulkRequest bulkRequest = new BulkRequest();
+    private List<ActionListener<BulkItemResponse>> listeners = new ArrayList<>();
+    private long timerId = -1;
+    private int inFlight;
+    private List<Handler<AsyncResult<Void>>> drainHandlers = new ArrayList<>();
+
+    BulkWriteBuffer(Vertx vertx, BiConsumer<BulkRequest, ActionListener<BulkResponse>> bulkExecutor, int maxActions, long maxSizeInBytes, long flushInterval) {
+        this.vertx = vertx;
+        this.bulkExecutor = bulkExecutor;
+        this.maxActions = maxActions;
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.flushInterval = flushInterval;
+    }
+
+    void add(ActionRequest<?> request, ActionListener<BulkItemResponse> listener) {
+
+        final boolean flush;
+        synchronized (this) {
+            bulkRequest.add(request);
+            listeners.add(listener);
+
+            flush = bulkRequest.numberOfActions() >= maxActions || bulkRequest.estimatedSizeInBytes() >= maxSizeInBytes;
+            if (!flush && timerId == -1) {
+                timerId = vertx.setTimer(flushInterval, id -> flush());
+            }
+        }
+
+        if (flush) {
+            flush();
+        }
+    }
+
+    void flush() {
+
+        final BulkRequest request;
+        final List<ActionListener<BulkItemResponse>> requestListeners;
+        synchronized (this) {
+            if (timerId != -1) {
+                vertx.cancelTimer(timerId);
+                timerId = -1;
+            }
+            if (listeners.isEmpty()) {
+                return;
+            }
+
+            request = bulkRequest;
+            requestListeners = listeners;
+            bulkRequest = new BulkRequest();
+            listeners = new ArrayList<>();
+            inFlight++;
+        }
+
+        final ActionListener<BulkResponse> bulkListener = new ActionListener<BulkResponse>() {
+            @Override
+            public void onResponse(BulkResponse bulkResponse) {
+                for (BulkItemResponse item : bulkResponse.getItems()) {
+                    requestListeners.get(item.getItemId()).onResponse(item);
+                }
+                completed();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                requestListeners.forEach(listener -> listener.onFailure(t));
+                completed();
+            }
+        };
+
+        try {
+            bulkExecutor.accept(request, bulkListener);
+        } catch (RuntimeException e) {
+            bulkListener.onFailure(e);
+        }
+    }
+
+    /**
+     * Sends the buffered actions and calls the completion handler once every bulk request of the buffer has completed,
+     * including the ones sent by earlier flushes which are still in flight or waiting for a retry. Shutdown waits for
+     * this before the client is closed.
+     */
+    void drain(Handler<AsyncResult<Void>> completionHandler) {
+
+        flush();
+
+        final boolean drained;
+        synchronized (this) {
+            drained = inFlight == 0;
+            if (!drained) {
+                drainHandlers.add(completionHandler);
+            }
+        }
+
+        if (drained) {
+            completionHandler.handle(Future.succeededFuture());
+        }
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private void completed() {
+
+        final List<Handler<AsyncResult<Void>>> handlers;
+        synchronized (this) {
+            inFlight--;
+            if (inFlight > 0 || drainHandlers.isEmpty()) {
+                return;
+            }
+            handlers = drainHandlers;
+            drainHandlers = new ArrayList<>();
+        }
+
+        handlers.forEach(handler -> handler.handle(Future.succeededFuture()));
+    }
+}
@@ -0,0 +1,283 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import com.hubrick.vertx.elasticsearch.ElasticSearchConfigurator;
+import com.hubrick.vertx.elasticsearch.model.CircuitBreakerOptions;
+import com.hubrick.vertx.elasticsearch.model.OperationClass;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import org.elasticsearch.ExceptionsHelper;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.rest.RestStatus;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Circuit breaker per {@link OperationClass}. While closed the outcomes of the most recent calls are recorded, once
+ * the share of failed or slow calls reaches its threshold the breaker opens and fails all calls with a
+ * {@link CircuitBreakerOpenException} instead of letting them wait for transport timeouts. After the open duration a
+ * limited number of probe calls is let through (half open), depending on their outcome the breaker closes or opens
+ * again.
+ * <p>
+ * Only failures which point to an unhealthy cluster count as failed: rejections ({@code 429}) and server errors
+ * ({@code 5xx}) including transport failures and timeouts. Client errors like conflicts or missing indices don't.
+ * <p>
+ * Every state change is published on the event bus.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final Vertx vertx;
+    private final boolean enabled;
+    private final String address;
+    private final String clusterName;
+    private final Map<OperationClass, Breaker> breakers = new EnumMap<>(OperationClass.class);
+
+    public CircuitBreaker(Vertx vertx, ElasticSearchConfigurator configurator) {
+        this.vertx = vertx;
+        this.enabled = configurator.getCircuitBreakerEnabled();
+        this.address = configurator.getCircuitBreakerAddress();
+        this.clusterName = configurator.getClusterName();
+
+        for (OperationClass operationClass : OperationClass.values()) {
+            breakers.put(operationClass, new Breaker(operationClass, configurator.getCircuitBreakerOptions(operationClass)));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public State getState(OperationClass operationClass) {
+        return breakers.get(operationClass).getState();
+    }
+
+    /**
+     * Runs the action if the breaker of the operation class lets it through and records its outcome.
+     */
+    public <T> void run(OperationClass operationClass, Consumer<ActionListener<T>> action, ActionListener<T> listener) {
+        if (!enabled) {
+            action.accept(listener);
+            return;
+        }
+
+        final Breaker breaker = breakers.get(operationClass);
+        final long generation = breaker.acquire();
+        if (generation < 0) {
+            listener.onFailure(new CircuitBreakerOpenException(operationClass));
+            return;
+        }
+
+        final long start = System.nanoTime();
+        final AtomicBoolean recorded = new AtomicBoolean();
+        try {
+            action.accept(new ActionListener<T>() {
+                @Override
+                public void onResponse(T response) {
+                    if (recorded.compareAndSet(false, true)) {
+                        breaker.record(generation, false, System.nanoTime() - start);
+                    }
+                    listener.onResponse(response);
+                }
+
+                @Override
+                public void onFailure(Throwable e) {
+                    if (recorded.compareAndSet(false, true)) {
+                        breaker.record(generation, isFailure(e), System.nanoTime() - start);
+                    }
+                    listener.onFailure(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Without an outcome a half open probe would hold its permit forever
+            if (recorded.compareAndSet(false, true)) {
+                breaker.record(generation, isFailure(e), System.nanoTime() - start);
+            }
+            throw e;
+        }
+    }
+
+    public JsonObject getMetrics() {
+        final JsonObject metrics = new JsonObject();
+        breakers.forEach((operationClass, breaker) -> metrics.put(operationClass.name().toLowerCase(), breaker.getMetrics()));
+        return metrics;
+    }
+
+    static boolean isFailure(Throwable e) {
+        final RestStatus status = ExceptionsHelper.status(ExceptionsHelper.unwrapCause(e));
+        return status == RestStatus.TOO_MANY_REQUESTS || status.getStatus() >= 500;
+    }
+
+    private void publish(JsonObject event) {
+        if (event != null && address != null) {
+            vertx.eventBus().publish(address, event.put("cluster", clusterName));
+        }
+    }
+
+    private class Breaker {
+
+        private final OperationClass operationClass;
+        private final CircuitBreakerOptions options;
+        private final boolean[] failed;
+        private final boolean[] slow;
+
+        private State state = State.CLOSED;
+        private long generation;
+        private long openedAt;
+        private int index;
+        private int count;
+        private int halfOpenPermitted;
+        private int halfOpenCompleted;
+        private int halfOpenFailed;
+        private int halfOpenSlow;
+        private long calls;
+        private long rejected;
+
+        private Breaker(OperationClass operationClass, CircuitBreakerOptions options) {
+            this.operationClass = operationClass;
+            this.options = options;
+            this.failed = new boolean[Math.max(1, options.getWindowSize())];
+            this.slow = new boolean[failed.length];
+        }
+
+        private long acquire() {
+            final JsonObject event;
+            final long acquired;
+            synchronized (this) {
+                if (state == State.OPEN && System.nanoTime() - openedAt >= TimeUnit.MILLISECONDS.toNanos(options.getOpenDuration())) {
+                    event = transition(State.HALF_OPEN);
+                } else {
+                    event = null;
+                }
+
+                if (state == State.OPEN || (state == State.HALF_OPEN && halfOpenPermitted >= options.getHalfOpenCalls())) {
+                    rejected++;
+                    acquired = -1;
+                } else {
+                    if (state == State.HALF_OPEN) {
+                        halfOpenPermitted++;
+                    }
+                    calls++;
+                    acquired = generation;
+                }
+            }
+
+            publish(event);
+            return acquired;
+        }
+
+        private void record(long callGeneration, boolean callFailed, long durationNanos) {
+            final JsonObject event;
+            synchronized (this) {
+                // Outcomes of calls started before the last state change are stale
+                if (callGeneration != generation) {
+                    return;
+                }
+
+                final boolean callSlow = durationNanos >= TimeUnit.MILLISECONDS.toNanos(options.getSlowCallDuration());
+                if (state == State.CLOSED) {
+                    failed[index] = callFailed;
+                    slow[index] = callSlow;
+                    index = (index + 1) % failed.length;
+                    count = Math.min(count + 1, failed.length);
+
+                    event = count >= options.getMinimumCalls() && isExceeded(count(failed), count(slow), count) ? transition(State.OPEN) : null;
+                } else if (state == State.HALF_OPEN) {
+                    halfOpenCompleted++;
+                    if (callFailed) halfOpenFailed++;
+                    if (callSlow) halfOpenSlow++;
+
+                    if (halfOpenCompleted >= options.getHalfOpenCalls()) {
+                        event = transition(isExceeded(halfOpenFailed, halfOpenSlow, halfOpenCompleted) ? State.OPEN : State.CLOSED);
+                    } else {
+                        event = null;
+                    }
+                } else {
+                    event = null;
+                }
+            }
+
+            publish(event);
+        }
+
+        private boolean isExceeded(int failedCalls, int slowCalls, int totalCalls) {
+            return (double) failedCalls / totalCalls >= options.getFailureRateThreshold()
+                    || (double) slowCalls / totalCalls >= options.getSlowCallRateThreshold();
+        }
+
+        private JsonObject transition(State newState) {
+            final JsonObject event = new JsonObject()
+                    .put("operationClass", operationClass.name().toLowerCase())
+                    .put("previousState", state.name())
+                    .put("state", newState.name());
+            if (state == State.CLOSED) {
+                event.put("failureRate", rate(count(failed), count)).put("slowCallRate", rate(count(slow), count));
+            } else if (state == State.HALF_OPEN) {
+                event.put("failureRate", rate(halfOpenFailed, halfOpenCompleted)).put("slowCallRate", rate(halfOpenSlow, halfOpenCompleted));
+            }
+
+            state = newState;
+            generation++;
+            if (newState == State.OPEN) {
+                openedAt = System.nanoTime();
+            } else if (newState == State.HALF_OPEN) {
+                halfOpenPermitted = 0;
+                halfOpenCompleted = 0;
+                halfOpenFailed = 0;
+                halfOpenSlow = 0;
+            } else {
+                index = 0;
+                count = 0;
+            }
+            return event;
+        }
+
+        private int count(boolean[] outcomes) {
+            int matching = 0;
+            for (int i = 0; i < count; i++) {
+                if (outcomes[i]) matching++;
+            }
+            return matching;
+        }
+
+        private double rate(int matching, int total) {
+            return total == 0 ? 0 : (double) matching / total;
+        }
+
+        private synchronized State getState() {
+            return state;
+        }
+
+        private synchronized JsonObject getMetrics() {
+            return new JsonObject()
+                    .put("state", state.name())
+                    .put("failureRate", state == State.CLOSED ? rate(count(failed), count) : rate(halfOpenFailed, halfOpenCompleted))
+                    .put("slowCallRate", state == State.CLOSED ? rate(count(slow), count) : rate(halfOpenSlow, halfOpenCompleted))
+                    .put("calls", calls)
+                    .put("rejected", rejected);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import com.hubrick.vertx.elasticsearch.model.OperationClass;
+
+/**
+ * Fails a request right away because the circuit breaker of its operation class is open
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+
+    private final OperationClass operationClass;
+
+    public CircuitBreakerOpenException(OperationClass operationClass) {
+        super("Circuit breaker for " + operationClass.name().toLowerCase() + " requests is open");
+        this.operationClass = operationClass;
+    }
+
+    public OperationClass getOperationClass() {
+        return operationClass;
+    }
+}
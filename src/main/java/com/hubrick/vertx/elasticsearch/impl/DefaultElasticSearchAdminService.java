@@ -17,6 +17,7 @@ package com.hubrick.vertx.elasticsearch.impl;
 
 import com.hubrick.vertx.elasticsearch.ElasticSearchAdminService;
 import com.hubrick.vertx.elasticsearch.model.MappingOptions;
+import com.hubrick.vertx.elasticsearch.model.OperationClass;
 import com.hubrick.vertx.elasticsearch.internal.InternalElasticSearchAdminService;
 import com.hubrick.vertx.elasticsearch.internal.InternalElasticSearchService;
 import io.vertx.core.AsyncResult;
@@ -56,7 +57,7 @@ public class DefaultElasticSearchAdminService implements InternalElasticSearchAd
 //            if (options.shouldIgnoreConflicts() != null) builder.setIgnoreConflicts(options.shouldIgnoreConflicts());
 //        }
 
-        builder.execute(new ActionListener<PutMappingResponse>() {
+        service.getRequestLimiter().execute(OperationClass.ADMIN, builder, new ActionListener<PutMappingResponse>() {
             @Override
             public void onResponse(PutMappingResponse putMappingResponse) {
                 JsonObject json = new JsonObject()
@@ -79,7 +80,7 @@ public class DefaultElasticSearchAdminService implements InternalElasticSearchAd
      */
     @Override
     public AdminClient getAdmin() {
-        return service.getClient().admin();
+        return service.getPooledClient().admin();
     }
 
 }
@@ -19,191 +19,675 @@ import com.hubrick.vertx.elasticsearch.ElasticSearchConfigurator;
 import com.hubrick.vertx.elasticsearch.ElasticSearchService;
 import com.hubrick.vertx.elasticsearch.TransportClientFactory;
 import com.hubrick.vertx.elasticsearch.internal.InternalElasticSearchService;
+import com.hubrick.vertx.elasticsearch.model.AbstractWriteOptions;
 import com.hubrick.vertx.elasticsearch.model.BaseSortOption;
 import com.hubrick.vertx.elasticsearch.model.BaseSuggestOption;
+import com.hubrick.vertx.elasticsearch.model.BulkItem;
+import com.hubrick.vertx.elasticsearch.model.BulkOptions;
 import com.hubrick.vertx.elasticsearch.model.CompletionSuggestOption;
 import com.hubrick.vertx.elasticsearch.model.DeleteByQueryOptions;
 import com.hubrick.vertx.elasticsearch.model.DeleteOptions;
 import com.hubrick.vertx.elasticsearch.model.FieldSortOption;
+import com.hubrick.vertx.elasticsearch.model.GetItem;
 import com.hubrick.vertx.elasticsearch.model.GetOptions;
 import com.hubrick.vertx.elasticsearch.model.IndexOptions;
+import com.hubrick.vertx.elasticsearch.model.MultiGetOptions;
+import com.hubrick.vertx.elasticsearch.model.MultiSearchOptions;
+import com.hubrick.vertx.elasticsearch.model.OperationClass;
 import com.hubrick.vertx.elasticsearch.model.ScriptSortOption;
 import com.hubrick.vertx.elasticsearch.model.SearchOptions;
+import com.hubrick.vertx.elasticsearch.model.SearchRequestItem;
 import com.hubrick.vertx.elasticsearch.model.SearchScrollOptions;
+import com.hubrick.vertx.elasticsearch.model.SearchShardsResponse;
 import com.hubrick.vertx.elasticsearch.model.SuggestOptions;
 import com.hubrick.vertx.elasticsearch.model.UpdateOptions;
+import io.netty.buffer.ByteBuf;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.ActionRequestBuilder;
+import org.elasticsearch.action.ActionResponse;
+import org.elasticsearch.action.ActionWriteResponse;
+import org.elasticsearch.action.admin.cluster.shards.ClusterSearchShardsRequestBuilder;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequestBuilder;
 import org.elasticsearch.action.delete.DeleteResponse;
 import org.elasticsearch.action.deletebyquery.DeleteByQueryAction;
 import org.elasticsearch.action.deletebyquery.DeleteByQueryRequestBuilder;
-import org.elasticsearch.action.deletebyquery.DeleteByQueryResponse;
 import org.elasticsearch.action.get.GetRequestBuilder;
-import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.get.MultiGetRequest;
+import org.elasticsearch.action.get.MultiGetRequestBuilder;
 import org.elasticsearch.action.index.IndexRequestBuilder;
 import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.search.ClearScrollRequestBuilder;
+import org.elasticsearch.action.search.MultiSearchRequestBuilder;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.search.SearchScrollRequestBuilder;
 import org.elasticsearch.action.suggest.SuggestRequestBuilder;
-import org.elasticsearch.action.suggest.SuggestResponse;
 import org.elasticsearch.action.update.UpdateRequestBuilder;
 import org.elasticsearch.action.update.UpdateResponse;
+import org.elasticsearch.client.Client;
 import org.elasticsearch.client.transport.TransportClient;
+import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.script.Script;
 import org.elasticsearch.script.ScriptService;
 import org.elasticsearch.script.Template;
+import org.elasticsearch.search.fetch.source.FetchSourceContext;
 import org.elasticsearch.search.sort.ScriptSortBuilder;
 import org.elasticsearch.search.suggest.completion.CompletionSuggestionBuilder;
 
 import javax.inject.Inject;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static com.hubrick.vertx.elasticsearch.impl.ElasticSearchServiceMapper.mapToDeleteByQueryResponse;
-import static com.hubrick.vertx.elasticsearch.impl.ElasticSearchServiceMapper.mapToDeleteResponse;
-import static com.hubrick.vertx.elasticsearch.impl.ElasticSearchServiceMapper.mapToIndexResponse;
+import static com.hubrick.vertx.elasticsearch.impl.ElasticSearchServiceMapper.mapToMultiSearchResponse;
 import static com.hubrick.vertx.elasticsearch.impl.ElasticSearchServiceMapper.mapToSearchResponse;
-import static com.hubrick.vertx.elasticsearch.impl.ElasticSearchServiceMapper.mapToSuggestResponse;
 import static com.hubrick.vertx.elasticsearch.impl.ElasticSearchServiceMapper.mapToUpdateResponse;
 
+
 /**
  * Default implementation of {@link ElasticSearchService}
  */
 public class DefaultElasticSearchService implements InternalElasticSearchService {
 
     private final Logger log = LoggerFactory.getLogger(DefaultElasticSearchService.class);
+    private Vertx vertx;
     private final TransportClientFactory clientFactory;
     private final ElasticSearchConfigurator configurator;
-    protected TransportClient client;
+    protected Client client;
+    private final List<TransportClient> transportClients = new ArrayList<>();
+    private BulkWriteBuffer bulkWriteBuffer;
+    private WorkerExecutor mappingExecutor;
+    private final ScrollRegistry scrollRegistry = new ScrollRegistry();
+    private SearchResultCache searchCache;
+    private GetResultCache getCache;
+    private RequestLimiter requestLimiter;
+    private RetryPolicy retryPolicy;
+    private CircuitBreaker circuitBreaker;
+    private HedgePolicy hedgePolicy;
+    private RequestPipeline pipeline;
+    private long scrollExpiryTimerId = -1;
 
     public static final Charset CHARSET_UTF8 = Charset.forName("UTF-8");
+    static final String SESSION_PREFERENCE_PREFIX = "session-";
 
     @Inject
-    public DefaultElasticSearchService(TransportClientFactory clientFactory, ElasticSearchConfigurator configurator) {
+    public DefaultElasticSearchService(Vertx vertx, TransportClientFactory clientFactory, ElasticSearchConfigurator configurator) {
+        this.vertx = vertx;
         this.clientFactory = clientFactory;
         this.configurator = configurator;
     }
 
+    /**
+     * For direct construction without a {@link Vertx} instance at hand. It is not used for injection, the injectable
+     * constructor requires {@link Vertx} to be bound. The Vert.x instance is taken from the context {@link #start()}
+     * is called on, which must therefore run on a Vert.x context.
+     */
+    public DefaultElasticSearchService(TransportClientFactory clientFactory, ElasticSearchConfigurator configurator) {
+        this(null, clientFactory, configurator);
+    }
+
     @Override
     public void start() {
 
+        if (vertx == null) {
+            final Context context = Vertx.currentContext();
+            if (context == null) {
+                throw new IllegalStateException("DefaultElasticSearchService must be started on a Vert.x context unless Vertx is injected");
+            }
+            vertx = context.owner();
+        }
+
         Settings.setSettingsRequireUnits(configurator.getSettingsRequireUnits());
 
         Settings settings = Settings.builder()
                 .put("cluster.name", configurator.getClusterName())
                 .put("client.transport.sniff", configurator.getClientTransportSniff())
+                .put(configurator.getSettings())
                 .build();
 
-        client = clientFactory.create(settings);
-        configurator.getTransportAddresses().forEach(client::addTransportAddress);
+        final int clientPoolSize = Math.max(1, configurator.getClientPoolSize());
+        for (int i = 0; i < clientPoolSize; i++) {
+            final TransportClient transportClient = clientFactory.create(settings);
+            configurator.getTransportAddresses().forEach(transportClient::addTransportAddress);
+            transportClients.add(transportClient);
+        }
+        client = clientPoolSize == 1 ? transportClients.get(0) : new TransportClientPool(transportClients, configurator.getClientPoolSelection());
+
+        requestLimiter = new RequestLimiter(configurator);
+        retryPolicy = new RetryPolicy(vertx, configurator);
+        circuitBreaker = new CircuitBreaker(vertx, configurator);
+        hedgePolicy = new HedgePolicy(vertx, configurator);
+        pipeline = new RequestPipeline(retryPolicy, requestLimiter, circuitBreaker);
+
+        if (configurator.getMappingWorkerPoolSize() > 0) {
+            mappingExecutor = vertx.createSharedWorkerExecutor("vertx-elasticsearch-mapping", configurator.getMappingWorkerPoolSize());
+        }
+
+        if (configurator.getBulkBufferEnabled()) {
+            bulkWriteBuffer = new BulkWriteBuffer(
+                    vertx,
+                    this::executeBulk,
+                    configurator.getBulkBufferMaxActions(),
+                    configurator.getBulkBufferMaxSizeInBytes(),
+                    configurator.getBulkBufferFlushInterval()
+            );
+        }
+
+        if (configurator.getSearchCacheMaxEntries() > 0) {
+            searchCache = new SearchResultCache(configurator.getSearchCacheMaxEntries());
+        }
+
+        if (configurator.getGetCacheMaxEntries() > 0) {
+            getCache = new GetResultCache(configurator.getGetCacheMaxEntries(), configurator.getGetCacheTtl());
+        }
+
+        final long scrollIdleTimeout = configurator.getScrollIdleTimeout();
+        if (scrollIdleTimeout > 0) {
+            scrollExpiryTimerId = vertx.setPeriodic(Math.max(1000, scrollIdleTimeout / 2), id -> clearIdleScrolls(scrollIdleTimeout));
+        }
 
     }
 
     @Override
     public void stop() {
-        client.close();
-        client = null;
+        stop(result -> {
+            if (result.failed()) {
+                log.warn("Could not stop ElasticSearchService cleanly", result.cause());
+            }
+        });
+    }
+
+    @Override
+    public void stop(Handler<AsyncResult<Void>> completionHandler) {
+        if (scrollExpiryTimerId != -1) {
+            vertx.cancelTimer(scrollExpiryTimerId);
+            scrollExpiryTimerId = -1;
+        }
+
+        // Buffered writes still need the client, so it is only closed once all of them have completed
+        final Future<Void> drained = Future.future();
+        if (bulkWriteBuffer != null) {
+            // Bulk requests complete on ES threads, the client must not be closed from one of them
+            final Context context = vertx.getOrCreateContext();
+            bulkWriteBuffer.drain(result -> context.runOnContext(v -> drained.complete()));
+            bulkWriteBuffer = null;
+        } else {
+            drained.complete();
+        }
+
+        final Future<Void> scrollsCleared = Future.future();
+        drained.setHandler(ignored -> {
+            final List<String> scrollIds = scrollRegistry.removeAll();
+            if (scrollIds.isEmpty()) {
+                scrollsCleared.complete();
+                return;
+            }
+            clearScroll(scrollIds, clearResult -> {
+                if (clearResult.failed()) {
+                    log.warn("Could not clear " + scrollIds.size() + " outstanding scrolls", clearResult.cause());
+                }
+                scrollsCleared.complete();
+            });
+        });
+
+        scrollsCleared.setHandler(ignored -> {
+            client.close();
+            client = null;
+            transportClients.clear();
+
+            if (mappingExecutor != null) {
+                mappingExecutor.close();
+                mappingExecutor = null;
+            }
+
+            completionHandler.handle(Future.succeededFuture());
+        });
     }
 
     @Override
     public void index(String index, String type, JsonObject source, IndexOptions options, Handler<AsyncResult<com.hubrick.vertx.elasticsearch.model.IndexResponse>> resultHandler) {
 
-        IndexRequestBuilder builder = client.prepareIndex(index, type)
-                .setSource(source.encode());
+        executeIndex(index, type, prepareIndex(index, type, source, options), options, resultHandler);
 
-        if (options != null) {
-            if (options.getId() != null) builder.setId(options.getId());
-            if (options.getRouting() != null) builder.setRouting(options.getRouting());
-            if (options.getParent() != null) builder.setParent(options.getParent());
-            if (options.getOpType() != null) builder.setOpType(options.getOpType());
-            if (options.isRefresh() != null) builder.setRefresh(options.isRefresh());
-            if (options.getConsistencyLevel() != null) builder.setConsistencyLevel(options.getConsistencyLevel());
-            if (options.getVersion() != null) builder.setVersion(options.getVersion());
-            if (options.getVersionType() != null) builder.setVersionType(options.getVersionType());
-            if (options.getTimestamp() != null) builder.setTimestamp(options.getTimestamp());
-            if (options.getTtl() != null) builder.setTTL(options.getTtl());
-            if (options.getTimeout() != null) builder.setTimeout(options.getTimeout());
+    }
+
+    @Override
+    public void index(String index, String type, Buffer source, IndexOptions options, Handler<AsyncResult<com.hubrick.vertx.elasticsearch.model.IndexResponse>> resultHandler) {
+
+        final IndexRequestBuilder builder = prepareIndex(index, type, options)
+                .setSource(toBytesReference(source));
+        executeIndex(index, type, builder, options, resultHandler);
+
+    }
+
+    private void executeIndex(String index, String type, IndexRequestBuilder builder, IndexOptions options, Handler<AsyncResult<com.hubrick.vertx.elasticsearch.model.IndexResponse>> resultHandler) {
+
+        invalidateGetCache(index, type, builder.request().id(), 0);
+
+        final Function<IndexResponse, com.hubrick.vertx.elasticsearch.model.IndexResponse> mapper = indexResponse -> {
+            invalidateGetCache(indexResponse.getIndex(), indexResponse.getType(), indexResponse.getId(), indexResponse.getVersion());
+            return ElasticSearchServiceMapper.mapToIndexResponse(indexResponse);
+        };
+
+        if (isBuffered(options)) {
+            bulkWriteBuffer.add(builder.request(), bulkItemListener(listener(resultHandler, mapper)));
+            return;
         }
 
-        builder.execute(new ActionListener<IndexResponse>() {
-            @Override
-            public void onResponse(IndexResponse indexResponse) {
-                resultHandler.handle(Future.succeededFuture(mapToIndexResponse(indexResponse)));
+        execute(OperationClass.WRITE, builder, listener(resultHandler, mapper));
+
+    }
+
+    @Override
+    public void update(String index, String type, String id, UpdateOptions options, Handler<AsyncResult<com.hubrick.vertx.elasticsearch.model.UpdateResponse>> resultHandler) {
+
+        executeUpdate(index, type, id, prepareUpdate(index, type, id, options), options, resultHandler);
+
+    }
+
+    @Override
+    public void update(String index, String type, String id, Buffer doc, UpdateOptions options, Handler<AsyncResult<com.hubrick.vertx.elasticsearch.model.UpdateResponse>> resultHandler) {
+
+        final BytesArray bytes = toBytesReference(doc);
+        final UpdateRequestBuilder builder = prepareUpdate(index, type, id, options)
+                .setDoc(bytes.array(), bytes.arrayOffset(), bytes.length());
+        executeUpdate(index, type, id, builder, options, resultHandler);
+
+    }
+
+    private void executeUpdate(String index, String type, String id, UpdateRequestBuilder builder, UpdateOptions options, Handler<AsyncResult<com.hubrick.vertx.elasticsearch.model.UpdateResponse>> resultHandler) {
+
+        invalidateGetCache(index, type, id, 0);
+
+        final Function<UpdateResponse, com.hubrick.vertx.elasticsearch.model.UpdateResponse> mapper = updateResponse -> {
+            invalidateGetCache(updateResponse.getIndex(), updateResponse.getType(), updateResponse.getId(), updateResponse.getVersion());
+            return ElasticSearchServiceMapper.mapToUpdateResponse(updateResponse);
+        };
+
+        if (isBuffered(options)) {
+            bulkWriteBuffer.add(builder.request(), bulkItemListener(listener(resultHandler, mapper)));
+            return;
+        }
+
+        execute(OperationClass.WRITE, builder, listener(resultHandler, mapper));
+
+    }
+
+    @Override
+    public void get(String index, String type, String id, GetOptions options, Handler<AsyncResult<com.hubrick.vertx.elasticsearch.model.GetResponse>> resultHandler) {
+
+        final String cacheVariant = isGetCacheable(options) ? getCacheVariant(options) : null;
+        if (cacheVariant != null) {
+            final com.hubrick.vertx.elasticsearch.model.GetResponse cachedResponse = getCache.get(index, type, id, cacheVariant);
+            if (cachedResponse != null) {
+                resultHandler.handle(Future.succeededFuture(cachedResponse));
+                return;
             }
+        }
 
-            @Override
-            public void onFailure(Throwable t) {
-                handleFailure(resultHandler, t);
+        final GetRequestBuilder builder = prepareGet(index, type, id, options);
+
+        final boolean rawResponse = isRawResponse(options == null ? null : options.isRawResponse());
+        final String preference = options == null ? null : getPreference(options.getPreference(), options.getSessionKey());
+        executeHedged(HedgePolicy.Operation.GET, builder, preference, hedgePreference -> prepareGet(index, type, id, options).setPreference(hedgePreference), listener(resultHandler, getResponse -> {
+            final com.hubrick.vertx.elasticsearch.model.GetResponse response = mapToUpdateResponse(getResponse, rawResponse);
+            if (cacheVariant != null) {
+                getCache.put(index, type, id, cacheVariant, response);
             }
+            return response;
+        }));
+
+    }
+
+    @Override
+    public void search(List<String> indices, SearchOptions options, Handler<AsyncResult<com.hubrick.vertx.elasticsearch.model.SearchResponse>> resultHandler) {
+
+        final long cacheTtl = getSearchCacheTtl(options);
+        final String cacheKey;
+        if (cacheTtl > 0) {
+            cacheKey = getSearchCacheKey(indices, options);
+
+            final com.hubrick.vertx.elasticsearch.model.SearchResponse cachedResponse = searchCache.get(cacheKey);
+            if (cachedResponse != null) {
+                resultHandler.handle(Future.succeededFuture(cachedResponse));
+                return;
+            }
+        } else {
+            cacheKey = null;
+        }
+
+        final SearchRequestBuilder builder = prepareSearch(indices, options);
+
+        final boolean rawResponse = isRawResponse(options == null ? null : options.isRawResponse());
+        final boolean typedAggregations = isTypedAggregations(options);
+        final long keepAlive = getKeepAlive(options == null ? null : options.getScroll());
+        final ActionListener<SearchResponse> listener = listener(resultHandler, searchResponse -> {
+            scrollRegistry.touch(null, searchResponse.getScrollId(), keepAlive);
+            final com.hubrick.vertx.elasticsearch.model.SearchResponse response = mapToSearchResponse(searchResponse, rawResponse, typedAggregations);
+            if (cacheKey != null) {
+                searchCache.put(cacheKey, response, cacheTtl);
+            }
+            return response;
         });
 
+        // Hedging a scroll would open a second scroll context
+        if (options != null && options.getScroll() != null) {
+            execute(OperationClass.SEARCH, builder, listener);
+        } else {
+            final String preference = options == null ? null : getPreference(options.getPreference(), options.getSessionKey());
+            executeHedged(HedgePolicy.Operation.SEARCH, builder, preference, hedgePreference -> prepareSearch(indices, options).setPreference(hedgePreference), listener);
+        }
     }
 
     @Override
-    public void update(String index, String type, String id, UpdateOptions options, Handler<AsyncResult<com.hubrick.vertx.elasticsearch.model.UpdateResponse>> resultHandler) {
+    public void searchScroll(String scrollId, SearchScrollOptions options, Handler<AsyncResult<com.hubrick.vertx.elasticsearch.model.SearchResponse>> resultHandler) {
 
-        UpdateRequestBuilder builder = client.prepareUpdate(index, type, id);
+        SearchScrollRequestBuilder builder = client.prepareSearchScroll(scrollId);
+
+        if (options != null) {
+            if (options.getScroll() != null) builder.setScroll(options.getScroll());
+        }
+
+        final boolean rawResponse = isRawResponse(options == null ? null : options.isRawResponse());
+        final long keepAlive = getKeepAlive(options == null ? null : options.getScroll());
+        execute(OperationClass.SEARCH, builder, listener(resultHandler, searchResponse -> {
+            scrollRegistry.touch(scrollId, searchResponse.getScrollId(), keepAlive);
+            return mapToSearchResponse(searchResponse, rawResponse);
+        }));
+
+    }
+
+    @Override
+    public void clearScroll(List<String> scrollIds, Handler<AsyncResult<Void>> resultHandler) {
+
+        scrollRegistry.remove(scrollIds);
+
+        final ClearScrollRequestBuilder builder = client.prepareClearScroll()
+                .setScrollIds(scrollIds);
+
+        // Not limited, so scrolls are released even under load
+        builder.execute(listener(resultHandler, clearScrollResponse -> null));
+
+    }
+
+    @Override
+    public void searchShards(List<String> indices, Handler<AsyncResult<SearchShardsResponse>> resultHandler) {
+
+        final ClusterSearchShardsRequestBuilder builder = client.admin().cluster()
+                .prepareSearchShards(indices.toArray(new String[indices.size()]));
+
+        execute(OperationClass.ADMIN, builder, listener(resultHandler, ElasticSearchServiceMapper::mapToSearchShardsResponse));
+
+    }
+
+    @Override
+    public void delete(String index, String type, String id, DeleteOptions options, Handler<AsyncResult<com.hubrick.vertx.elasticsearch.model.DeleteResponse>> resultHandler) {
+
+        final DeleteRequestBuilder builder = prepareDelete(index, type, id, options);
+        invalidateGetCache(index, type, id, 0);
+
+        final Function<DeleteResponse, com.hubrick.vertx.elasticsearch.model.DeleteResponse> mapper = deleteResponse -> {
+            invalidateGetCache(deleteResponse.getIndex(), deleteResponse.getType(), deleteResponse.getId(), deleteResponse.getVersion());
+            return ElasticSearchServiceMapper.mapToDeleteResponse(deleteResponse);
+        };
+
+        if (isBuffered(options)) {
+            bulkWriteBuffer.add(builder.request(), bulkItemListener(listener(resultHandler, mapper)));
+            return;
+        }
+
+        execute(OperationClass.WRITE, builder, listener(resultHandler, mapper));
+
+    }
+
+    @Override
+    public void suggest(List<String> indices, SuggestOptions options, Handler<AsyncResult<com.hubrick.vertx.elasticsearch.model.SuggestResponse>> resultHandler) {
+
+        final SuggestRequestBuilder builder = client.prepareSuggest(indices.toArray(new String[indices.size()]));
+
+        if (options != null && !options.getSuggestions().isEmpty()) {
+            for (Map.Entry<String, BaseSuggestOption> suggestOptionEntry : options.getSuggestions().entrySet()) {
+                switch (suggestOptionEntry.getValue().getSuggestionType()) {
+                    case COMPLETION:
+                        final CompletionSuggestOption completionSuggestOption = (CompletionSuggestOption) suggestOptionEntry.getValue();
+                        final CompletionSuggestionBuilder completionBuilder = new CompletionSuggestionBuilder(suggestOptionEntry.getKey());
+                        if (completionSuggestOption.getText() != null) {
+                            completionBuilder.text(completionSuggestOption.getText());
+                        }
+                        if (completionSuggestOption.getField() != null) {
+                            completionBuilder.field(completionSuggestOption.getField());
+                        }
+                        if (completionSuggestOption.getSize() != null) {
+                            completionBuilder.size(completionSuggestOption.getSize());
+                        }
+
+                        builder.addSuggestion(completionBuilder);
+                        break;
+                }
+            }
+        }
+
+        execute(OperationClass.SEARCH, builder, listener(resultHandler, ElasticSearchServiceMapper::mapToSuggestResponse));
+
+    }
+
+    @Override
+    public void deleteByQuery(List<String> indices, JsonObject query, DeleteByQueryOptions options, Handler<AsyncResult<com.hubrick.vertx.elasticsearch.model.DeleteByQueryResponse>> resultHandler) {
+        final DeleteByQueryRequestBuilder deleteByQueryRequestBuilder = new DeleteByQueryRequestBuilder(client, DeleteByQueryAction.INSTANCE)
+                .setIndices(indices.toArray(new String[indices.size()]));
+
+        if (query != null) {
+            deleteByQueryRequestBuilder.setSource("{\"query\": " + query.encode() + "}");
+        }
+
+        if (options != null) {
+            if (!options.getTypes().isEmpty()) {
+                deleteByQueryRequestBuilder.setTypes(options.getTypes().toArray(new String[options.getTypes().size()]));
+            }
+            if (options.getTimeout() != null) deleteByQueryRequestBuilder.setTimeout(options.getTimeout());
+            if (options.getRouting() != null) deleteByQueryRequestBuilder.setRouting(options.getRouting());
+        }
+
+        final boolean rawResponse = isRawResponse(options == null ? null : options.isRawResponse());
+        execute(OperationClass.WRITE, deleteByQueryRequestBuilder, listener(resultHandler, deleteByQueryResponse -> {
+            // The deleted ids are unknown
+            if (getCache != null) {
+                getCache.invalidateAll();
+            }
+            return mapToDeleteByQueryResponse(deleteByQueryResponse, rawResponse);
+        }));
+    }
+
+    @Override
+    public void bulk(BulkOptions options, Handler<AsyncResult<com.hubrick.vertx.elasticsearch.model.BulkResponse>> resultHandler) {
+
+        final String invalidItem = validateBulkItems(options);
+        if (invalidItem != null) {
+            resultHandler.handle(Future.failedFuture(new IllegalArgumentException(invalidItem)));
+            return;
+        }
+
+        final BulkRequestBuilder builder = client.prepareBulk();
 
         if (options != null) {
-            if (options.getRouting() != null) builder.setRouting(options.getRouting());
-            if (options.getParent() != null) builder.setParent(options.getParent());
             if (options.isRefresh() != null) builder.setRefresh(options.isRefresh());
             if (options.getConsistencyLevel() != null) builder.setConsistencyLevel(options.getConsistencyLevel());
-            if (options.getVersion() != null) builder.setVersion(options.getVersion());
-            if (options.getVersionType() != null) builder.setVersionType(options.getVersionType());
             if (options.getTimeout() != null) builder.setTimeout(options.getTimeout());
 
-            if (options.getRetryOnConflict() != null) builder.setRetryOnConflict(options.getRetryOnConflict());
-            if (options.getDoc() != null) builder.setDoc(options.getDoc().encode());
-            if (options.getUpsert() != null) builder.setUpsert(options.getUpsert().encode());
-            if (options.isDocAsUpsert() != null) builder.setDocAsUpsert(options.isDocAsUpsert());
-            if (options.isDetectNoop() != null) builder.setDetectNoop(options.isDetectNoop());
-            if (options.isScriptedUpsert() != null) builder.setScriptedUpsert(options.isScriptedUpsert());
-
-            if (options.getScript() != null) {
-                if (options.getScriptType() != null) {
-                    Map<String, ? extends Object> params = (options.getScriptParams() == null ? null : convertJsonObjectToMap(options.getScriptParams()));
-                    builder.setScript(new Script(options.getScript(), options.getScriptType(), options.getScriptLang(), params));
-                } else {
-                    builder.setScript(new Script(options.getScript()));
+            for (BulkItem item : options.getItems()) {
+                switch (item.getAction()) {
+                    case INDEX:
+                        final IndexRequestBuilder indexRequestBuilder = prepareIndex(item.getIndex(), item.getType(), item.getSource(), item.getIndexOptions());
+                        if (item.getId() != null) indexRequestBuilder.setId(item.getId());
+                        builder.add(indexRequestBuilder);
+                        break;
+                    case UPDATE:
+                        builder.add(prepareUpdate(item.getIndex(), item.getType(), item.getId(), item.getUpdateOptions()));
+                        break;
+                    case DELETE:
+                        builder.add(prepareDelete(item.getIndex(), item.getType(), item.getId(), item.getDeleteOptions()));
+                        break;
                 }
+                invalidateGetCache(item.getIndex(), item.getType(), item.getId(), 0);
             }
-            if (!options.getFields().isEmpty()) {
-                builder.setFields(options.getFields().toArray(new String[options.getFields().size()]));
+        }
+
+        final Function<BulkResponse, com.hubrick.vertx.elasticsearch.model.BulkResponse> mapper = bulkResponse -> {
+            for (BulkItemResponse itemResponse : bulkResponse) {
+                invalidateGetCache(itemResponse.getIndex(), itemResponse.getType(), itemResponse.getId(), itemResponse.getVersion());
             }
+            return ElasticSearchServiceMapper.mapToBulkResponse(bulkResponse);
+        };
+
+        executeBulk(builder.request(), listener(resultHandler, mapper));
+
+    }
+
+    /**
+     * Returns why the bulk items can't be sent, ES would only reject them with a generic validation error.
+     */
+    private static String validateBulkItems(BulkOptions options) {
+        if (options == null || options.getItems() == null || options.getItems().isEmpty()) {
+            return "Bulk requires at least one item";
         }
+        for (BulkItem item : options.getItems()) {
+            if (item.getAction() == null) {
+                return "Bulk item action must be set";
+            }
+            if (item.getAction() == BulkItem.Action.INDEX && item.getSource() == null) {
+                return "Bulk index item source must be set";
+            }
+        }
+        return null;
+    }
 
-        builder.execute(new ActionListener<UpdateResponse>() {
-            @Override
-            public void onResponse(UpdateResponse updateResponse) {
-                resultHandler.handle(Future.succeededFuture(mapToUpdateResponse(updateResponse)));
+    @Override
+    public void multiGet(MultiGetOptions options, Handler<AsyncResult<com.hubrick.vertx.elasticsearch.model.MultiGetResponse>> resultHandler) {
+
+        final MultiGetRequestBuilder builder = client.prepareMultiGet();
+
+        if (options != null) {
+            if (options.getPreference() != null) builder.setPreference(options.getPreference());
+            if (options.isRefresh() != null) builder.setRefresh(options.isRefresh());
+            if (options.isRealtime() != null) builder.setRealtime(options.isRealtime());
+
+            for (GetItem getItem : options.getItems()) {
+                final MultiGetRequest.Item item = new MultiGetRequest.Item(getItem.getIndex(), getItem.getType(), getItem.getId());
+
+                final GetOptions itemOptions = getItem.getOptions();
+                if (itemOptions != null) {
+                    if (itemOptions.getRouting() != null) item.routing(itemOptions.getRouting());
+                    if (itemOptions.getParent() != null) item.parent(itemOptions.getParent());
+                    if (itemOptions.getVersion() != null) item.version(itemOptions.getVersion());
+                    if (itemOptions.getVersionType() != null) item.versionType(itemOptions.getVersionType());
+                    if (!itemOptions.getFields().isEmpty()) {
+                        item.fields(itemOptions.getFields().toArray(new String[itemOptions.getFields().size()]));
+                    }
+                    if (!itemOptions.getFetchSourceIncludes().isEmpty() || !itemOptions.getFetchSourceExcludes().isEmpty()) {
+                        String[] includes = itemOptions.getFetchSourceIncludes().toArray(new String[itemOptions.getFetchSourceIncludes().size()]);
+                        String[] excludes = itemOptions.getFetchSourceExcludes().toArray(new String[itemOptions.getFetchSourceExcludes().size()]);
+                        item.fetchSourceContext(new FetchSourceContext(includes, excludes));
+                    } else if (itemOptions.isFetchSource() != null) {
+                        item.fetchSourceContext(new FetchSourceContext(itemOptions.isFetchSource()));
+                    }
+                }
+
+                builder.add(item);
             }
+        }
 
-            @Override
-            public void onFailure(Throwable e) {
-                handleFailure(resultHandler, e);
+        execute(OperationClass.SEARCH, builder, listener(resultHandler, ElasticSearchServiceMapper::mapToMultiGetResponse));
+
+    }
+
+    @Override
+    public void multiSearch(MultiSearchOptions options, Handler<AsyncResult<com.hubrick.vertx.elasticsearch.model.MultiSearchResponse>> resultHandler) {
+
+        final MultiSearchRequestBuilder builder = client.prepareMultiSearch();
+        final List<Boolean> rawResponses = new ArrayList<>();
+        final List<Boolean> typedAggregations = new ArrayList<>();
+
+        if (options != null) {
+            for (SearchRequestItem item : options.getItems()) {
+                builder.add(prepareSearch(item.getIndices(), item.getOptions()));
+                rawResponses.add(isRawResponse(item.getOptions() == null ? null : item.getOptions().isRawResponse()));
+                typedAggregations.add(isTypedAggregations(item.getOptions()));
             }
-        });
+        }
+
+        execute(OperationClass.SEARCH, builder, listener(resultHandler, multiSearchResponse -> mapToMultiSearchResponse(multiSearchResponse, rawResponses, typedAggregations)));
 
     }
 
     @Override
-    public void get(String index, String type, String id, GetOptions options, Handler<AsyncResult<com.hubrick.vertx.elasticsearch.model.GetResponse>> resultHandler) {
+    public TransportClient getClient() {
+        return transportClients.isEmpty() ? null : transportClients.get(0);
+    }
 
-        GetRequestBuilder builder = client.prepareGet(index, type, id);
+    @Override
+    public Client getPooledClient() {
+        return client;
+    }
+
+    @Override
+    public RequestLimiter getRequestLimiter() {
+        return requestLimiter;
+    }
+
+    @Override
+    public JsonObject getMetrics() {
+        final JsonObject metrics = new JsonObject();
+        if (requestLimiter != null) {
+            metrics.put("requestLimiter", requestLimiter.getMetrics());
+        }
+        if (retryPolicy != null && retryPolicy.isEnabled()) {
+            metrics.put("retry", retryPolicy.getMetrics());
+        }
+        if (circuitBreaker != null && circuitBreaker.isEnabled()) {
+            metrics.put("circuitBreaker", circuitBreaker.getMetrics());
+        }
+        if (hedgePolicy != null && hedgePolicy.isEnabled()) {
+            metrics.put("hedging", hedgePolicy.getMetrics());
+        }
+        if (client instanceof TransportClientPool) {
+            metrics.put("clientPool", ((TransportClientPool) client).getMetrics());
+        }
+        if (searchCache != null) {
+            metrics.put("searchCache", searchCache.getMetrics());
+        }
+        if (getCache != null) {
+            metrics.put("getCache", getCache.getMetrics());
+        }
+        return metrics;
+    }
+
+    protected GetRequestBuilder prepareGet(String index, String type, String id, GetOptions options) {
+
+        final GetRequestBuilder builder = client.prepareGet(index, type, id);
 
         if (options != null) {
             if (options.getRouting() != null) builder.setRouting(options.getRouting());
@@ -212,7 +696,8 @@ public class DefaultElasticSearchService implements InternalElasticSearchService
             if (options.getVersion() != null) builder.setVersion(options.getVersion());
             if (options.getVersionType() != null) builder.setVersionType(options.getVersionType());
 
-            if (options.getPreference() != null) builder.setPreference(options.getPreference());
+            final String preference = getPreference(options.getPreference(), options.getSessionKey());
+            if (preference != null) builder.setPreference(preference);
             if (!options.getFields().isEmpty()) {
                 builder.setFields(options.getFields().toArray(new String[options.getFields().size()]));
             }
@@ -229,24 +714,12 @@ public class DefaultElasticSearchService implements InternalElasticSearchService
             }
         }
 
-        builder.execute(new ActionListener<GetResponse>() {
-            @Override
-            public void onResponse(GetResponse getResponse) {
-                resultHandler.handle(Future.succeededFuture(mapToUpdateResponse(getResponse)));
-            }
-
-            @Override
-            public void onFailure(Throwable t) {
-                handleFailure(resultHandler, t);
-            }
-        });
-
+        return builder;
     }
 
-    @Override
-    public void search(List<String> indices, SearchOptions options, Handler<AsyncResult<com.hubrick.vertx.elasticsearch.model.SearchResponse>> resultHandler) {
+    protected SearchRequestBuilder prepareSearch(List<String> indices, SearchOptions options) {
 
-        SearchRequestBuilder builder = client.prepareSearch(indices.toArray(new String[indices.size()]));
+        final SearchRequestBuilder builder = client.prepareSearch(indices.toArray(new String[indices.size()]));
 
         if (options != null) {
             if (!options.getTypes().isEmpty()) {
@@ -257,7 +730,8 @@ public class DefaultElasticSearchService implements InternalElasticSearchService
             if (options.getTimeout() != null) builder.setTimeout(options.getTimeout());
             if (options.getTerminateAfter() != null) builder.setTerminateAfter(options.getTerminateAfter());
             if (options.getRouting() != null) builder.setRouting(options.getRouting());
-            if (options.getPreference() != null) builder.setPreference(options.getPreference());
+            final String preference = getPreference(options.getPreference(), options.getSessionKey());
+            if (preference != null) builder.setPreference(preference);
             if (options.getQuery() != null) builder.setQuery(options.getQuery().encode());
             if (options.getPostFilter() != null) builder.setPostFilter(options.getPostFilter().encode());
             if (options.getMinScore() != null) builder.setMinScore(options.getMinScore());
@@ -304,46 +778,74 @@ public class DefaultElasticSearchService implements InternalElasticSearchService
             }
         }
 
-        builder.execute(new ActionListener<SearchResponse>() {
-            @Override
-            public void onResponse(SearchResponse searchResponse) {
-                resultHandler.handle(Future.succeededFuture(mapToSearchResponse(searchResponse)));
-            }
+        return builder;
+    }
 
-            @Override
-            public void onFailure(Throwable t) {
-                handleFailure(resultHandler, t);
-            }
-        });
+    protected IndexRequestBuilder prepareIndex(String index, String type, JsonObject source, IndexOptions options) {
+        return prepareIndex(index, type, options)
+                .setSource(source.encode());
     }
 
-    @Override
-    public void searchScroll(String scrollId, SearchScrollOptions options, Handler<AsyncResult<com.hubrick.vertx.elasticsearch.model.SearchResponse>> resultHandler) {
+    protected IndexRequestBuilder prepareIndex(String index, String type, IndexOptions options) {
 
-        SearchScrollRequestBuilder builder = client.prepareSearchScroll(scrollId);
+        final IndexRequestBuilder builder = client.prepareIndex(index, type);
 
         if (options != null) {
-            if (options.getScroll() != null) builder.setScroll(options.getScroll());
+            if (options.getId() != null) builder.setId(options.getId());
+            if (options.getRouting() != null) builder.setRouting(options.getRouting());
+            if (options.getParent() != null) builder.setParent(options.getParent());
+            if (options.getOpType() != null) builder.setOpType(options.getOpType());
+            if (options.isRefresh() != null) builder.setRefresh(options.isRefresh());
+            if (options.getConsistencyLevel() != null) builder.setConsistencyLevel(options.getConsistencyLevel());
+            if (options.getVersion() != null) builder.setVersion(options.getVersion());
+            if (options.getVersionType() != null) builder.setVersionType(options.getVersionType());
+            if (options.getTimestamp() != null) builder.setTimestamp(options.getTimestamp());
+            if (options.getTtl() != null) builder.setTTL(options.getTtl());
+            if (options.getTimeout() != null) builder.setTimeout(options.getTimeout());
         }
 
-        builder.execute(new ActionListener<SearchResponse>() {
-            @Override
-            public void onResponse(SearchResponse searchResponse) {
-                resultHandler.handle(Future.succeededFuture(mapToSearchResponse(searchResponse)));
-            }
+        return builder;
+    }
 
-            @Override
-            public void onFailure(Throwable t) {
-                handleFailure(resultHandler, t);
+    protected UpdateRequestBuilder prepareUpdate(String index, String type, String id, UpdateOptions options) {
+
+        final UpdateRequestBuilder builder = client.prepareUpdate(index, type, id);
+
+        if (options != null) {
+            if (options.getRouting() != null) builder.setRouting(options.getRouting());
+            if (options.getParent() != null) builder.setParent(options.getParent());
+            if (options.isRefresh() != null) builder.setRefresh(options.isRefresh());
+            if (options.getConsistencyLevel() != null) builder.setConsistencyLevel(options.getConsistencyLevel());
+            if (options.getVersion() != null) builder.setVersion(options.getVersion());
+            if (options.getVersionType() != null) builder.setVersionType(options.getVersionType());
+            if (options.getTimeout() != null) builder.setTimeout(options.getTimeout());
+
+            if (options.getRetryOnConflict() != null) builder.setRetryOnConflict(options.getRetryOnConflict());
+            if (options.getDoc() != null) builder.setDoc(options.getDoc().encode());
+            if (options.getUpsert() != null) builder.setUpsert(options.getUpsert().encode());
+            if (options.isDocAsUpsert() != null) builder.setDocAsUpsert(options.isDocAsUpsert());
+            if (options.isDetectNoop() != null) builder.setDetectNoop(options.isDetectNoop());
+            if (options.isScriptedUpsert() != null) builder.setScriptedUpsert(options.isScriptedUpsert());
+
+            if (options.getScript() != null) {
+                if (options.getScriptType() != null) {
+                    Map<String, ? extends Object> params = (options.getScriptParams() == null ? null : convertJsonObjectToMap(options.getScriptParams()));
+                    builder.setScript(new Script(options.getScript(), options.getScriptType(), options.getScriptLang(), params));
+                } else {
+                    builder.setScript(new Script(options.getScript()));
+                }
             }
-        });
+            if (!options.getFields().isEmpty()) {
+                builder.setFields(options.getFields().toArray(new String[options.getFields().size()]));
+            }
+        }
 
+        return builder;
     }
 
-    @Override
-    public void delete(String index, String type, String id, DeleteOptions options, Handler<AsyncResult<com.hubrick.vertx.elasticsearch.model.DeleteResponse>> resultHandler) {
+    protected DeleteRequestBuilder prepareDelete(String index, String type, String id, DeleteOptions options) {
 
-        DeleteRequestBuilder builder = client.prepareDelete(index, type, id);
+        final DeleteRequestBuilder builder = client.prepareDelete(index, type, id);
 
         if (options != null) {
             if (options.getRouting() != null) builder.setRouting(options.getRouting());
@@ -355,95 +857,213 @@ public class DefaultElasticSearchService implements InternalElasticSearchService
             if (options.getTimeout() != null) builder.setTimeout(options.getTimeout());
         }
 
-        builder.execute(new ActionListener<DeleteResponse>() {
-            @Override
-            public void onResponse(DeleteResponse deleteResponse) {
-                resultHandler.handle(Future.succeededFuture(mapToDeleteResponse(deleteResponse)));
-            }
+        return builder;
+    }
 
-            @Override
-            public void onFailure(Throwable t) {
-                handleFailure(resultHandler, t);
-            }
-        });
+    /**
+     * Wraps the bytes of the buffer without copying them if it is backed by an array.
+     */
+    private BytesArray toBytesReference(Buffer buffer) {
+        final ByteBuf byteBuf = buffer.getByteBuf();
+        if (byteBuf.hasArray()) {
+            return new BytesArray(byteBuf.array(), byteBuf.arrayOffset() + byteBuf.readerIndex(), byteBuf.readableBytes());
+        }
+        return new BytesArray(buffer.getBytes());
+    }
 
+    /**
+     * Writes are only coalesced if they don't request a refresh, consistency level or timeout since these are
+     * applied per bulk request and not per action.
+     */
+    private boolean isBuffered(AbstractWriteOptions<?> options) {
+        return bulkWriteBuffer != null
+                && (options == null || (!Boolean.TRUE.equals(options.isRefresh()) && options.getConsistencyLevel() == null && options.getTimeout() == null));
     }
 
-    @Override
-    public void suggest(List<String> indices, SuggestOptions options, Handler<AsyncResult<com.hubrick.vertx.elasticsearch.model.SuggestResponse>> resultHandler) {
+    /**
+     * The keep alive of a scroll in milliseconds, or -1 if none is given and elasticsearch keeps the previous one.
+     */
+    private static long getKeepAlive(String scroll) {
+        return scroll == null ? -1 : TimeValue.parseTimeValue(scroll, null, "scroll").millis();
+    }
 
-        final SuggestRequestBuilder builder = client.prepareSuggest(indices.toArray(new String[indices.size()]));
+    private void clearIdleScrolls(long scrollIdleTimeout) {
+        final List<String> scrollIds = scrollRegistry.removeIdle(scrollIdleTimeout);
+        if (!scrollIds.isEmpty()) {
+            log.debug("Clearing " + scrollIds.size() + " idle scrolls");
+            clearScroll(scrollIds, result -> {
+                if (result.failed()) {
+                    log.warn("Could not clear idle scrolls", result.cause());
+                }
+            });
+        }
+    }
 
-        if (options != null && !options.getSuggestions().isEmpty()) {
-            for (Map.Entry<String, BaseSuggestOption> suggestOptionEntry : options.getSuggestions().entrySet()) {
-                switch (suggestOptionEntry.getValue().getSuggestionType()) {
-                    case COMPLETION:
-                        final CompletionSuggestOption completionSuggestOption = (CompletionSuggestOption) suggestOptionEntry.getValue();
-                        final CompletionSuggestionBuilder completionBuilder = new CompletionSuggestionBuilder(suggestOptionEntry.getKey());
-                        if (completionSuggestOption.getText() != null) {
-                            completionBuilder.text(completionSuggestOption.getText());
-                        }
-                        if (completionSuggestOption.getField() != null) {
-                            completionBuilder.field(completionSuggestOption.getField());
-                        }
-                        if (completionSuggestOption.getSize() != null) {
-                            completionBuilder.size(completionSuggestOption.getSize());
-                        }
+    /**
+     * Scroll searches are never cached since every call opens a new scroll.
+     */
+    private long getSearchCacheTtl(SearchOptions options) {
+        if (searchCache == null || (options != null && options.getScroll() != null)) {
+            return 0;
+        }
+        return options != null && options.getCacheTtl() != null ? options.getCacheTtl() : configurator.getSearchCacheTtl();
+    }
 
-                        builder.addSuggestion(completionBuilder);
-                        break;
-                }
-            }
+    static String getSearchCacheKey(List<String> indices, SearchOptions options) {
+        final JsonObject cacheOptions = options == null ? new JsonObject() : options.toJson();
+        cacheOptions.remove(SearchOptions.JSON_FIELD_CACHE_TTL);
+        // The session key only picks the shard copies, so sessions share cached responses
+        cacheOptions.remove(SearchOptions.JSON_FIELD_SESSION_KEY);
+        return SearchResultCache.fingerprint(indices, cacheOptions);
+    }
+
+    static String getCacheVariant(GetOptions options) {
+        final JsonObject variant = options == null ? new JsonObject() : options.toJson();
+        // Shared by all sessions like the search cache
+        variant.remove(GetOptions.FIELD_SESSION_KEY);
+        return SearchResultCache.canonical(variant);
+    }
+
+    /**
+     * The preference of a request. Without an explicit one it is derived from the session key if session affinity
+     * is enabled, so the requests of a session are routed to the same shard copies.
+     */
+    String getPreference(String preference, String sessionKey) {
+        if (preference != null || sessionKey == null || !configurator.getSessionAffinityEnabled()) {
+            return preference;
         }
+        return sessionPreference(sessionKey);
+    }
 
-        builder.execute(new ActionListener<SuggestResponse>() {
+    /**
+     * A custom preference for the session key. The key is hashed, so user ids don't show up in ES logs and keys
+     * starting with {@code _} aren't mistaken for special preferences. {@link String#hashCode()} is specified, so the
+     * preference is the same on every node of the application.
+     */
+    static String sessionPreference(String sessionKey) {
+        return SESSION_PREFERENCE_PREFIX + Integer.toHexString(sessionKey.hashCode());
+    }
 
-            @Override
-            public void onResponse(SuggestResponse suggestResponse) {
-                resultHandler.handle(Future.succeededFuture(mapToSuggestResponse(suggestResponse)));
-            }
+    /**
+     * Gets are real time by default, so only gets which set {@code realtime} to {@code false} opt in to the cache.
+     * Reads of a specific version or with a refresh always go to the cluster.
+     */
+    private boolean isGetCacheable(GetOptions options) {
+        return getCache != null
+                && options != null
+                && Boolean.FALSE.equals(options.isRealtime())
+                && options.getVersion() == null
+                && !Boolean.TRUE.equals(options.isRefresh());
+    }
 
-            @Override
-            public void onFailure(Throwable t) {
-                handleFailure(resultHandler, t);
-            }
-        });
+    private void invalidateGetCache(String index, String type, String id, long version) {
+        if (getCache != null) {
+            getCache.invalidate(index, type, id, version);
+        }
+    }
 
+    private boolean isTypedAggregations(SearchOptions options) {
+        return options != null && Boolean.TRUE.equals(options.isTypedAggregations());
     }
 
-    @Override
-    public void deleteByQuery(List<String> indices, JsonObject query, DeleteByQueryOptions options, Handler<AsyncResult<com.hubrick.vertx.elasticsearch.model.DeleteByQueryResponse>> resultHandler) {
-        final DeleteByQueryRequestBuilder deleteByQueryRequestBuilder = new DeleteByQueryRequestBuilder(client, DeleteByQueryAction.INSTANCE)
-                .setIndices(indices.toArray(new String[indices.size()]));
+    private boolean isRawResponse(Boolean rawResponse) {
+        return rawResponse != null ? rawResponse : configurator.getRawResponseEnabled();
+    }
 
-        if (query != null) {
-            deleteByQueryRequestBuilder.setSource("{\"query\": " + query.encode() + "}");
+    private <T extends ActionResponse> void execute(OperationClass operationClass, ActionRequestBuilder<?, T, ?> builder, ActionListener<T> listener) {
+        run(operationClass, builder::execute, listener);
+    }
+
+    private <T> void run(OperationClass operationClass, Consumer<ActionListener<T>> action, ActionListener<T> listener) {
+        pipeline.run(operationClass, action, listener);
+    }
+
+    /**
+     * Executes a search or get and sends a hedge request with another preference if it is slow. Both requests run
+     * through the whole pipeline on their own, so hedges are limited and retried like any other request.
+     */
+    private <T extends ActionResponse> void executeHedged(HedgePolicy.Operation operation, ActionRequestBuilder<?, T, ?> builder, String preference,
+                                                          Function<String, ActionRequestBuilder<?, T, ?>> hedgeBuilder, ActionListener<T> listener) {
+        final String hedgePreference = hedgePolicy.hedgePreference(preference);
+        if (hedgePreference == null) {
+            execute(OperationClass.SEARCH, builder, listener);
+            return;
         }
+        hedgePolicy.run(operation,
+                primaryListener -> execute(OperationClass.SEARCH, builder, primaryListener),
+                hedgeListener -> execute(OperationClass.SEARCH, hedgeBuilder.apply(hedgePreference), hedgeListener),
+                listener);
+    }
 
-        if (options != null) {
-            if (!options.getTypes().isEmpty()) {
-                deleteByQueryRequestBuilder.setTypes(options.getTypes().toArray(new String[options.getTypes().size()]));
+    private void executeBulk(BulkRequest request, ActionListener<BulkResponse> listener) {
+        pipeline.bulk(request, client::bulk, listener);
+    }
+
+    /**
+     * Creates a listener which maps the ES response and completes the result handler on the context of the caller.
+     * If a mapping worker pool is configured the mapping is done on that pool instead of the caller's context.
+     */
+    private <T, R> ActionListener<T> listener(final Handler<AsyncResult<R>> resultHandler, final Function<T, R> mapper) {
+
+        final Context context = vertx.getOrCreateContext();
+        final WorkerExecutor executor = mappingExecutor;
+
+        return new ActionListener<T>() {
+            @Override
+            public void onResponse(T response) {
+                if (executor == null) {
+                    context.runOnContext(v -> handleResult(resultHandler, mapResponse(response, mapper)));
+                } else {
+                    executor.executeBlocking(future -> {
+                        final AsyncResult<R> result = mapResponse(response, mapper);
+                        context.runOnContext(v -> handleResult(resultHandler, result));
+                        future.complete();
+                    }, false, null);
+                }
             }
-            if (options.getTimeout() != null) deleteByQueryRequestBuilder.setTimeout(options.getTimeout());
-            if (options.getRouting() != null) deleteByQueryRequestBuilder.setRouting(options.getRouting());
-        }
 
-        deleteByQueryRequestBuilder.execute(new ActionListener<DeleteByQueryResponse>() {
             @Override
-            public void onResponse(DeleteByQueryResponse deleteByQueryResponse) {
-                resultHandler.handle(Future.succeededFuture(mapToDeleteByQueryResponse(deleteByQueryResponse)));
+            public void onFailure(Throwable t) {
+                context.runOnContext(v -> handleFailure(resultHandler, t));
+            }
+        };
+    }
+
+    /**
+     * Adapts a listener of a single write operation to an item of a buffered bulk request.
+     */
+    private <T extends ActionWriteResponse> ActionListener<BulkItemResponse> bulkItemListener(final ActionListener<T> listener) {
+        return new ActionListener<BulkItemResponse>() {
+            @Override
+            public void onResponse(BulkItemResponse bulkItemResponse) {
+                if (bulkItemResponse.isFailed()) {
+                    listener.onFailure(bulkItemResponse.getFailure().getCause());
+                } else {
+                    listener.onResponse(bulkItemResponse.getResponse());
+                }
             }
 
             @Override
             public void onFailure(Throwable t) {
-                handleFailure(resultHandler, t);
+                listener.onFailure(t);
             }
-        });
+        };
     }
 
-    @Override
-    public TransportClient getClient() {
-        return client;
+    private <R> void handleResult(final Handler<AsyncResult<R>> resultHandler, final AsyncResult<R> result) {
+        if (result.succeeded()) {
+            resultHandler.handle(result);
+        } else {
+            handleFailure(resultHandler, result.cause());
+        }
+    }
+
+    private <T, R> AsyncResult<R> mapResponse(final T response, final Function<T, R> mapper) {
+        try {
+            return Future.succeededFuture(mapper.apply(response));
+        } catch (RuntimeException e) {
+            return Future.failedFuture(e);
+        }
     }
 
     private <T> void handleFailure(final Handler<AsyncResult<T>> resultHandler, final Throwable t) {
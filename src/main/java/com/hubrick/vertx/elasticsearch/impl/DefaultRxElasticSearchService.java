@@ -17,21 +17,31 @@ package com.hubrick.vertx.elasticsearch.impl;
 
 import com.hubrick.vertx.elasticsearch.ElasticSearchService;
 import com.hubrick.vertx.elasticsearch.RxElasticSearchService;
+import com.hubrick.vertx.elasticsearch.model.BulkOptions;
+import com.hubrick.vertx.elasticsearch.model.BulkResponse;
 import com.hubrick.vertx.elasticsearch.model.DeleteByQueryOptions;
 import com.hubrick.vertx.elasticsearch.model.DeleteByQueryResponse;
 import com.hubrick.vertx.elasticsearch.model.DeleteOptions;
 import com.hubrick.vertx.elasticsearch.model.DeleteResponse;
 import com.hubrick.vertx.elasticsearch.model.GetOptions;
 import com.hubrick.vertx.elasticsearch.model.GetResponse;
+import com.hubrick.vertx.elasticsearch.model.Hit;
 import com.hubrick.vertx.elasticsearch.model.IndexOptions;
 import com.hubrick.vertx.elasticsearch.model.IndexResponse;
+import com.hubrick.vertx.elasticsearch.model.MultiGetOptions;
+import com.hubrick.vertx.elasticsearch.model.MultiGetResponse;
+import com.hubrick.vertx.elasticsearch.model.MultiSearchOptions;
+import com.hubrick.vertx.elasticsearch.model.MultiSearchResponse;
 import com.hubrick.vertx.elasticsearch.model.SearchOptions;
 import com.hubrick.vertx.elasticsearch.model.SearchResponse;
 import com.hubrick.vertx.elasticsearch.model.SearchScrollOptions;
+import com.hubrick.vertx.elasticsearch.model.SearchShardsResponse;
 import com.hubrick.vertx.elasticsearch.model.SuggestOptions;
 import com.hubrick.vertx.elasticsearch.model.SuggestResponse;
+import com.hubrick.vertx.elasticsearch.model.TypedHits;
 import com.hubrick.vertx.elasticsearch.model.UpdateOptions;
 import com.hubrick.vertx.elasticsearch.model.UpdateResponse;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.rx.java.ObservableFuture;
 import io.vertx.rx.java.RxHelper;
@@ -62,6 +72,13 @@ public class DefaultRxElasticSearchService implements RxElasticSearchService {
         return observableFuture;
     }
 
+    @Override
+    public Observable<IndexResponse> index(String index, String type, Buffer source, IndexOptions options) {
+        final ObservableFuture<IndexResponse> observableFuture = RxHelper.observableFuture();
+        elasticSearchService.index(index, type, source, options, observableFuture.toHandler());
+        return observableFuture;
+    }
+
     @Override
     public Observable<UpdateResponse> update(String index, String type, String id, UpdateOptions options) {
         final ObservableFuture<UpdateResponse> observableFuture = RxHelper.observableFuture();
@@ -69,6 +86,13 @@ public class DefaultRxElasticSearchService implements RxElasticSearchService {
         return observableFuture;
     }
 
+    @Override
+    public Observable<UpdateResponse> update(String index, String type, String id, Buffer doc, UpdateOptions options) {
+        final ObservableFuture<UpdateResponse> observableFuture = RxHelper.observableFuture();
+        elasticSearchService.update(index, type, id, doc, options, observableFuture.toHandler());
+        return observableFuture;
+    }
+
     @Override
     public Observable<GetResponse> get(String index, String type, String id, GetOptions options) {
         final ObservableFuture<GetResponse> observableFuture = RxHelper.observableFuture();
@@ -77,6 +101,13 @@ public class DefaultRxElasticSearchService implements RxElasticSearchService {
 
     }
 
+    @Override
+    public <T> Observable<T> get(String index, String type, String id, GetOptions options, Class<T> sourceType) {
+        final ObservableFuture<T> observableFuture = RxHelper.observableFuture();
+        elasticSearchService.get(index, type, id, options, sourceType, observableFuture.toHandler());
+        return observableFuture;
+    }
+
     @Override
     public Observable<SearchResponse> search(List<String> indices, SearchOptions options) {
         final ObservableFuture<SearchResponse> observableFuture = RxHelper.observableFuture();
@@ -85,6 +116,13 @@ public class DefaultRxElasticSearchService implements RxElasticSearchService {
 
     }
 
+    @Override
+    public <T> Observable<TypedHits<T>> search(List<String> indices, SearchOptions options, Class<T> sourceType) {
+        final ObservableFuture<TypedHits<T>> observableFuture = RxHelper.observableFuture();
+        elasticSearchService.search(indices, options, sourceType, observableFuture.toHandler());
+        return observableFuture;
+    }
+
     @Override
     public Observable<SearchResponse> searchScroll(String scrollId, SearchScrollOptions options) {
         final ObservableFuture<SearchResponse> observableFuture = RxHelper.observableFuture();
@@ -93,6 +131,30 @@ public class DefaultRxElasticSearchService implements RxElasticSearchService {
 
     }
 
+    @Override
+    public Observable<Void> clearScroll(List<String> scrollIds) {
+        final ObservableFuture<Void> observableFuture = RxHelper.observableFuture();
+        elasticSearchService.clearScroll(scrollIds, observableFuture.toHandler());
+        return observableFuture;
+    }
+
+    @Override
+    public Observable<Hit> scrollAll(List<String> indices, SearchOptions options) {
+        return Observable.create(new ScrollOnSubscribe(elasticSearchService, indices, options));
+    }
+
+    @Override
+    public Observable<SearchShardsResponse> searchShards(List<String> indices) {
+        final ObservableFuture<SearchShardsResponse> observableFuture = RxHelper.observableFuture();
+        elasticSearchService.searchShards(indices, observableFuture.toHandler());
+        return observableFuture;
+    }
+
+    @Override
+    public Observable<Hit> parallelScanAll(List<String> indices, SearchOptions options, int parallelism) {
+        return Observable.create(new ScrollOnSubscribe(() -> elasticSearchService.parallelScan(indices, options, parallelism)));
+    }
+
     @Override
     public Observable<DeleteResponse> delete(String index, String type, String id, DeleteOptions options) {
         final ObservableFuture<DeleteResponse> observableFuture = RxHelper.observableFuture();
@@ -115,4 +177,25 @@ public class DefaultRxElasticSearchService implements RxElasticSearchService {
         elasticSearchService.deleteByQuery(indices, query, options, observableFuture.toHandler());
         return observableFuture;
     }
+
+    @Override
+    public Observable<BulkResponse> bulk(BulkOptions options) {
+        final ObservableFuture<BulkResponse> observableFuture = RxHelper.observableFuture();
+        elasticSearchService.bulk(options, observableFuture.toHandler());
+        return observableFuture;
+    }
+
+    @Override
+    public Observable<MultiGetResponse> multiGet(MultiGetOptions options) {
+        final ObservableFuture<MultiGetResponse> observableFuture = RxHelper.observableFuture();
+        elasticSearchService.multiGet(options, observableFuture.toHandler());
+        return observableFuture;
+    }
+
+    @Override
+    public Observable<MultiSearchResponse> multiSearch(MultiSearchOptions options) {
+        final ObservableFuture<MultiSearchResponse> observableFuture = RxHelper.observableFuture();
+        elasticSearchService.multiSearch(options, observableFuture.toHandler());
+        return observableFuture;
+    }
 }
@@ -15,37 +15,73 @@
  */
 package com.hubrick.vertx.elasticsearch.impl;
 
+import com.hubrick.vertx.elasticsearch.model.AggregationResult;
+import com.hubrick.vertx.elasticsearch.model.BulkItem;
+import com.hubrick.vertx.elasticsearch.model.BulkResponseItem;
 import com.hubrick.vertx.elasticsearch.model.Hit;
 import com.hubrick.vertx.elasticsearch.model.Hits;
+import com.hubrick.vertx.elasticsearch.model.MultiGetResponseItem;
+import com.hubrick.vertx.elasticsearch.model.MultiSearchResponseItem;
+import com.hubrick.vertx.elasticsearch.model.SearchShardsResponse;
+import com.hubrick.vertx.elasticsearch.model.ShardGroup;
 import com.hubrick.vertx.elasticsearch.model.Shards;
 import com.hubrick.vertx.elasticsearch.model.Suggestion;
 import com.hubrick.vertx.elasticsearch.model.SuggestionEntry;
 import com.hubrick.vertx.elasticsearch.model.SuggestionEntryOption;
 import com.hubrick.vertx.elasticsearch.model.SuggestionType;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import org.elasticsearch.action.ActionWriteResponse;
+import org.elasticsearch.action.admin.cluster.shards.ClusterSearchShardsGroup;
+import org.elasticsearch.action.admin.cluster.shards.ClusterSearchShardsResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteResponse;
 import org.elasticsearch.action.deletebyquery.DeleteByQueryResponse;
 import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.get.MultiGetItemResponse;
+import org.elasticsearch.action.get.MultiGetResponse;
 import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.search.MultiSearchResponse;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.suggest.SuggestResponse;
 import org.elasticsearch.action.support.broadcast.BroadcastResponse;
 import org.elasticsearch.action.update.UpdateResponse;
+import org.elasticsearch.cluster.routing.ShardRouting;
+import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.xcontent.ToXContent;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.common.xcontent.XContentFactory;
+import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.index.get.GetResult;
+import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.aggregations.Aggregation;
+import org.elasticsearch.search.aggregations.Aggregations;
 import org.elasticsearch.search.aggregations.InternalAggregation;
+import org.elasticsearch.search.aggregations.bucket.MultiBucketsAggregation;
+import org.elasticsearch.search.aggregations.bucket.SingleBucketAggregation;
+import org.elasticsearch.search.aggregations.metrics.NumericMetricsAggregation;
+import org.elasticsearch.search.aggregations.metrics.percentiles.Percentile;
+import org.elasticsearch.search.aggregations.metrics.percentiles.PercentileRanks;
+import org.elasticsearch.search.aggregations.metrics.percentiles.Percentiles;
+import org.elasticsearch.search.aggregations.metrics.stats.Stats;
+import org.elasticsearch.search.aggregations.metrics.stats.extended.ExtendedStats;
 import org.elasticsearch.search.suggest.Suggest;
 import org.elasticsearch.search.suggest.completion.CompletionSuggestion;
 import org.elasticsearch.search.suggest.phrase.PhraseSuggestion;
 import org.elasticsearch.search.suggest.term.TermSuggestion;
+import org.joda.time.ReadableInstant;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -55,9 +91,13 @@ import java.util.stream.Collectors;
 public class ElasticSearchServiceMapper {
 
     public static com.hubrick.vertx.elasticsearch.model.DeleteByQueryResponse mapToDeleteByQueryResponse(DeleteByQueryResponse esDeleteByQueryResponse) {
+        return mapToDeleteByQueryResponse(esDeleteByQueryResponse, true);
+    }
+
+    public static com.hubrick.vertx.elasticsearch.model.DeleteByQueryResponse mapToDeleteByQueryResponse(DeleteByQueryResponse esDeleteByQueryResponse, boolean rawResponse) {
         final com.hubrick.vertx.elasticsearch.model.DeleteByQueryResponse deleteByQueryResponse = new com.hubrick.vertx.elasticsearch.model.DeleteByQueryResponse();
 
-        deleteByQueryResponse.setRawResponse(readResponse(esDeleteByQueryResponse));
+        if (rawResponse) deleteByQueryResponse.setRawResponse(readResponse(esDeleteByQueryResponse));
         deleteByQueryResponse.setTook(esDeleteByQueryResponse.getTookInMillis());
         deleteByQueryResponse.setTimedOut(esDeleteByQueryResponse.isTimedOut());
         deleteByQueryResponse.setTotalFound(esDeleteByQueryResponse.getTotalFound());
@@ -82,9 +122,13 @@ public class ElasticSearchServiceMapper {
     }
 
     public static com.hubrick.vertx.elasticsearch.model.GetResponse mapToUpdateResponse(GetResponse esGetResponse) {
+        return mapToUpdateResponse(esGetResponse, true);
+    }
+
+    public static com.hubrick.vertx.elasticsearch.model.GetResponse mapToUpdateResponse(GetResponse esGetResponse, boolean rawResponse) {
         final com.hubrick.vertx.elasticsearch.model.GetResponse getResponse = new com.hubrick.vertx.elasticsearch.model.GetResponse();
 
-        getResponse.setRawResponse(readResponse(esGetResponse));
+        if (rawResponse) getResponse.setRawResponse(readResponse(esGetResponse));
         getResponse.setResult(mapToGetResult(esGetResponse));
 
         return getResponse;
@@ -136,9 +180,17 @@ public class ElasticSearchServiceMapper {
     }
 
     public static com.hubrick.vertx.elasticsearch.model.SearchResponse mapToSearchResponse(SearchResponse esSearchResponse) {
+        return mapToSearchResponse(esSearchResponse, true);
+    }
+
+    public static com.hubrick.vertx.elasticsearch.model.SearchResponse mapToSearchResponse(SearchResponse esSearchResponse, boolean rawResponse) {
+        return mapToSearchResponse(esSearchResponse, rawResponse, false);
+    }
+
+    public static com.hubrick.vertx.elasticsearch.model.SearchResponse mapToSearchResponse(SearchResponse esSearchResponse, boolean rawResponse, boolean typedAggregations) {
         final com.hubrick.vertx.elasticsearch.model.SearchResponse searchResponse = new com.hubrick.vertx.elasticsearch.model.SearchResponse();
 
-        searchResponse.setRawResponse(readResponse(esSearchResponse));
+        if (rawResponse) searchResponse.setRawResponse(readResponse(esSearchResponse));
         searchResponse.setTook(esSearchResponse.getTookInMillis());
         searchResponse.setTimedOut(esSearchResponse.isTimedOut());
         searchResponse.setShards(mapToShards(esSearchResponse));
@@ -151,7 +203,9 @@ public class ElasticSearchServiceMapper {
             }
         }
 
-        if (esSearchResponse.getAggregations() != null) {
+        if (esSearchResponse.getAggregations() != null && typedAggregations) {
+            searchResponse.setTypedAggregations(mapToAggregationResults(esSearchResponse.getAggregations()));
+        } else if (esSearchResponse.getAggregations() != null) {
             searchResponse.setAggregations(
                     esSearchResponse.getAggregations().asMap()
                             .entrySet()
@@ -163,6 +217,121 @@ public class ElasticSearchServiceMapper {
         return searchResponse;
     }
 
+    public static com.hubrick.vertx.elasticsearch.model.BulkResponse mapToBulkResponse(BulkResponse esBulkResponse) {
+        final com.hubrick.vertx.elasticsearch.model.BulkResponse bulkResponse = new com.hubrick.vertx.elasticsearch.model.BulkResponse()
+                .setTook(esBulkResponse.getTookInMillis())
+                .setErrors(esBulkResponse.hasFailures());
+
+        for (BulkItemResponse esBulkItemResponse : esBulkResponse.getItems()) {
+            bulkResponse.addItem(mapToBulkResponseItem(esBulkItemResponse));
+        }
+
+        return bulkResponse;
+    }
+
+    public static com.hubrick.vertx.elasticsearch.model.MultiGetResponse mapToMultiGetResponse(MultiGetResponse esMultiGetResponse) {
+        final com.hubrick.vertx.elasticsearch.model.MultiGetResponse multiGetResponse = new com.hubrick.vertx.elasticsearch.model.MultiGetResponse();
+
+        for (MultiGetItemResponse esMultiGetItemResponse : esMultiGetResponse.getResponses()) {
+            multiGetResponse.addItem(mapToMultiGetResponseItem(esMultiGetItemResponse));
+        }
+
+        return multiGetResponse;
+    }
+
+    public static com.hubrick.vertx.elasticsearch.model.MultiSearchResponse mapToMultiSearchResponse(MultiSearchResponse esMultiSearchResponse, List<Boolean> rawResponses, List<Boolean> typedAggregations) {
+        final com.hubrick.vertx.elasticsearch.model.MultiSearchResponse multiSearchResponse = new com.hubrick.vertx.elasticsearch.model.MultiSearchResponse();
+
+        final MultiSearchResponse.Item[] esMultiSearchItems = esMultiSearchResponse.getResponses();
+        for (int i = 0; i < esMultiSearchItems.length; i++) {
+            if (esMultiSearchItems[i].isFailure()) {
+                multiSearchResponse.addItem(new MultiSearchResponseItem().setFailure(esMultiSearchItems[i].getFailureMessage()));
+            } else {
+                multiSearchResponse.addItem(new MultiSearchResponseItem().setResponse(mapToSearchResponse(esMultiSearchItems[i].getResponse(), rawResponses.get(i), typedAggregations.get(i))));
+            }
+        }
+
+        return multiSearchResponse;
+    }
+
+    public static SearchShardsResponse mapToSearchShardsResponse(ClusterSearchShardsResponse esSearchShardsResponse) {
+        final SearchShardsResponse searchShardsResponse = new SearchShardsResponse();
+
+        for (ClusterSearchShardsGroup esGroup : esSearchShardsResponse.getGroups()) {
+            final ShardGroup group = new ShardGroup()
+                    .setIndex(esGroup.getIndex())
+                    .setShardId(esGroup.getShardId());
+            for (ShardRouting shardRouting : esGroup.getShards()) {
+                if (shardRouting.currentNodeId() != null) {
+                    group.addNodeId(shardRouting.currentNodeId());
+                }
+            }
+            searchShardsResponse.addGroup(group);
+        }
+
+        return searchShardsResponse;
+    }
+
+    private static MultiGetResponseItem mapToMultiGetResponseItem(MultiGetItemResponse esMultiGetItemResponse) {
+        final MultiGetResponseItem multiGetResponseItem = new MultiGetResponseItem()
+                .setIndex(esMultiGetItemResponse.getIndex())
+                .setType(esMultiGetItemResponse.getType())
+                .setId(esMultiGetItemResponse.getId());
+
+        if (esMultiGetItemResponse.isFailed()) {
+            multiGetResponseItem.setFailure(esMultiGetItemResponse.getFailure().getMessage());
+        } else {
+            multiGetResponseItem.setResult(mapToGetResult(esMultiGetItemResponse.getResponse()));
+        }
+
+        return multiGetResponseItem;
+    }
+
+    private static BulkResponseItem mapToBulkResponseItem(BulkItemResponse esBulkItemResponse) {
+        final BulkResponseItem bulkResponseItem = new BulkResponseItem()
+                .setAction(mapToBulkItemAction(esBulkItemResponse.getOpType()))
+                .setIndex(esBulkItemResponse.getIndex())
+                .setType(esBulkItemResponse.getType())
+                .setId(esBulkItemResponse.getId());
+
+        if (esBulkItemResponse.isFailed()) {
+            bulkResponseItem
+                    .setStatus(esBulkItemResponse.getFailure().getStatus().getStatus())
+                    .setFailure(esBulkItemResponse.getFailureMessage());
+        } else {
+            bulkResponseItem
+                    .setVersion(esBulkItemResponse.getVersion())
+                    .setStatus(mapToBulkItemStatus(esBulkItemResponse.getResponse()).getStatus());
+        }
+
+        return bulkResponseItem;
+    }
+
+    private static BulkItem.Action mapToBulkItemAction(String opType) {
+        switch (opType) {
+            case "index":
+            case "create":
+                return BulkItem.Action.INDEX;
+            case "update":
+                return BulkItem.Action.UPDATE;
+            case "delete":
+                return BulkItem.Action.DELETE;
+            default:
+                throw new IllegalArgumentException("Bulk operation type " + opType + " unknown");
+        }
+    }
+
+    private static RestStatus mapToBulkItemStatus(Object esResponse) {
+        if (esResponse instanceof IndexResponse) {
+            return ((IndexResponse) esResponse).isCreated() ? RestStatus.CREATED : RestStatus.OK;
+        } else if (esResponse instanceof UpdateResponse) {
+            return ((UpdateResponse) esResponse).isCreated() ? RestStatus.CREATED : RestStatus.OK;
+        } else if (esResponse instanceof DeleteResponse) {
+            return ((DeleteResponse) esResponse).isFound() ? RestStatus.OK : RestStatus.NOT_FOUND;
+        }
+        return RestStatus.OK;
+    }
+
     private static Shards mapToShards(ActionWriteResponse.ShardInfo shardInfo) {
         return new Shards()
                 .setFailed(shardInfo.getFailed())
@@ -210,13 +379,128 @@ public class ElasticSearchServiceMapper {
                                 .collect(Collectors.toMap(e -> e.getKey(), e -> e.getValue().getValues()))
                 );
 
-        if (searchHit.getSource() != null) {
-            hit.setSource(new JsonObject(searchHit.getSource()));
+        if (searchHit.sourceRef() != null) {
+            hit.setSourceBuffer(toJsonBuffer(searchHit.sourceRef()));
         }
 
         return hit;
     }
 
+    /**
+     * Wraps json bytes without copying them, sources which were indexed in another format are converted to json.
+     */
+    private static Buffer toJsonBuffer(BytesReference bytes) {
+        try {
+            if (XContentFactory.xContentType(bytes) != XContentType.JSON) {
+                return Buffer.buffer(XContentHelper.convertToJson(bytes, false));
+            }
+            if (bytes.hasArray()) {
+                return Buffer.buffer(Unpooled.wrappedBuffer(bytes.array(), bytes.arrayOffset(), bytes.length()));
+            }
+            return Buffer.buffer(bytes.toBytes());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Map<String, AggregationResult> mapToAggregationResults(Aggregations esAggregations) {
+        final Map<String, AggregationResult> aggregationResults = new LinkedHashMap<>();
+        for (Aggregation esAggregation : esAggregations) {
+            aggregationResults.put(esAggregation.getName(), mapToAggregationResult(esAggregation));
+        }
+        return aggregationResults;
+    }
+
+    private static AggregationResult mapToAggregationResult(Aggregation esAggregation) {
+        final AggregationResult aggregationResult = new AggregationResult()
+                .setType(((InternalAggregation) esAggregation).type().name());
+
+        if (esAggregation instanceof NumericMetricsAggregation.SingleValue) {
+            aggregationResult.setValue(toFiniteValue(((NumericMetricsAggregation.SingleValue) esAggregation).value()));
+
+        } else if (esAggregation instanceof Stats) {
+            final Stats esStats = (Stats) esAggregation;
+            final Map<String, Double> values = new LinkedHashMap<>();
+            values.put("count", (double) esStats.getCount());
+            values.put("min", toFiniteValue(esStats.getMin()));
+            values.put("max", toFiniteValue(esStats.getMax()));
+            values.put("avg", toFiniteValue(esStats.getAvg()));
+            values.put("sum", toFiniteValue(esStats.getSum()));
+            if (esAggregation instanceof ExtendedStats) {
+                final ExtendedStats esExtendedStats = (ExtendedStats) esAggregation;
+                values.put("sum_of_squares", toFiniteValue(esExtendedStats.getSumOfSquares()));
+                values.put("variance", toFiniteValue(esExtendedStats.getVariance()));
+                values.put("std_deviation", toFiniteValue(esExtendedStats.getStdDeviation()));
+            }
+            aggregationResult.setValues(values);
+
+        } else if (esAggregation instanceof Percentiles) {
+            aggregationResult.setValues(mapToPercentileValues((Percentiles) esAggregation));
+
+        } else if (esAggregation instanceof PercentileRanks) {
+            aggregationResult.setValues(mapToPercentileValues((PercentileRanks) esAggregation));
+
+        } else if (esAggregation instanceof SingleBucketAggregation) {
+            final SingleBucketAggregation esSingleBucketAggregation = (SingleBucketAggregation) esAggregation;
+            aggregationResult.setDocCount(esSingleBucketAggregation.getDocCount());
+            aggregationResult.setAggregations(mapToAggregationResults(esSingleBucketAggregation.getAggregations()));
+
+        } else if (esAggregation instanceof MultiBucketsAggregation) {
+            final List<? extends MultiBucketsAggregation.Bucket> esBuckets = ((MultiBucketsAggregation) esAggregation).getBuckets();
+            final List<Object> keys = new ArrayList<>(esBuckets.size());
+            final List<Long> docCounts = new ArrayList<>(esBuckets.size());
+            final List<AggregationResult> buckets = new ArrayList<>(esBuckets.size());
+            boolean subAggregations = false;
+
+            for (MultiBucketsAggregation.Bucket esBucket : esBuckets) {
+                keys.add(toBucketKey(esBucket));
+                docCounts.add(esBucket.getDocCount());
+                buckets.add(new AggregationResult().setAggregations(mapToAggregationResults(esBucket.getAggregations())));
+                subAggregations |= !esBucket.getAggregations().asList().isEmpty();
+            }
+
+            aggregationResult.setKeys(keys);
+            aggregationResult.setDocCounts(docCounts);
+            if (subAggregations) {
+                aggregationResult.setBuckets(buckets);
+            }
+
+        } else {
+            aggregationResult.setRaw(readResponse((InternalAggregation) esAggregation));
+        }
+
+        return aggregationResult;
+    }
+
+    /**
+     * Dates are returned as epoch millis, keys which are neither strings nor numbers as their string representation.
+     */
+    private static Object toBucketKey(MultiBucketsAggregation.Bucket esBucket) {
+        final Object key = esBucket.getKey();
+        if (key instanceof String || key instanceof Number) {
+            return key;
+        }
+        if (key instanceof ReadableInstant) {
+            return ((ReadableInstant) key).getMillis();
+        }
+        return esBucket.getKeyAsString();
+    }
+
+    /**
+     * Metrics of empty buckets are NaN or infinite which can't be represented in json.
+     */
+    private static Double toFiniteValue(double value) {
+        return Double.isNaN(value) || Double.isInfinite(value) ? null : value;
+    }
+
+    private static Map<String, Double> mapToPercentileValues(Iterable<Percentile> esPercentiles) {
+        final Map<String, Double> values = new LinkedHashMap<>();
+        for (Percentile esPercentile : esPercentiles) {
+            values.put(String.valueOf(esPercentile.getPercent()), toFiniteValue(esPercentile.getValue()));
+        }
+        return values;
+    }
+
     private static com.hubrick.vertx.elasticsearch.model.GetResult mapToGetResult(GetResponse getResponse) {
         final com.hubrick.vertx.elasticsearch.model.GetResult getResult = new com.hubrick.vertx.elasticsearch.model.GetResult()
                 .setId(getResponse.getId())
@@ -234,8 +518,8 @@ public class ElasticSearchServiceMapper {
             );
         }
 
-        if (getResponse.getSource() != null) {
-            getResult.setSource(new JsonObject(getResponse.getSource()));
+        if (getResponse.getSourceAsBytesRef() != null) {
+            getResult.setSourceBuffer(toJsonBuffer(getResponse.getSourceAsBytesRef()));
         }
 
         return getResult;
@@ -258,8 +542,8 @@ public class ElasticSearchServiceMapper {
             );
         }
 
-        if (esGetResult.getSource() != null) {
-            getResult.setSource(new JsonObject(esGetResult.getSource()));
+        if (esGetResult.sourceRef() != null) {
+            getResult.setSourceBuffer(toJsonBuffer(esGetResult.sourceRef()));
         }
 
         return getResult;
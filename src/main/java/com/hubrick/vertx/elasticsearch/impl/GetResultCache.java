@@ -0,0 +1,153 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import com.hubrick.vertx.elasticsearch.model.GetResponse;
+import io.vertx.core.json.JsonObject;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size bounded LRU cache of get responses. Entries are grouped by document so that all variants of a document
+ * (different fields, source filtering etc.) are invalidated together when the document is written.
+ * <p>
+ * Every invalidation with a known version raises the minimum version of the document, so responses of gets which
+ * were in flight while the document was written are not cached.
+ * <p>
+ * Documents are keyed by their concrete index. Index names which turned out to be aliases in a get response are
+ * remembered, so gets and writes through the alias and through the concrete index share the same entries.
+ * <p>
+ * Responses are copied when they are cached and when they are returned, so callers may modify them.
+ */
+class GetResultCache {
+
+    private final int maxEntries;
+    private final long ttl;
+    private final LinkedHashMap<String, Document> documents;
+    private final Map<String, String> concreteIndices = new HashMap<>();
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    GetResultCache(int maxEntries, long ttl) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.documents = new LinkedHashMap<String, Document>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Document> eldest) {
+                if (size() > GetResultCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    synchronized GetResponse get(String index, String type, String id, String variant) {
+        final Document document = documents.get(key(concreteIndex(index), type, id));
+        final Entry entry = document == null ? null : document.variants.get(variant);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            document.variants.remove(variant);
+            misses++;
+            return null;
+        }
+        hits++;
+        return new GetResponse(entry.response);
+    }
+
+    synchronized void put(String index, String type, String id, String variant, GetResponse response) {
+        final Long version = response.getResult() == null ? null : response.getResult().getVersion();
+        final String concreteIndex = response.getResult() == null || response.getResult().getIndex() == null ? index : response.getResult().getIndex();
+        if (concreteIndex.equals(index)) {
+            concreteIndices.remove(index);
+        } else {
+            concreteIndices.put(index, concreteIndex);
+        }
+
+        final Document document = documents.computeIfAbsent(key(concreteIndex, type, id), k -> new Document());
+        if (document.minVersion > 0 && (version == null || version < document.minVersion)) {
+            return;
+        }
+        document.variants.put(variant, new Entry(new GetResponse(response), System.currentTimeMillis() + ttl));
+    }
+
+    /**
+     * Drops all cached variants of the document. A version {@code > 0} is the version the document was written with
+     * and prevents older responses from being cached afterwards.
+     */
+    synchronized void invalidate(String index, String type, String id, long version) {
+        if (id == null) {
+            return;
+        }
+        invalidations++;
+
+        final String key = key(concreteIndex(index), type, id);
+        final Document document = version > 0 ? documents.computeIfAbsent(key, k -> new Document()) : documents.get(key);
+        if (document != null) {
+            document.variants.clear();
+            document.minVersion = Math.max(document.minVersion, version);
+        }
+    }
+
+    synchronized void invalidateAll() {
+        invalidations++;
+        documents.clear();
+    }
+
+    synchronized JsonObject getMetrics() {
+        return new JsonObject()
+                .put("size", documents.size())
+                .put("maxEntries", maxEntries)
+                .put("hits", hits)
+                .put("misses", misses)
+                .put("evictions", evictions)
+                .put("invalidations", invalidations);
+    }
+
+    private String concreteIndex(String index) {
+        return concreteIndices.getOrDefault(index, index);
+    }
+
+    private static String key(String index, String type, String id) {
+        return index + '/' + type + '/' + id;
+    }
+
+    private static class Document {
+
+        private final Map<String, Entry> variants = new HashMap<>();
+        private long minVersion;
+    }
+
+    private static class Entry {
+
+        private final GetResponse response;
+        private final long expiresAt;
+
+        private Entry(GetResponse response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
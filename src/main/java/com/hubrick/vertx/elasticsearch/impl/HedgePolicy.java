@@ -0,0 +1,280 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import com.hubrick.vertx.elasticsearch.ElasticSearchConfigurator;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import org.elasticsearch.action.ActionListener;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Sends a second request with another preference when a search or get takes longer than a percentile of the recent
+ * latencies, e.g. because the shard copy it hit is busy with a GC or a merge. The response which arrives first wins,
+ * the other one is ignored as requests can't be cancelled through the transport client.
+ * <p>
+ * The latencies are taken from the first request only, so the threshold follows the latency without hedging. Hedges
+ * are bounded by a budget like the retries of {@link RetryPolicy}: every request adds {@code maxRate} to a balance and
+ * every hedge takes one from it.
+ */
+public class HedgePolicy {
+
+    static final double MAX_BALANCE = 10;
+    static final String HEDGE_PREFERENCE_SUFFIX = "-hedge";
+
+    enum Operation {
+        SEARCH, GET
+    }
+
+    private final Vertx vertx;
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelay;
+    private final double maxRate;
+    private final Map<Operation, LatencyWindow> windows = new EnumMap<>(Operation.class);
+
+    private double balance = MAX_BALANCE;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong hedged = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private final AtomicLong budgetExhausted = new AtomicLong();
+
+    public HedgePolicy(Vertx vertx, ElasticSearchConfigurator configurator) {
+        this(vertx, configurator.getHedgingEnabled(), configurator.getHedgingPercentile(), configurator.getHedgingMinDelay(),
+                configurator.getHedgingWindowSize(), configurator.getHedgingMaxRate());
+    }
+
+    HedgePolicy(Vertx vertx, boolean enabled, double percentile, long minDelay, int windowSize, double maxRate) {
+        this.vertx = vertx;
+        this.enabled = enabled;
+        this.percentile = Math.min(1, Math.max(0, percentile));
+        this.minDelay = Math.max(1, minDelay);
+        this.maxRate = maxRate;
+        for (Operation operation : Operation.values()) {
+            windows.put(operation, new LatencyWindow(Math.max(1, windowSize)));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The preference of the hedge request or {@code null} if the request must not be hedged. Custom preferences get a
+     * suffix, so the hedge hashes to another shard copy most of the time but stays as stable as the original. Requests
+     * without preference get a random one. Preferences starting with {@code _} like {@code _primary} or
+     * {@code _shards:0,1} restrict the shard copies on purpose and aren't hedged.
+     */
+    String hedgePreference(String preference) {
+        if (!enabled) {
+            return null;
+        }
+        if (preference == null) {
+            return Long.toHexString(ThreadLocalRandom.current().nextLong()) + HEDGE_PREFERENCE_SUFFIX;
+        }
+        if (preference.startsWith("_")) {
+            return null;
+        }
+        return preference + HEDGE_PREFERENCE_SUFFIX;
+    }
+
+    /**
+     * Runs the primary action and the hedge action once the primary one is slower than the threshold of the operation.
+     * Failures are only passed on once no other request is pending.
+     */
+    <T> void run(Operation operation, Consumer<ActionListener<T>> primary, Consumer<ActionListener<T>> hedge, ActionListener<T> listener) {
+        final LatencyWindow window = windows.get(operation);
+        final Race<T> race = new Race<>(listener);
+        deposit();
+
+        final long threshold = window.threshold;
+        if (threshold >= 0) {
+            race.timerId = vertx.setTimer(Math.max(minDelay, threshold), id -> {
+                if (!race.isDone() && withdraw() && race.addHedge()) {
+                    hedged.incrementAndGet();
+                    hedge.accept(race.listener(true));
+                }
+            });
+        }
+
+        final long start = System.nanoTime();
+        final ActionListener<T> primaryListener = race.listener(false);
+        primary.accept(new ActionListener<T>() {
+            @Override
+            public void onResponse(T response) {
+                window.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                primaryListener.onResponse(response);
+            }
+
+            @Override
+            public void onFailure(Throwable e) {
+                primaryListener.onFailure(e);
+            }
+        });
+    }
+
+    public JsonObject getMetrics() {
+        final double currentBalance;
+        synchronized (this) {
+            currentBalance = balance;
+        }
+        final JsonObject metrics = new JsonObject()
+                .put("percentile", percentile)
+                .put("maxRate", maxRate)
+                .put("balance", currentBalance)
+                .put("requests", requests.get())
+                .put("hedged", hedged.get())
+                .put("hedgeWins", hedgeWins.get())
+                .put("budgetExhausted", budgetExhausted.get());
+        windows.forEach((operation, window) -> metrics.put(operation.name().toLowerCase(), window.getMetrics()));
+        return metrics;
+    }
+
+    long getThreshold(Operation operation) {
+        return windows.get(operation).threshold;
+    }
+
+    private synchronized void deposit() {
+        requests.incrementAndGet();
+        balance = Math.min(MAX_BALANCE, balance + maxRate);
+    }
+
+    private synchronized boolean withdraw() {
+        if (balance < 1) {
+            budgetExhausted.incrementAndGet();
+            return false;
+        }
+        balance -= 1;
+        return true;
+    }
+
+    /**
+     * The percentile of the values, the values are sorted in place.
+     */
+    static long percentile(long[] values, double percentile) {
+        Arrays.sort(values);
+        final int index = (int) Math.ceil(percentile * values.length) - 1;
+        return values[Math.min(values.length - 1, Math.max(0, index))];
+    }
+
+    private class Race<T> {
+
+        private final ActionListener<T> resultListener;
+        private boolean done;
+        private int pending = 1;
+        private Throwable failure;
+        private volatile long timerId = -1;
+
+        private Race(ActionListener<T> resultListener) {
+            this.resultListener = resultListener;
+        }
+
+        synchronized boolean isDone() {
+            return done;
+        }
+
+        synchronized boolean addHedge() {
+            if (done) {
+                return false;
+            }
+            pending++;
+            return true;
+        }
+
+        ActionListener<T> listener(boolean hedge) {
+            return new ActionListener<T>() {
+                @Override
+                public void onResponse(T response) {
+                    synchronized (Race.this) {
+                        if (done) {
+                            return;
+                        }
+                        done = true;
+                    }
+                    if (hedge) {
+                        hedgeWins.incrementAndGet();
+                    }
+                    cancelTimer();
+                    resultListener.onResponse(response);
+                }
+
+                @Override
+                public void onFailure(Throwable e) {
+                    final Throwable result;
+                    synchronized (Race.this) {
+                        if (failure == null) {
+                            failure = e;
+                        }
+                        if (done || --pending > 0) {
+                            return;
+                        }
+                        done = true;
+                        result = failure;
+                    }
+                    cancelTimer();
+                    resultListener.onFailure(result);
+                }
+            };
+        }
+
+        private void cancelTimer() {
+            if (timerId != -1) {
+                vertx.cancelTimer(timerId);
+            }
+        }
+    }
+
+    /**
+     * The latencies of the most recent requests. The threshold is recomputed every tenth of the window, so sorting
+     * the window doesn't happen on every request.
+     */
+    private class LatencyWindow {
+
+        private final long[] latencies;
+        private final int interval;
+        private int next;
+        private long samples;
+        private volatile long threshold = -1;
+
+        private LatencyWindow(int size) {
+            this.latencies = new long[size];
+            this.interval = Math.max(1, size / 10);
+        }
+
+        synchronized void record(long latency) {
+            latencies[next] = latency;
+            next = (next + 1) % latencies.length;
+            samples++;
+            if (samples % interval == 0) {
+                threshold = percentile(Arrays.copyOf(latencies, (int) Math.min(samples, latencies.length)), percentile);
+            }
+        }
+
+        synchronized JsonObject getMetrics() {
+            return new JsonObject()
+                    .put("samples", samples)
+                    .put("threshold", threshold);
+        }
+    }
+}
@@ -16,6 +16,9 @@
 package com.hubrick.vertx.elasticsearch.impl;
 
 import com.hubrick.vertx.elasticsearch.ElasticSearchConfigurator;
+import com.hubrick.vertx.elasticsearch.model.CircuitBreakerOptions;
+import com.hubrick.vertx.elasticsearch.model.ClientSelection;
+import com.hubrick.vertx.elasticsearch.model.OperationClass;
 import io.vertx.core.Vertx;
 import org.elasticsearch.common.transport.InetSocketTransportAddress;
 import org.elasticsearch.common.transport.TransportAddress;
@@ -25,7 +28,11 @@ import io.vertx.core.json.JsonObject;
 import javax.inject.Inject;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * ElasticSearch configuration is read from JSON
@@ -34,14 +41,77 @@ public class JsonElasticSearchConfigurator implements ElasticSearchConfigurator
 
     protected String clusterName;
     protected boolean clientTransportSniff;
+    protected final Map<String, String> settings = new LinkedHashMap<>();
     protected final List<TransportAddress> transportAddresses = new ArrayList<>();
+    protected int clientPoolSize;
+    protected ClientSelection clientPoolSelection;
     protected boolean requireUnits;
+    protected int mappingWorkerPoolSize;
+    protected boolean rawResponseEnabled;
+    protected long scrollIdleTimeout;
+    protected int searchCacheMaxEntries;
+    protected long searchCacheTtl;
+    protected int getCacheMaxEntries;
+    protected long getCacheTtl;
+    protected boolean bulkBufferEnabled;
+    protected int bulkBufferMaxActions;
+    protected long bulkBufferMaxSizeInBytes;
+    protected long bulkBufferFlushInterval;
+    protected final Map<OperationClass, Integer> requestLimitMaxConcurrent = new EnumMap<>(OperationClass.class);
+    protected final Map<OperationClass, Integer> requestLimitMaxQueued = new EnumMap<>(OperationClass.class);
+    protected int retryMaxRetries;
+    protected long retryInitialDelay;
+    protected long retryMaxDelay;
+    protected double retryBudget;
+    protected boolean circuitBreakerEnabled;
+    protected String circuitBreakerAddress;
+    protected final Map<OperationClass, CircuitBreakerOptions> circuitBreakerOptions = new EnumMap<>(OperationClass.class);
+    protected boolean hedgingEnabled;
+    protected double hedgingPercentile;
+    protected long hedgingMinDelay;
+    protected int hedgingWindowSize;
+    protected double hedgingMaxRate;
+    protected boolean sessionAffinityEnabled;
 
     public static final String CONFIG_NAME = "elasticsearch";
     public static final String CONFIG_TRANSPORT_ADDRESSES = "transportAddresses";
+    public static final String CONFIG_TRANSPORT_PROFILE = "transportProfile";
+    public static final String CONFIG_SETTINGS = "settings";
     public static final String CONFIG_HOSTNAME = "hostname";
     public static final String CONFIG_PORT = "port";
+    public static final String CONFIG_CLIENT_POOL = "clientPool";
+    public static final String CONFIG_SIZE = "size";
+    public static final String CONFIG_SELECTION = "selection";
     public static final String CONFIG_REQUIRE_UNITS = "requireUnits";
+    public static final String CONFIG_MAPPING_WORKER_POOL_SIZE = "mappingWorkerPoolSize";
+    public static final String CONFIG_RAW_RESPONSE = "rawResponse";
+    public static final String CONFIG_SCROLL_IDLE_TIMEOUT = "scrollIdleTimeout";
+    public static final String CONFIG_SEARCH_CACHE = "searchCache";
+    public static final String CONFIG_GET_CACHE = "getCache";
+    public static final String CONFIG_MAX_ENTRIES = "maxEntries";
+    public static final String CONFIG_TTL = "ttl";
+    public static final String CONFIG_BULK_BUFFER = "bulkBuffer";
+    public static final String CONFIG_ENABLED = "enabled";
+    public static final String CONFIG_MAX_ACTIONS = "maxActions";
+    public static final String CONFIG_MAX_SIZE_IN_BYTES = "maxSizeInBytes";
+    public static final String CONFIG_FLUSH_INTERVAL = "flushInterval";
+    public static final String CONFIG_REQUEST_LIMITS = "requestLimits";
+    public static final String CONFIG_MAX_CONCURRENT = "maxConcurrent";
+    public static final String CONFIG_MAX_QUEUED = "maxQueued";
+    public static final String CONFIG_RETRY = "retry";
+    public static final String CONFIG_MAX_RETRIES = "maxRetries";
+    public static final String CONFIG_INITIAL_DELAY = "initialDelay";
+    public static final String CONFIG_MAX_DELAY = "maxDelay";
+    public static final String CONFIG_BUDGET = "budget";
+    public static final String CONFIG_CIRCUIT_BREAKER = "circuitBreaker";
+    public static final String CONFIG_ADDRESS = "address";
+    public static final String DEFAULT_CIRCUIT_BREAKER_ADDRESS = "vertx-elasticsearch.circuit-breaker";
+    public static final String CONFIG_HEDGING = "hedging";
+    public static final String CONFIG_PERCENTILE = "percentile";
+    public static final String CONFIG_MIN_DELAY = "minDelay";
+    public static final String CONFIG_WINDOW_SIZE = "windowSize";
+    public static final String CONFIG_MAX_RATE = "maxRate";
+    public static final String CONFIG_SESSION_AFFINITY = "sessionAffinity";
 
     @Inject
     public JsonElasticSearchConfigurator(Vertx vertx) {
@@ -63,8 +133,21 @@ public class JsonElasticSearchConfigurator implements ElasticSearchConfigurator
     protected void init(JsonObject config) {
         initClusterName(config);
         initClientTransportSniff(config);
+        initSettings(config);
         initTransportAddresses(config);
+        initClientPool(config);
         initRequireUnits(config);
+        initMappingWorkerPoolSize(config);
+        initRawResponse(config);
+        initScrollIdleTimeout(config);
+        initSearchCache(config);
+        initGetCache(config);
+        initBulkBuffer(config);
+        initRequestLimits(config);
+        initRetry(config);
+        initCircuitBreaker(config);
+        initHedging(config);
+        initSessionAffinity(config);
     }
 
     protected void initClusterName(JsonObject config) {
@@ -75,6 +158,37 @@ public class JsonElasticSearchConfigurator implements ElasticSearchConfigurator
         clientTransportSniff = config.getBoolean("client_transport_sniff", true);
     }
 
+    protected void initSettings(JsonObject config) {
+        final String transportProfile = config.getString(CONFIG_TRANSPORT_PROFILE);
+        if (transportProfile != null) {
+            settings.putAll(TransportProfile.fromProfileName(transportProfile).getSettings());
+        }
+        putSettings("", config.getJsonObject(CONFIG_SETTINGS, new JsonObject()));
+    }
+
+    /**
+     * Nested objects are flattened, so <code>{"transport": {"tcp": {"compress": true}}}</code> is the same as
+     * <code>{"transport.tcp.compress": true}</code>
+     */
+    private void putSettings(String prefix, JsonObject json) {
+        for (String key : json.fieldNames()) {
+            final Object value = json.getValue(key);
+            if (value instanceof JsonObject) {
+                putSettings(prefix + key + ".", (JsonObject) value);
+            } else if (value instanceof JsonArray) {
+                final JsonArray values = (JsonArray) value;
+                final StringBuilder joined = new StringBuilder();
+                for (int i = 0; i < values.size(); i++) {
+                    if (i > 0) joined.append(',');
+                    joined.append(values.getValue(i));
+                }
+                settings.put(prefix + key, joined.toString());
+            } else if (value != null) {
+                settings.put(prefix + key, value.toString());
+            }
+        }
+    }
+
     protected void initTransportAddresses(JsonObject config) {
 
         JsonArray jsonArray = config.getJsonArray(CONFIG_TRANSPORT_ADDRESSES);
@@ -97,10 +211,95 @@ public class JsonElasticSearchConfigurator implements ElasticSearchConfigurator
 
     }
 
+    protected void initClientPool(JsonObject config) {
+        final JsonObject clientPool = config.getJsonObject(CONFIG_CLIENT_POOL, new JsonObject());
+        clientPoolSize = clientPool.getInteger(CONFIG_SIZE, 1);
+        clientPoolSelection = ClientSelection.valueOf(clientPool.getString(CONFIG_SELECTION, ClientSelection.ROUND_ROBIN.name()).toUpperCase(Locale.ENGLISH));
+    }
+
     protected void initRequireUnits(JsonObject config) {
         requireUnits = config.getBoolean(CONFIG_REQUIRE_UNITS, false);
     }
 
+    protected void initMappingWorkerPoolSize(JsonObject config) {
+        mappingWorkerPoolSize = config.getInteger(CONFIG_MAPPING_WORKER_POOL_SIZE, 0);
+    }
+
+    protected void initRawResponse(JsonObject config) {
+        rawResponseEnabled = config.getBoolean(CONFIG_RAW_RESPONSE, true);
+    }
+
+    protected void initScrollIdleTimeout(JsonObject config) {
+        scrollIdleTimeout = config.getLong(CONFIG_SCROLL_IDLE_TIMEOUT, 0L);
+    }
+
+    protected void initSearchCache(JsonObject config) {
+        final JsonObject searchCache = config.getJsonObject(CONFIG_SEARCH_CACHE, new JsonObject());
+        searchCacheMaxEntries = searchCache.getInteger(CONFIG_MAX_ENTRIES, 0);
+        searchCacheTtl = searchCache.getLong(CONFIG_TTL, 0L);
+    }
+
+    protected void initGetCache(JsonObject config) {
+        final JsonObject getCache = config.getJsonObject(CONFIG_GET_CACHE, new JsonObject());
+        getCacheMaxEntries = getCache.getInteger(CONFIG_MAX_ENTRIES, 0);
+        getCacheTtl = getCache.getLong(CONFIG_TTL, 60000L);
+    }
+
+    protected void initBulkBuffer(JsonObject config) {
+        final JsonObject bulkBuffer = config.getJsonObject(CONFIG_BULK_BUFFER, new JsonObject());
+        bulkBufferEnabled = bulkBuffer.getBoolean(CONFIG_ENABLED, false);
+        bulkBufferMaxActions = bulkBuffer.getInteger(CONFIG_MAX_ACTIONS, 1000);
+        bulkBufferMaxSizeInBytes = bulkBuffer.getLong(CONFIG_MAX_SIZE_IN_BYTES, 5L * 1024 * 1024);
+        bulkBufferFlushInterval = bulkBuffer.getLong(CONFIG_FLUSH_INTERVAL, 100L);
+    }
+
+    protected void initRequestLimits(JsonObject config) {
+        final JsonObject requestLimits = config.getJsonObject(CONFIG_REQUEST_LIMITS, new JsonObject());
+        for (OperationClass operationClass : OperationClass.values()) {
+            final JsonObject requestLimit = requestLimits.getJsonObject(operationClass.name().toLowerCase(), new JsonObject());
+            requestLimitMaxConcurrent.put(operationClass, requestLimit.getInteger(CONFIG_MAX_CONCURRENT, 0));
+            requestLimitMaxQueued.put(operationClass, requestLimit.getInteger(CONFIG_MAX_QUEUED, 1000));
+        }
+    }
+
+    protected void initRetry(JsonObject config) {
+        final JsonObject retry = config.getJsonObject(CONFIG_RETRY, new JsonObject());
+        retryMaxRetries = retry.getInteger(CONFIG_MAX_RETRIES, 0);
+        retryInitialDelay = retry.getLong(CONFIG_INITIAL_DELAY, 50L);
+        retryMaxDelay = retry.getLong(CONFIG_MAX_DELAY, 2000L);
+        retryBudget = retry.getDouble(CONFIG_BUDGET, 0.1);
+    }
+
+    protected void initCircuitBreaker(JsonObject config) {
+        final JsonObject circuitBreaker = config.getJsonObject(CONFIG_CIRCUIT_BREAKER, new JsonObject());
+        circuitBreakerEnabled = circuitBreaker.getBoolean(CONFIG_ENABLED, false);
+        circuitBreakerAddress = circuitBreaker.getString(CONFIG_ADDRESS, DEFAULT_CIRCUIT_BREAKER_ADDRESS);
+
+        // The thresholds of the top level apply to all operation classes unless overridden per class
+        for (OperationClass operationClass : OperationClass.values()) {
+            final JsonObject options = circuitBreaker.copy();
+            final JsonObject overrides = circuitBreaker.getJsonObject(operationClass.name().toLowerCase());
+            if (overrides != null) {
+                options.mergeIn(overrides);
+            }
+            circuitBreakerOptions.put(operationClass, new CircuitBreakerOptions(options));
+        }
+    }
+
+    protected void initHedging(JsonObject config) {
+        final JsonObject hedging = config.getJsonObject(CONFIG_HEDGING, new JsonObject());
+        hedgingEnabled = hedging.getBoolean(CONFIG_ENABLED, false);
+        hedgingPercentile = hedging.getDouble(CONFIG_PERCENTILE, 0.95);
+        hedgingMinDelay = hedging.getLong(CONFIG_MIN_DELAY, 10L);
+        hedgingWindowSize = hedging.getInteger(CONFIG_WINDOW_SIZE, 1000);
+        hedgingMaxRate = hedging.getDouble(CONFIG_MAX_RATE, 0.05);
+    }
+
+    protected void initSessionAffinity(JsonObject config) {
+        final JsonObject sessionAffinity = config.getJsonObject(CONFIG_SESSION_AFFINITY, new JsonObject());
+        sessionAffinityEnabled = sessionAffinity.getBoolean(CONFIG_ENABLED, false);
+    }
+
     @Override
     public String getClusterName() {
         return clusterName;
@@ -116,8 +315,153 @@ public class JsonElasticSearchConfigurator implements ElasticSearchConfigurator
         return false;
     }
 
+    @Override
+    public Map<String, String> getSettings() {
+        return settings;
+    }
+
     @Override
     public List<TransportAddress> getTransportAddresses() {
         return transportAddresses;
     }
+
+    @Override
+    public int getClientPoolSize() {
+        return clientPoolSize;
+    }
+
+    @Override
+    public ClientSelection getClientPoolSelection() {
+        return clientPoolSelection;
+    }
+
+    @Override
+    public int getMappingWorkerPoolSize() {
+        return mappingWorkerPoolSize;
+    }
+
+    @Override
+    public boolean getRawResponseEnabled() {
+        return rawResponseEnabled;
+    }
+
+    @Override
+    public long getScrollIdleTimeout() {
+        return scrollIdleTimeout;
+    }
+
+    @Override
+    public int getSearchCacheMaxEntries() {
+        return searchCacheMaxEntries;
+    }
+
+    @Override
+    public long getSearchCacheTtl() {
+        return searchCacheTtl;
+    }
+
+    @Override
+    public int getGetCacheMaxEntries() {
+        return getCacheMaxEntries;
+    }
+
+    @Override
+    public long getGetCacheTtl() {
+        return getCacheTtl;
+    }
+
+    @Override
+    public boolean getBulkBufferEnabled() {
+        return bulkBufferEnabled;
+    }
+
+    @Override
+    public int getBulkBufferMaxActions() {
+        return bulkBufferMaxActions;
+    }
+
+    @Override
+    public long getBulkBufferMaxSizeInBytes() {
+        return bulkBufferMaxSizeInBytes;
+    }
+
+    @Override
+    public long getBulkBufferFlushInterval() {
+        return bulkBufferFlushInterval;
+    }
+
+    @Override
+    public int getRequestLimitMaxConcurrent(OperationClass operationClass) {
+        return requestLimitMaxConcurrent.get(operationClass);
+    }
+
+    @Override
+    public int getRequestLimitMaxQueued(OperationClass operationClass) {
+        return requestLimitMaxQueued.get(operationClass);
+    }
+
+    @Override
+    public int getRetryMaxRetries() {
+        return retryMaxRetries;
+    }
+
+    @Override
+    public long getRetryInitialDelay() {
+        return retryInitialDelay;
+    }
+
+    @Override
+    public long getRetryMaxDelay() {
+        return retryMaxDelay;
+    }
+
+    @Override
+    public double getRetryBudget() {
+        return retryBudget;
+    }
+
+    @Override
+    public boolean getCircuitBreakerEnabled() {
+        return circuitBreakerEnabled;
+    }
+
+    @Override
+    public String getCircuitBreakerAddress() {
+        return circuitBreakerAddress;
+    }
+
+    @Override
+    public CircuitBreakerOptions getCircuitBreakerOptions(OperationClass operationClass) {
+        return circuitBreakerOptions.get(operationClass);
+    }
+
+    @Override
+    public boolean getHedgingEnabled() {
+        return hedgingEnabled;
+    }
+
+    @Override
+    public double getHedgingPercentile() {
+        return hedgingPercentile;
+    }
+
+    @Override
+    public long getHedgingMinDelay() {
+        return hedgingMinDelay;
+    }
+
+    @Override
+    public int getHedgingWindowSize() {
+        return hedgingWindowSize;
+    }
+
+    @Override
+    public double getHedgingMaxRate() {
+        return hedgingMaxRate;
+    }
+
+    @Override
+    public boolean getSessionAffinityEnabled() {
+        return sessionAffinityEnabled;
+    }
 }
@@ -0,0 +1,63 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import com.hubrick.vertx.elasticsearch.ElasticSearchService;
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+
+/**
+ * Keeps track of the services deployed in this JVM by event bus address so that local callers can bind to them
+ * directly and skip the json encoding of the event bus proxy.
+ */
+public final class LocalServiceRegistry {
+
+    private static final String MAP_NAME = "vertx-elasticsearch.local-services";
+
+    private LocalServiceRegistry() {
+    }
+
+    public static void register(Vertx vertx, String address, ElasticSearchService service) {
+        getMap(vertx).putIfAbsent(address, new Registration(service));
+    }
+
+    public static void unregister(Vertx vertx, String address, ElasticSearchService service) {
+        final LocalMap<String, Registration> map = getMap(vertx);
+        final Registration registration = map.get(address);
+        if (registration != null && registration.service == service) {
+            map.removeIfPresent(address, registration);
+        }
+    }
+
+    public static ElasticSearchService lookup(Vertx vertx, String address) {
+        final Registration registration = getMap(vertx).get(address);
+        return registration == null ? null : registration.service;
+    }
+
+    private static LocalMap<String, Registration> getMap(Vertx vertx) {
+        return vertx.sharedData().getLocalMap(MAP_NAME);
+    }
+
+    private static class Registration implements Shareable {
+
+        private final ElasticSearchService service;
+
+        private Registration(ElasticSearchService service) {
+            this.service = service;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import com.hubrick.vertx.elasticsearch.ElasticSearchService;
+import com.hubrick.vertx.elasticsearch.model.Hit;
+import com.hubrick.vertx.elasticsearch.model.SearchOptions;
+import com.hubrick.vertx.elasticsearch.model.SearchShardsResponse;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.streams.ReadStream;
+import org.elasticsearch.search.sort.SortOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * {@link ReadStream} of all hits of the given indices, fetched by several scrolls in parallel. The shard layout is
+ * looked up with the search shards API once the handler is set, the shard ids are split into at most
+ * {@code parallelism} groups and every group is scrolled on its own with a {@code _shards} preference. Unless the
+ * options define a sort the hits are sorted by {@code _doc}, which is the cheapest order to scroll in.
+ * <p>
+ * Hits of the groups are interleaved in arrival order. Pausing the stream pauses all scrolls, a failing scroll
+ * clears all others and ends the stream with the failure.
+ */
+public class ParallelScanReadStream implements ReadStream<Hit> {
+
+    private final ElasticSearchService service;
+    private final List<String> indices;
+    private final SearchOptions options;
+    private final int parallelism;
+    private final List<ScrollReadStream> streams = new ArrayList<>();
+
+    private Handler<Hit> handler;
+    private Handler<Throwable> exceptionHandler;
+    private Handler<Void> endHandler;
+    private boolean started;
+    private boolean paused;
+    private boolean closed;
+    private int remaining;
+
+    public ParallelScanReadStream(ElasticSearchService service, List<String> indices, SearchOptions options, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.service = service;
+        this.indices = indices;
+        this.options = options == null ? new SearchOptions() : options;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public ParallelScanReadStream exceptionHandler(Handler<Throwable> handler) {
+        this.exceptionHandler = handler;
+        return this;
+    }
+
+    @Override
+    public ParallelScanReadStream handler(Handler<Hit> handler) {
+        this.handler = handler;
+        if (handler == null) {
+            close();
+        } else if (!started) {
+            started = true;
+            service.searchShards(indices, this::handleShards);
+        }
+        return this;
+    }
+
+    @Override
+    public ParallelScanReadStream pause() {
+        paused = true;
+        streams.forEach(ScrollReadStream::pause);
+        return this;
+    }
+
+    @Override
+    public ParallelScanReadStream resume() {
+        paused = false;
+        new ArrayList<>(streams).forEach(ScrollReadStream::resume);
+        return this;
+    }
+
+    @Override
+    public ParallelScanReadStream endHandler(Handler<Void> endHandler) {
+        this.endHandler = endHandler;
+        return this;
+    }
+
+    private void handleShards(AsyncResult<SearchShardsResponse> result) {
+        if (closed) {
+            return;
+        }
+        if (result.failed()) {
+            fail(result.cause());
+            return;
+        }
+
+        final List<List<Integer>> partitions = partition(new ArrayList<>(result.result().getShardIds()), parallelism);
+        if (partitions.isEmpty()) {
+            end();
+            return;
+        }
+
+        remaining = partitions.size();
+        for (List<Integer> partition : partitions) {
+            streams.add(new ScrollReadStream(service, indices, partitionOptions(partition)));
+        }
+        for (ScrollReadStream stream : new ArrayList<>(streams)) {
+            if (closed) {
+                return;
+            }
+            if (paused) {
+                stream.pause();
+            }
+            stream.exceptionHandler(this::fail);
+            stream.endHandler(v -> {
+                if (--remaining == 0) {
+                    end();
+                }
+            });
+            stream.handler(this::handleHit);
+        }
+    }
+
+    private SearchOptions partitionOptions(List<Integer> shardIds) {
+        // Copied through json, the copy constructor shares the sort list
+        final SearchOptions partitionOptions = new SearchOptions(options.toJson())
+                .setPreference("_shards:" + shardIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        if (partitionOptions.getSorts().isEmpty()) {
+            partitionOptions.addFieldSort("_doc", SortOrder.ASC);
+        }
+        return partitionOptions;
+    }
+
+    private void handleHit(Hit hit) {
+        if (!closed && handler != null) {
+            handler.handle(hit);
+        }
+    }
+
+    private void end() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (endHandler != null) {
+            endHandler.handle(null);
+        }
+    }
+
+    private void fail(Throwable cause) {
+        if (closed) {
+            return;
+        }
+        close();
+        if (exceptionHandler != null) {
+            exceptionHandler.handle(cause);
+        }
+    }
+
+    private void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        streams.forEach(stream -> stream.handler(null));
+    }
+
+    /**
+     * Splits the shard ids round robin into at most {@code parallelism} groups.
+     */
+    static List<List<Integer>> partition(List<Integer> shardIds, int parallelism) {
+        final int groups = Math.min(parallelism, shardIds.size());
+        final List<List<Integer>> partitions = new ArrayList<>(groups);
+        for (int i = 0; i < groups; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (int i = 0; i < shardIds.size(); i++) {
+            partitions.get(i % groups).add(shardIds.get(i));
+        }
+        return partitions;
+    }
+}
@@ -0,0 +1,29 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+
+/**
+ * Thrown by the {@link RequestLimiter} when a request does not fit into the queue of its operation class. Callers see
+ * the same status as for a rejection by the cluster, but the request is not retried since it never left the client.
+ */
+public class RequestLimitExceededException extends EsRejectedExecutionException {
+
+    public RequestLimitExceededException(String message) {
+        super(message);
+    }
+}
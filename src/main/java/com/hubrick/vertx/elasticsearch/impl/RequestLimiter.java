@@ -0,0 +1,235 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import com.hubrick.vertx.elasticsearch.ElasticSearchConfigurator;
+import com.hubrick.vertx.elasticsearch.model.OperationClass;
+import io.vertx.core.json.JsonObject;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.ActionRequestBuilder;
+import org.elasticsearch.action.ActionResponse;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Limits the number of concurrently executing requests per {@link OperationClass}. Requests over the limit wait in a
+ * bounded queue and are started in order as soon as a running request of the same class completes. Requests which
+ * don't fit into the queue fail immediately with a {@link RequestLimitExceededException}, an
+ * {@link EsRejectedExecutionException} like the failure the cluster reports when its own thread pool queues are full.
+ * <p>
+ * A class with a limit of {@code 0} is unlimited, its requests are only counted.
+ */
+public class RequestLimiter {
+
+    private final Map<OperationClass, Limit> limits = new EnumMap<>(OperationClass.class);
+
+    public RequestLimiter(ElasticSearchConfigurator configurator) {
+        for (OperationClass operationClass : OperationClass.values()) {
+            limits.put(operationClass, new Limit(
+                    operationClass,
+                    configurator.getRequestLimitMaxConcurrent(operationClass),
+                    configurator.getRequestLimitMaxQueued(operationClass)
+            ));
+        }
+    }
+
+    /**
+     * Executes the request builder once a slot of the operation class is free.
+     */
+    public <T extends ActionResponse> void execute(OperationClass operationClass, ActionRequestBuilder<?, T, ?> builder, ActionListener<T> listener) {
+        run(operationClass, builder::execute, listener);
+    }
+
+    /**
+     * Runs the action once a slot of the operation class is free. The slot is released as soon as the action completes
+     * the listener it is handed.
+     */
+    public <T> void run(OperationClass operationClass, Consumer<ActionListener<T>> action, ActionListener<T> listener) {
+
+        final Limit limit = limits.get(operationClass);
+        limit.acquire(() -> {
+            final ActionListener<T> releasingListener = new ReleasingListener<>(limit, listener);
+            try {
+                action.accept(releasingListener);
+            } catch (RuntimeException e) {
+                releasingListener.onFailure(e);
+            }
+        }, listener::onFailure);
+    }
+
+    public JsonObject getMetrics() {
+        final JsonObject metrics = new JsonObject();
+        limits.forEach((operationClass, limit) -> metrics.put(operationClass.name().toLowerCase(), limit.getMetrics()));
+        return metrics;
+    }
+
+    private static class Limit {
+
+        private final OperationClass operationClass;
+        private final int maxConcurrent;
+        private final int maxQueued;
+        private final Deque<Waiter> queue = new ArrayDeque<>();
+        private final Deque<Runnable> ready = new ArrayDeque<>();
+        private boolean starting;
+
+        private int inFlight;
+        private long executed;
+        private long rejected;
+        private long waited;
+        private long waitTimeTotal;
+        private long waitTimeMax;
+
+        private Limit(OperationClass operationClass, int maxConcurrent, int maxQueued) {
+            this.operationClass = operationClass;
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueued = maxQueued;
+        }
+
+        private void acquire(Runnable task, Consumer<Throwable> rejectHandler) {
+
+            final String rejection;
+            synchronized (this) {
+                if (maxConcurrent <= 0 || inFlight < maxConcurrent) {
+                    inFlight++;
+                    executed++;
+                    rejection = null;
+                } else if (queue.size() < maxQueued) {
+                    queue.add(new Waiter(task, System.nanoTime()));
+                    return;
+                } else {
+                    rejected++;
+                    rejection = operationClass.name().toLowerCase() + " request rejected, "
+                            + inFlight + " requests in flight and " + queue.size() + " queued";
+                }
+            }
+
+            if (rejection != null) {
+                rejectHandler.accept(new RequestLimitExceededException(rejection));
+            } else {
+                task.run();
+            }
+        }
+
+        private void release() {
+
+            synchronized (this) {
+                final Waiter next = queue.poll();
+                if (next == null) {
+                    inFlight--;
+                } else {
+                    // The slot is handed over to the next waiting request
+                    final long waitTime = System.nanoTime() - next.enqueued;
+                    executed++;
+                    waited++;
+                    waitTimeTotal += waitTime;
+                    waitTimeMax = Math.max(waitTimeMax, waitTime);
+                    ready.add(next.task);
+                }
+
+                // Requests which fail synchronously release their slot while they are started. Their successors are
+                // left to the loop below instead of recursing once per queued request.
+                if (starting || ready.isEmpty()) {
+                    return;
+                }
+                starting = true;
+            }
+
+            try {
+                while (true) {
+                    final Runnable task;
+                    synchronized (this) {
+                        task = ready.poll();
+                        if (task == null) {
+                            starting = false;
+                            return;
+                        }
+                    }
+                    task.run();
+                }
+            } catch (RuntimeException | Error e) {
+                // Requests still left are started by the next release
+                synchronized (this) {
+                    starting = false;
+                }
+                throw e;
+            }
+        }
+
+        private synchronized JsonObject getMetrics() {
+            return new JsonObject()
+                    .put("maxConcurrent", maxConcurrent)
+                    .put("maxQueued", maxQueued)
+                    .put("inFlight", inFlight)
+                    .put("queued", queue.size())
+                    .put("executed", executed)
+                    .put("rejected", rejected)
+                    .put("waited", waited)
+                    .put("waitTimeTotal", TimeUnit.NANOSECONDS.toMillis(waitTimeTotal))
+                    .put("waitTimeMax", TimeUnit.NANOSECONDS.toMillis(waitTimeMax));
+        }
+    }
+
+    private static class Waiter {
+
+        private final Runnable task;
+        private final long enqueued;
+
+        private Waiter(Runnable task, long enqueued) {
+            this.task = task;
+            this.enqueued = enqueued;
+        }
+    }
+
+    private static class ReleasingListener<T> implements ActionListener<T> {
+
+        private final Limit limit;
+        private final ActionListener<T> listener;
+        private boolean released;
+
+        private ReleasingListener(Limit limit, ActionListener<T> listener) {
+            this.limit = limit;
+            this.listener = listener;
+        }
+
+        @Override
+        public void onResponse(T response) {
+            release();
+            listener.onResponse(response);
+        }
+
+        @Override
+        public void onFailure(Throwable e) {
+            release();
+            listener.onFailure(e);
+        }
+
+        private void release() {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            limit.release();
+        }
+    }
+}
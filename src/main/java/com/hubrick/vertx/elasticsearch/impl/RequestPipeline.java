@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import com.hubrick.vertx.elasticsearch.model.OperationClass;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * All requests to the cluster go through here. Rejected requests are retried, every attempt has to pass the
+ * request limiter on its own so no slot is held during the backoff. The circuit breaker only sees attempts which
+ * got a slot, so waiting in the limiter queue doesn't make a call slow.
+ */
+class RequestPipeline {
+
+    private final RetryPolicy retryPolicy;
+    private final RequestLimiter requestLimiter;
+    private final CircuitBreaker circuitBreaker;
+
+    RequestPipeline(RetryPolicy retryPolicy, RequestLimiter requestLimiter, CircuitBreaker circuitBreaker) {
+        this.retryPolicy = retryPolicy;
+        this.requestLimiter = requestLimiter;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    <T> void run(OperationClass operationClass, Consumer<ActionListener<T>> action, ActionListener<T> listener) {
+        retryPolicy.run(attemptListener -> attempt(operationClass, action, attemptListener), listener);
+    }
+
+    /**
+     * Runs a bulk request. The retry policy retries the whole request as well as its failed items, so every attempt
+     * only passes the request limiter and the circuit breaker.
+     */
+    void bulk(BulkRequest request, BiConsumer<BulkRequest, ActionListener<BulkResponse>> executor, ActionListener<BulkResponse> listener) {
+        retryPolicy.bulk(request, (bulkRequest, bulkListener) -> attempt(OperationClass.WRITE, attemptListener -> executor.accept(bulkRequest, attemptListener), bulkListener), listener);
+    }
+
+    private <T> void attempt(OperationClass operationClass, Consumer<ActionListener<T>> action, ActionListener<T> listener) {
+        requestLimiter.run(operationClass, limitedListener -> circuitBreaker.run(operationClass, action, limitedListener), listener);
+    }
+}
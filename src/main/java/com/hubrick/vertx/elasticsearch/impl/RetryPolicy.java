@@ -0,0 +1,239 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import com.hubrick.vertx.elasticsearch.ElasticSearchConfigurator;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import org.elasticsearch.ExceptionsHelper;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.ActionWriteResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.rest.RestStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Retries requests which were rejected by the cluster ({@code 429}) or couldn't be executed because no node or shard
+ * was available ({@code 503}). In both cases the request wasn't executed, so writes can be retried safely. Retries
+ * are delayed by an exponential backoff with jitter on Vert.x timers.
+ * <p>
+ * Retries are bounded by a budget: every request adds {@code budget} (e.g. {@code 0.1}) to a balance and every retry
+ * takes one from it, so retries can't exceed that fraction of the requests apart from a small initial burst. Once the
+ * balance is used up failures are handed to the caller right away.
+ * <p>
+ * Items of bulk responses which failed with a retryable status are retried as a new bulk request containing only
+ * those items, the results are merged back into the original response.
+ */
+public class RetryPolicy {
+
+    static final double MAX_BALANCE = 10;
+
+    private final Vertx vertx;
+    private final int maxRetries;
+    private final long initialDelay;
+    private final long maxDelay;
+    private final double budget;
+
+    private double balance = MAX_BALANCE;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong bulkItemRetries = new AtomicLong();
+    private final AtomicLong budgetExhausted = new AtomicLong();
+
+    public RetryPolicy(Vertx vertx, ElasticSearchConfigurator configurator) {
+        this(vertx, configurator.getRetryMaxRetries(), configurator.getRetryInitialDelay(), configurator.getRetryMaxDelay(), configurator.getRetryBudget());
+    }
+
+    RetryPolicy(Vertx vertx, int maxRetries, long initialDelay, long maxDelay, double budget) {
+        this.vertx = vertx;
+        this.maxRetries = maxRetries;
+        this.initialDelay = Math.max(1, initialDelay);
+        this.maxDelay = Math.max(this.initialDelay, maxDelay);
+        this.budget = budget;
+    }
+
+    public boolean isEnabled() {
+        return maxRetries > 0;
+    }
+
+    /**
+     * Runs the action and runs it again on retryable failures.
+     */
+    public <T> void run(Consumer<ActionListener<T>> action, ActionListener<T> listener) {
+        if (!isEnabled()) {
+            action.accept(listener);
+            return;
+        }
+
+        deposit();
+        attempt(action, listener, 0);
+    }
+
+    /**
+     * Runs the bulk request with {@link #run(Consumer, ActionListener)} and retries the items of the response which
+     * failed with a retryable status.
+     */
+    public void bulk(BulkRequest request, BiConsumer<BulkRequest, ActionListener<BulkResponse>> executor, ActionListener<BulkResponse> listener) {
+        run(bulkListener -> executor.accept(request, bulkListener), new ActionListener<BulkResponse>() {
+            @Override
+            public void onResponse(BulkResponse bulkResponse) {
+                if (!isEnabled() || !bulkResponse.hasFailures()) {
+                    listener.onResponse(bulkResponse);
+                } else {
+                    retryItems(request, bulkResponse.getItems(), bulkResponse.getTookInMillis(), executor, listener, 0);
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable e) {
+                listener.onFailure(e);
+            }
+        });
+    }
+
+    public JsonObject getMetrics() {
+        final double currentBalance;
+        synchronized (this) {
+            currentBalance = balance;
+        }
+        return new JsonObject()
+                .put("maxRetries", maxRetries)
+                .put("budget", budget)
+                .put("balance", currentBalance)
+                .put("requests", requests.get())
+                .put("retries", retries.get())
+                .put("bulkItemRetries", bulkItemRetries.get())
+                .put("budgetExhausted", budgetExhausted.get());
+    }
+
+    private <T> void attempt(Consumer<ActionListener<T>> action, ActionListener<T> listener, int retry) {
+        action.accept(new ActionListener<T>() {
+            @Override
+            public void onResponse(T response) {
+                listener.onResponse(response);
+            }
+
+            @Override
+            public void onFailure(Throwable e) {
+                if (retry < maxRetries && isRetryable(e) && withdraw()) {
+                    retries.incrementAndGet();
+                    schedule(retry, () -> attempt(action, listener, retry + 1));
+                } else {
+                    listener.onFailure(e);
+                }
+            }
+        });
+    }
+
+    private void retryItems(BulkRequest request, BulkItemResponse[] items, long tookInMillis, BiConsumer<BulkRequest, ActionListener<BulkResponse>> executor, ActionListener<BulkResponse> listener, int retry) {
+
+        final List<Integer> retryable = new ArrayList<>();
+        for (int i = 0; i < items.length; i++) {
+            if (items[i].isFailed() && isRetryable(items[i].getFailure().getStatus())) {
+                retryable.add(i);
+            }
+        }
+
+        if (retryable.isEmpty() || retry >= maxRetries || !withdraw()) {
+            listener.onResponse(new BulkResponse(items, tookInMillis));
+            return;
+        }
+
+        retries.incrementAndGet();
+        bulkItemRetries.addAndGet(retryable.size());
+        schedule(retry, () -> {
+            final BulkRequest retryRequest = new BulkRequest()
+                    .consistencyLevel(request.consistencyLevel())
+                    .refresh(request.refresh())
+                    .timeout(request.timeout());
+            retryable.forEach(index -> retryRequest.add(request.requests().get(index)));
+
+            executor.accept(retryRequest, new ActionListener<BulkResponse>() {
+                @Override
+                public void onResponse(BulkResponse retryResponse) {
+                    final BulkItemResponse[] merged = items.clone();
+                    final BulkItemResponse[] retryItems = retryResponse.getItems();
+                    for (int i = 0; i < retryItems.length; i++) {
+                        merged[retryable.get(i)] = withItemId(retryable.get(i), retryItems[i]);
+                    }
+                    retryItems(request, merged, tookInMillis + retryResponse.getTookInMillis(), executor, listener, retry + 1);
+                }
+
+                @Override
+                public void onFailure(Throwable e) {
+                    // The items keep the failures of the previous attempt
+                    listener.onResponse(new BulkResponse(items, tookInMillis));
+                }
+            });
+        });
+    }
+
+    private void schedule(int retry, Runnable task) {
+        vertx.setTimer(delay(retry), id -> task.run());
+    }
+
+    /**
+     * Exponential backoff with equal jitter: half of the delay is fixed, the other half random.
+     */
+    long delay(int retry) {
+        final long exponential = retry >= 62 ? maxDelay : Math.min(maxDelay, initialDelay << retry);
+        final long half = Math.max(1, exponential / 2);
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    private synchronized void deposit() {
+        requests.incrementAndGet();
+        balance = Math.min(MAX_BALANCE, balance + budget);
+    }
+
+    private synchronized boolean withdraw() {
+        if (balance < 1) {
+            budgetExhausted.incrementAndGet();
+            return false;
+        }
+        balance -= 1;
+        return true;
+    }
+
+    /**
+     * Rejections of the local {@link RequestLimiter} are not retried, retrying them would only add to the load the
+     * limit is there to shed.
+     */
+    static boolean isRetryable(Throwable e) {
+        final Throwable cause = ExceptionsHelper.unwrapCause(e);
+        return !(cause instanceof RequestLimitExceededException) && isRetryable(ExceptionsHelper.status(cause));
+    }
+
+    private static boolean isRetryable(RestStatus status) {
+        return status == RestStatus.TOO_MANY_REQUESTS || status == RestStatus.SERVICE_UNAVAILABLE;
+    }
+
+    private static BulkItemResponse withItemId(int itemId, BulkItemResponse item) {
+        if (item.isFailed()) {
+            return new BulkItemResponse(itemId, item.getOpType(), item.getFailure());
+        }
+        return new BulkItemResponse(itemId, item.getOpType(), item.<ActionWriteResponse>getResponse());
+    }
+}
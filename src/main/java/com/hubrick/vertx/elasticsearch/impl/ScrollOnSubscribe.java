@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import com.hubrick.vertx.elasticsearch.ElasticSearchService;
+import com.hubrick.vertx.elasticsearch.model.Hit;
+import com.hubrick.vertx.elasticsearch.model.SearchOptions;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.streams.ReadStream;
+import rx.Observable;
+import rx.Producer;
+import rx.Subscriber;
+import rx.subscriptions.Subscriptions;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Emits all hits of a scroll search. Hits are only fetched as far as requested by the subscriber, the underlying
+ * stream is paused as soon as the requested amount was emitted. Unsubscribing clears the scroll.
+ * <p>
+ * The stream is only accessed from the Vert.x context the subscription was made on, if any.
+ */
+public class ScrollOnSubscribe implements Observable.OnSubscribe<Hit> {
+
+    private final Supplier<ReadStream<Hit>> streamFactory;
+
+    public ScrollOnSubscribe(ElasticSearchService service, List<String> indices, SearchOptions options) {
+        this(() -> service.scrollStream(indices, options));
+    }
+
+    /**
+     * @param streamFactory creates a new stream of hits for every subscription
+     */
+    public ScrollOnSubscribe(Supplier<ReadStream<Hit>> streamFactory) {
+        this.streamFactory = streamFactory;
+    }
+
+    @Override
+    public void call(Subscriber<? super Hit> subscriber) {
+
+        final Context context = Vertx.currentContext();
+        final AtomicLong requested = new AtomicLong();
+        final ReadStream<Hit> stream = streamFactory.get();
+
+        stream.pause();
+        stream.exceptionHandler(subscriber::onError);
+        stream.endHandler(v -> subscriber.onCompleted());
+        stream.handler(hit -> {
+            if (subscriber.isUnsubscribed()) {
+                return;
+            }
+            subscriber.onNext(hit);
+            if (requested.get() != Long.MAX_VALUE && requested.decrementAndGet() == 0) {
+                stream.pause();
+            }
+        });
+
+        subscriber.add(Subscriptions.create(() -> runOnContext(context, () -> stream.handler(null))));
+        subscriber.setProducer(new Producer() {
+            @Override
+            public void request(long n) {
+                if (n > 0 && addRequested(requested, n)) {
+                    runOnContext(context, stream::resume);
+                }
+            }
+        });
+    }
+
+    private static boolean addRequested(AtomicLong requested, long n) {
+        while (true) {
+            final long current = requested.get();
+            if (current == Long.MAX_VALUE) {
+                return false;
+            }
+            long next = current + n;
+            if (next < 0) {
+                next = Long.MAX_VALUE;
+            }
+            if (requested.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    private static void runOnContext(Context context, Runnable action) {
+        if (context == null || Vertx.currentContext() == context) {
+            action.run();
+        } else {
+            context.runOnContext(v -> action.run());
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import com.hubrick.vertx.elasticsearch.ElasticSearchService;
+import com.hubrick.vertx.elasticsearch.model.Hit;
+import com.hubrick.vertx.elasticsearch.model.SearchOptions;
+import com.hubrick.vertx.elasticsearch.model.SearchResponse;
+import com.hubrick.vertx.elasticsearch.model.SearchScrollOptions;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * {@link ReadStream} of all hits of a scroll search. The next page is only fetched once all hits of the current page
+ * have been handed to the handler and the stream isn't paused. The scroll is cleared when the stream ends, fails or
+ * the handler is unset.
+ */
+public class ScrollReadStream implements ReadStream<Hit> {
+
+    public static final String DEFAULT_SCROLL = "1m";
+
+    private final ElasticSearchService service;
+    private final List<String> indices;
+    private final SearchOptions options;
+    private final Deque<Hit> hits = new ArrayDeque<>();
+
+    private Handler<Hit> handler;
+    private Handler<Throwable> exceptionHandler;
+    private Handler<Void> endHandler;
+    private String scrollId;
+    private boolean started;
+    private boolean paused;
+    private boolean fetching;
+    private boolean exhausted;
+    private boolean closed;
+
+    public ScrollReadStream(ElasticSearchService service, List<String> indices, SearchOptions options) {
+        this.service = service;
+        this.indices = indices;
+        this.options = options == null ? new SearchOptions() : new SearchOptions(options);
+
+        if (this.options.getScroll() == null) this.options.setScroll(DEFAULT_SCROLL);
+        if (this.options.isRawResponse() == null) this.options.setRawResponse(false);
+    }
+
+    @Override
+    public ScrollReadStream exceptionHandler(Handler<Throwable> handler) {
+        this.exceptionHandler = handler;
+        return this;
+    }
+
+    @Override
+    public ScrollReadStream handler(Handler<Hit> handler) {
+        this.handler = handler;
+        if (handler == null) {
+            close();
+        } else {
+            started = true;
+            drain();
+        }
+        return this;
+    }
+
+    @Override
+    public ScrollReadStream pause() {
+        paused = true;
+        return this;
+    }
+
+    @Override
+    public ScrollReadStream resume() {
+        paused = false;
+        drain();
+        return this;
+    }
+
+    @Override
+    public ScrollReadStream endHandler(Handler<Void> endHandler) {
+        this.endHandler = endHandler;
+        return this;
+    }
+
+    private void drain() {
+        while (!closed && !paused && handler != null && !hits.isEmpty()) {
+            handler.handle(hits.poll());
+        }
+
+        if (closed || !started || !hits.isEmpty() || fetching) {
+            return;
+        }
+
+        if (exhausted) {
+            close();
+            if (endHandler != null) {
+                endHandler.handle(null);
+            }
+        } else if (!paused) {
+            fetch();
+        }
+    }
+
+    private void fetch() {
+        fetching = true;
+        if (scrollId == null) {
+            service.search(indices, options, this::handlePage);
+        } else {
+            final SearchScrollOptions scrollOptions = new SearchScrollOptions()
+                    .setScroll(options.getScroll())
+                    .setRawResponse(options.isRawResponse());
+            service.searchScroll(scrollId, scrollOptions, this::handlePage);
+        }
+    }
+
+    private void handlePage(AsyncResult<SearchResponse> result) {
+        fetching = false;
+        if (closed) {
+            if (result.succeeded() && result.result().getScrollId() != null) {
+                clearScroll(result.result().getScrollId());
+            }
+            return;
+        }
+
+        if (result.failed()) {
+            close();
+            if (exceptionHandler != null) {
+                exceptionHandler.handle(result.cause());
+            }
+            return;
+        }
+
+        final SearchResponse searchResponse = result.result();
+        if (searchResponse.getScrollId() != null) {
+            scrollId = searchResponse.getScrollId();
+        }
+        if (searchResponse.getHits() == null || searchResponse.getHits().getHits().isEmpty()) {
+            exhausted = true;
+        } else {
+            hits.addAll(searchResponse.getHits().getHits());
+        }
+
+        drain();
+    }
+
+    private void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        hits.clear();
+
+        if (scrollId != null) {
+            clearScroll(scrollId);
+        }
+    }
+
+    private void clearScroll(String scrollId) {
+        service.clearScroll(Collections.singletonList(scrollId), result -> {
+        });
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps track of the scroll ids issued by the service and when they were last used, so idle scrolls can be cleared
+ * before their keep alive expires and outstanding ones can be cleared on shutdown. Scrolls whose keep alive has passed
+ * are forgotten, elasticsearch has already released them.
+ */
+class ScrollRegistry {
+
+    /**
+     * Keep alive elasticsearch applies when a scroll is continued without one and it is not known from before.
+     */
+    static final long DEFAULT_KEEP_ALIVE = TimeUnit.MINUTES.toMillis(5);
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @param previousScrollId the scroll id the request was sent with, if any
+     * @param scrollId         the scroll id returned by elasticsearch
+     * @param keepAlive        the keep alive in milliseconds the request was sent with, or a negative value if none was
+     *                         given and the one of the previous scroll id applies
+     */
+    void touch(String previousScrollId, String scrollId, long keepAlive) {
+        final long now = System.currentTimeMillis();
+        removeExpired(now);
+
+        Entry previous = null;
+        if (previousScrollId != null) {
+            previous = previousScrollId.equals(scrollId) ? entries.get(previousScrollId) : entries.remove(previousScrollId);
+        }
+        if (scrollId != null) {
+            if (keepAlive < 0) {
+                keepAlive = previous != null ? previous.keepAlive : DEFAULT_KEEP_ALIVE;
+            }
+            entries.put(scrollId, new Entry(now, keepAlive));
+        }
+    }
+
+    void remove(Collection<String> scrollIds) {
+        scrollIds.forEach(entries::remove);
+    }
+
+    List<String> removeIdle(long idleTimeout) {
+        final long now = System.currentTimeMillis();
+        removeExpired(now);
+
+        final List<String> scrollIds = new ArrayList<>();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (now - entry.getValue().lastAccess > idleTimeout && entries.remove(entry.getKey(), entry.getValue())) {
+                scrollIds.add(entry.getKey());
+            }
+        }
+
+        return scrollIds;
+    }
+
+    List<String> removeAll() {
+        removeExpired(System.currentTimeMillis());
+
+        final List<String> scrollIds = new ArrayList<>(entries.keySet());
+        remove(scrollIds);
+        return scrollIds;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void removeExpired(long now) {
+        entries.entrySet().removeIf(entry -> entry.getValue().isExpired(now));
+    }
+
+    private static class Entry {
+
+        private final long lastAccess;
+        private final long keepAlive;
+
+        private Entry(long lastAccess, long keepAlive) {
+            this.lastAccess = lastAccess;
+            this.keepAlive = keepAlive;
+        }
+
+        private boolean isExpired(long now) {
+            return now - lastAccess > keepAlive;
+        }
+    }
+}
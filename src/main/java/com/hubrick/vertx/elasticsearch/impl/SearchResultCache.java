@@ -0,0 +1,139 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import com.hubrick.vertx.elasticsearch.model.SearchResponse;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Size bounded LRU cache of search responses with a per entry time to live. Responses are copied when they are cached
+ * and when they are returned, so callers may modify them.
+ */
+class SearchResultCache {
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, Entry> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    SearchResultCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > SearchResultCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    synchronized SearchResponse get(String key) {
+        final Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key);
+            misses++;
+            return null;
+        }
+        hits++;
+        return new SearchResponse(entry.response);
+    }
+
+    synchronized void put(String key, SearchResponse response, long ttl) {
+        entries.put(key, new Entry(new SearchResponse(response), System.currentTimeMillis() + ttl));
+    }
+
+    synchronized JsonObject getMetrics() {
+        return new JsonObject()
+                .put("size", entries.size())
+                .put("maxEntries", maxEntries)
+                .put("hits", hits)
+                .put("misses", misses)
+                .put("evictions", evictions);
+    }
+
+    /**
+     * Builds a key which is independent of the order of the indices and of the field order of the options.
+     */
+    static String fingerprint(List<String> indices, JsonObject options) {
+        final List<String> sortedIndices = new ArrayList<>(indices);
+        Collections.sort(sortedIndices);
+
+        return String.join(",", sortedIndices) + '|' + canonical(options);
+    }
+
+    /**
+     * Encodes the json with the fields of all objects sorted by name.
+     */
+    static String canonical(JsonObject json) {
+        final StringBuilder sb = new StringBuilder();
+        appendCanonical(sb, json);
+        return sb.toString();
+    }
+
+    private static void appendCanonical(StringBuilder sb, Object value) {
+        if (value instanceof JsonObject) {
+            final JsonObject jsonObject = (JsonObject) value;
+            final List<String> fieldNames = new ArrayList<>(jsonObject.fieldNames());
+            Collections.sort(fieldNames);
+
+            sb.append('{');
+            for (int i = 0; i < fieldNames.size(); i++) {
+                if (i > 0) sb.append(',');
+                sb.append(Json.encode(fieldNames.get(i))).append(':');
+                appendCanonical(sb, jsonObject.getValue(fieldNames.get(i)));
+            }
+            sb.append('}');
+        } else if (value instanceof JsonArray) {
+            final JsonArray jsonArray = (JsonArray) value;
+            sb.append('[');
+            for (int i = 0; i < jsonArray.size(); i++) {
+                if (i > 0) sb.append(',');
+                appendCanonical(sb, jsonArray.getValue(i));
+            }
+            sb.append(']');
+        } else {
+            sb.append(Json.encode(value));
+        }
+    }
+
+    private static class Entry {
+
+        private final SearchResponse response;
+        private final long expiresAt;
+
+        private Entry(SearchResponse response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
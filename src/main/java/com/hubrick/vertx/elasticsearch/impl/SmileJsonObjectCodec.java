@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.MessageCodec;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.XContentFactory;
+import org.elasticsearch.common.xcontent.XContentParser;
+import org.elasticsearch.common.xcontent.XContentType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Event bus codec which encodes json objects as Smile, the binary json format of elasticsearch, when they are sent
+ * to another node of the cluster.
+ */
+public class SmileJsonObjectCodec implements MessageCodec<JsonObject, JsonObject> {
+
+    public static final String NAME = "vertx-elasticsearch-smile";
+
+    /**
+     * Registers the codec unless it has been registered already.
+     */
+    public static void register(EventBus eventBus) {
+        try {
+            eventBus.registerCodec(new SmileJsonObjectCodec());
+        } catch (IllegalStateException e) {
+            // Already registered
+        }
+    }
+
+    @Override
+    public void encodeToWire(Buffer buffer, JsonObject jsonObject) {
+        if (jsonObject == null) {
+            buffer.appendInt(-1);
+            return;
+        }
+        try {
+            final XContentBuilder builder = XContentFactory.smileBuilder().map(toMap(jsonObject));
+            final byte[] bytes = builder.bytes().toBytes();
+            buffer.appendInt(bytes.length);
+            buffer.appendBytes(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public JsonObject decodeFromWire(int pos, Buffer buffer) {
+        final int length = buffer.getInt(pos);
+        if (length == -1) {
+            return null;
+        }
+        final byte[] bytes = buffer.getBytes(pos + 4, pos + 4 + length);
+        try (XContentParser parser = XContentType.SMILE.xContent().createParser(bytes)) {
+            return new JsonObject(parser.mapOrdered());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public JsonObject transform(JsonObject jsonObject) {
+        return jsonObject == null ? null : jsonObject.copy();
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte systemCodecID() {
+        return -1;
+    }
+
+    private static Map<String, Object> toMap(JsonObject jsonObject) {
+        final Map<String, Object> map = new LinkedHashMap<>();
+        jsonObject.getMap().forEach((key, value) -> map.put(key, toPlainValue(value)));
+        return map;
+    }
+
+    /**
+     * Unwraps the vert.x json types and encodes binary values the way {@link JsonObject} expects them.
+     */
+    @SuppressWarnings("unchecked")
+    private static Object toPlainValue(Object value) {
+        if (value instanceof JsonObject) {
+            return toMap((JsonObject) value);
+        } else if (value instanceof Map) {
+            return toMap(new JsonObject((Map<String, Object>) value));
+        } else if (value instanceof JsonArray || value instanceof List) {
+            final List<?> values = value instanceof JsonArray ? ((JsonArray) value).getList() : (List<?>) value;
+            final List<Object> list = new ArrayList<>(values.size());
+            values.forEach(v -> list.add(toPlainValue(v)));
+            return list;
+        } else if (value instanceof byte[]) {
+            return Base64.getEncoder().encodeToString((byte[]) value);
+        } else if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        } else if (value instanceof CharSequence) {
+            return value.toString();
+        }
+        return value;
+    }
+}
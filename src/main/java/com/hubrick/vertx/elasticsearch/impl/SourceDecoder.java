@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import com.hubrick.vertx.elasticsearch.model.GetResponse;
+import com.hubrick.vertx.elasticsearch.model.GetResult;
+import com.hubrick.vertx.elasticsearch.model.Hit;
+import com.hubrick.vertx.elasticsearch.model.SearchResponse;
+import com.hubrick.vertx.elasticsearch.model.TypedHit;
+import com.hubrick.vertx.elasticsearch.model.TypedHits;
+import io.netty.buffer.ByteBufInputStream;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Function;
+
+/**
+ * Binds the json sources of hits and get results to java types with the {@link Json#mapper} without building
+ * an intermediate {@link JsonObject}. Sources which are only available decoded are converted from their map.
+ */
+public final class SourceDecoder {
+
+    private SourceDecoder() {
+    }
+
+    public static <T> T decode(Buffer source, Class<T> type) {
+        if (source == null) {
+            return null;
+        }
+        try (InputStream inputStream = new ByteBufInputStream(source.getByteBuf())) {
+            return Json.mapper.readValue(inputStream, type);
+        } catch (IOException e) {
+            throw new DecodeException("Failed to decode source: " + e.getMessage());
+        }
+    }
+
+    public static <T> T decode(JsonObject source, Class<T> type) {
+        if (source == null) {
+            return null;
+        }
+        try {
+            return Json.mapper.convertValue(source.getMap(), type);
+        } catch (IllegalArgumentException e) {
+            throw new DecodeException("Failed to decode source: " + e.getMessage());
+        }
+    }
+
+    public static <T> TypedHits<T> decodeHits(SearchResponse searchResponse, Class<T> type) {
+        final TypedHits<T> typedHits = new TypedHits<T>()
+                .setScrollId(searchResponse.getScrollId());
+
+        if (searchResponse.getHits() != null) {
+            typedHits.setTotal(searchResponse.getHits().getTotal());
+            typedHits.setMaxScore(searchResponse.getHits().getMaxScore());
+
+            for (Hit hit : searchResponse.getHits().getHits()) {
+                typedHits.addHit(new TypedHit<T>()
+                        .setIndex(hit.getIndex())
+                        .setType(hit.getType())
+                        .setId(hit.getId())
+                        .setScore(hit.getScore())
+                        .setVersion(hit.getVersion())
+                        .setFields(hit.getFields())
+                        .setSource(hit.isSourceDecoded() ? decode(hit.getSource(), type) : decode(hit.getSourceBuffer(), type)));
+            }
+        }
+
+        return typedHits;
+    }
+
+    /**
+     * Returns {@code null} if the document does not exist.
+     */
+    public static <T> T decodeGetResponse(GetResponse getResponse, Class<T> type) {
+        if (getResponse.getResult() == null || !Boolean.TRUE.equals(getResponse.getResult().getExists())) {
+            return null;
+        }
+        final GetResult result = getResponse.getResult();
+        return result.isSourceDecoded() ? decode(result.getSource(), type) : decode(result.getSourceBuffer(), type);
+    }
+
+    /**
+     * Adapts the handler of a decoded result to a handler of the raw result, decoding failures fail the result.
+     */
+    public static <R, T> Handler<AsyncResult<R>> decoding(Handler<AsyncResult<T>> resultHandler, Function<R, T> decoder) {
+        return result -> {
+            if (result.failed()) {
+                resultHandler.handle(Future.failedFuture(result.cause()));
+                return;
+            }
+
+            final T decoded;
+            try {
+                decoded = decoder.apply(result.result());
+            } catch (DecodeException e) {
+                resultHandler.handle(Future.failedFuture(e));
+                return;
+            }
+            resultHandler.handle(Future.succeededFuture(decoded));
+        };
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import com.hubrick.vertx.elasticsearch.model.ClientSelection;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.elasticsearch.action.Action;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.ActionRequest;
+import org.elasticsearch.action.ActionRequestBuilder;
+import org.elasticsearch.action.ActionResponse;
+import org.elasticsearch.client.FilterClient;
+import org.elasticsearch.client.transport.TransportClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Client which spreads the requests over several transport clients, each with its own connections and netty workers.
+ * Requests built from the pool are executed by the client picked by the {@link ClientSelection} when they are sent.
+ * This includes admin requests, since the {@link #admin()} client of the pool executes them through the pool as well.
+ */
+public class TransportClientPool extends FilterClient {
+
+    private final List<TransportClient> clients;
+    private final ClientSelection selection;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicIntegerArray inFlight;
+    private final AtomicLongArray executed;
+
+    public TransportClientPool(List<TransportClient> clients, ClientSelection selection) {
+        super(clients.get(0));
+        this.clients = new ArrayList<>(clients);
+        this.selection = selection;
+        this.inFlight = new AtomicIntegerArray(clients.size());
+        this.executed = new AtomicLongArray(clients.size());
+    }
+
+    @Override
+    protected <Request extends ActionRequest, Response extends ActionResponse, RequestBuilder extends ActionRequestBuilder<Request, Response, RequestBuilder>> void doExecute(Action<Request, Response, RequestBuilder> action, Request request, ActionListener<Response> listener) {
+
+        final int index = select();
+        inFlight.incrementAndGet(index);
+        executed.incrementAndGet(index);
+
+        final ActionListener<Response> trackingListener = new ActionListener<Response>() {
+            @Override
+            public void onResponse(Response response) {
+                inFlight.decrementAndGet(index);
+                listener.onResponse(response);
+            }
+
+            @Override
+            public void onFailure(Throwable e) {
+                inFlight.decrementAndGet(index);
+                listener.onFailure(e);
+            }
+        };
+
+        try {
+            clients.get(index).execute(action, request, trackingListener);
+        } catch (RuntimeException e) {
+            trackingListener.onFailure(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        clients.forEach(TransportClient::close);
+    }
+
+    public List<TransportClient> getClients() {
+        return clients;
+    }
+
+    public JsonObject getMetrics() {
+        final JsonArray inFlightJson = new JsonArray();
+        final JsonArray executedJson = new JsonArray();
+        for (int i = 0; i < clients.size(); i++) {
+            inFlightJson.add(inFlight.get(i));
+            executedJson.add(executed.get(i));
+        }
+
+        return new JsonObject()
+                .put("size", clients.size())
+                .put("selection", selection.name())
+                .put("inFlight", inFlightJson)
+                .put("executed", executedJson);
+    }
+
+    private int select() {
+        final int start = Math.floorMod(next.getAndIncrement(), clients.size());
+        if (selection == ClientSelection.LEAST_IN_FLIGHT) {
+            return leastInFlight(inFlight, start);
+        }
+        return start;
+    }
+
+    /**
+     * Returns the index with the lowest count, scanning from {@code start} so equally loaded clients take turns.
+     */
+    static int leastInFlight(AtomicIntegerArray inFlight, int start) {
+        int selected = start;
+        int selectedInFlight = inFlight.get(start);
+        for (int i = 1; i < inFlight.length() && selectedInFlight > 0; i++) {
+            final int index = (start + i) % inFlight.length();
+            final int indexInFlight = inFlight.get(index);
+            if (indexInFlight < selectedInFlight) {
+                selected = index;
+                selectedInFlight = indexInFlight;
+            }
+        }
+        return selected;
+    }
+}
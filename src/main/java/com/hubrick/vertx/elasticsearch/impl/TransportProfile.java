@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Named sets of transport client settings tuned for a kind of traffic. Explicitly configured settings always take
+ * precedence over the ones of the profile.
+ */
+public enum TransportProfile {
+
+    /**
+     * Bulk ingest: compressed requests and more connections per node for bulk and regular requests. Nodes are pinged
+     * less often and may respond slowly under load.
+     */
+    THROUGHPUT("throughput", settings(
+            "transport.tcp.compress", "true",
+            "transport.connections_per_node.bulk", "6",
+            "transport.connections_per_node.reg", "12",
+            "client.transport.ping_timeout", "10s",
+            "client.transport.nodes_sampler_interval", "10s"
+    )),
+
+    /**
+     * Queries: uncompressed requests without nagling and more connections for regular requests. Unresponsive nodes
+     * are detected and removed quickly. Nagling is off by default in ES, the profile keeps it off even if
+     * {@code network.tcp.no_delay} is set to false.
+     */
+    LOW_LATENCY("low-latency", settings(
+            "transport.tcp.compress", "false",
+            "transport.netty.tcp_no_delay", "true",
+            "transport.connections_per_node.reg", "12",
+            "client.transport.ping_timeout", "2s",
+            "client.transport.nodes_sampler_interval", "2s"
+    ));
+
+    private final String profileName;
+    private final Map<String, String> settings;
+
+    TransportProfile(String profileName, Map<String, String> settings) {
+        this.profileName = profileName;
+        this.settings = settings;
+    }
+
+    public String getProfileName() {
+        return profileName;
+    }
+
+    public Map<String, String> getSettings() {
+        return settings;
+    }
+
+    public static TransportProfile fromProfileName(String profileName) {
+        for (TransportProfile profile : values()) {
+            if (profile.profileName.equals(profileName)) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown transport profile: " + profileName);
+    }
+
+    private static Map<String, String> settings(String... keyValues) {
+        final Map<String, String> settings = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            settings.put(keyValues[i], keyValues[i + 1]);
+        }
+        return Collections.unmodifiableMap(settings);
+    }
+}
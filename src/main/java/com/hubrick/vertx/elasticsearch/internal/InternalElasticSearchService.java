@@ -16,6 +16,9 @@
 package com.hubrick.vertx.elasticsearch.internal;
 
 import com.hubrick.vertx.elasticsearch.ElasticSearchService;
+import com.hubrick.vertx.elasticsearch.impl.RequestLimiter;
+import io.vertx.core.json.JsonObject;
+import org.elasticsearch.client.Client;
 import org.elasticsearch.client.transport.TransportClient;
 
 /**
@@ -24,8 +27,23 @@ import org.elasticsearch.client.transport.TransportClient;
 public interface InternalElasticSearchService extends ElasticSearchService {
 
     /**
-     * Return the inner {@link TransportClient}
+     * Return the inner {@link TransportClient}, the first one if the service uses a pool of clients
      */
     TransportClient getClient();
 
+    /**
+     * Return the {@link Client} requests are sent with, which spreads them over all clients if the service uses a pool
+     */
+    Client getPooledClient();
+
+    /**
+     * Return the {@link RequestLimiter} all requests to the cluster have to go through
+     */
+    RequestLimiter getRequestLimiter();
+
+    /**
+     * Return the metrics of the optional service features (caches etc.), keyed by feature
+     */
+    JsonObject getMetrics();
+
 }
@@ -30,7 +30,7 @@ public abstract class AbstractRawResponse<T extends AbstractRawResponse<T>> {
     }
 
     public AbstractRawResponse(AbstractRawResponse other) {
-        this.rawResponse = other.getRawResponse();
+        this.rawResponse = other.getRawResponse() == null ? null : other.getRawResponse().copy();
     }
 
     public AbstractRawResponse(JsonObject json) {
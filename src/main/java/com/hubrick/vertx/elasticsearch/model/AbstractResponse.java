@@ -30,7 +30,7 @@ public abstract class AbstractResponse<T extends AbstractResponse<T>> {
     }
 
     public AbstractResponse(AbstractResponse other) {
-        this.shards = other.getShards();
+        this.shards = other.getShards() == null ? null : new Shards(other.getShards());
     }
 
     public AbstractResponse(JsonObject json) {
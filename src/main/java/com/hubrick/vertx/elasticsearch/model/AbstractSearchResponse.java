@@ -32,7 +32,7 @@ public abstract class AbstractSearchResponse<T extends AbstractSearchResponse<T>
     public AbstractSearchResponse(AbstractSearchResponse other) {
         super(other);
 
-        this.rawResponse = other.getRawResponse();
+        this.rawResponse = other.getRawResponse() == null ? null : other.getRawResponse().copy();
     }
 
     public AbstractSearchResponse(JsonObject json) {
@@ -0,0 +1,230 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.model;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typed result of an aggregation. Depending on the kind of the aggregation only some of the properties are set:
+ * <ul>
+ * <li>single value metrics (avg, sum, cardinality, ...) set {@code value}</li>
+ * <li>multi value metrics (stats, percentiles, ...) set {@code values}</li>
+ * <li>single bucket aggregations (filter, nested, ...) set {@code docCount} and {@code aggregations}</li>
+ * <li>multi bucket aggregations (terms, histogram, ...) set {@code keys} and {@code docCounts} with one entry per
+ * bucket and {@code buckets} with the sub aggregations of every bucket if there are any</li>
+ * <li>all other aggregations set {@code raw} to the json elasticsearch renders for them</li>
+ * </ul>
+ */
+@DataObject
+public class AggregationResult {
+
+    private String type;
+    private Double value;
+    private Map<String, Double> values;
+    private Long docCount;
+    private List<Object> keys;
+    private List<Long> docCounts;
+    private List<AggregationResult> buckets;
+    private Map<String, AggregationResult> aggregations;
+    private JsonObject raw;
+
+    public static final String JSON_FIELD_TYPE = "type";
+    public static final String JSON_FIELD_VALUE = "value";
+    public static final String JSON_FIELD_VALUES = "values";
+    public static final String JSON_FIELD_DOC_COUNT = "docCount";
+    public static final String JSON_FIELD_KEYS = "keys";
+    public static final String JSON_FIELD_DOC_COUNTS = "docCounts";
+    public static final String JSON_FIELD_BUCKETS = "buckets";
+    public static final String JSON_FIELD_AGGREGATIONS = "aggregations";
+    public static final String JSON_FIELD_RAW = "raw";
+
+    public AggregationResult() {
+    }
+
+    public AggregationResult(AggregationResult other) {
+        this.type = other.getType();
+        this.value = other.getValue();
+        this.values = other.getValues();
+        this.docCount = other.getDocCount();
+        this.keys = other.getKeys();
+        this.docCounts = other.getDocCounts();
+        this.buckets = other.getBuckets();
+        this.aggregations = other.getAggregations();
+        this.raw = other.getRaw();
+    }
+
+    @SuppressWarnings("unchecked")
+    public AggregationResult(JsonObject json) {
+        this.type = json.getString(JSON_FIELD_TYPE);
+        this.value = json.getDouble(JSON_FIELD_VALUE);
+        this.docCount = json.getLong(JSON_FIELD_DOC_COUNT);
+        this.raw = json.getJsonObject(JSON_FIELD_RAW);
+
+        final JsonObject jsonValues = json.getJsonObject(JSON_FIELD_VALUES);
+        if (jsonValues != null) {
+            this.values = new LinkedHashMap<>();
+            jsonValues.fieldNames().forEach(name -> values.put(name, jsonValues.getDouble(name)));
+        }
+
+        final JsonArray jsonKeys = json.getJsonArray(JSON_FIELD_KEYS);
+        if (jsonKeys != null) {
+            this.keys = new ArrayList<>(jsonKeys.getList());
+        }
+
+        final JsonArray jsonDocCounts = json.getJsonArray(JSON_FIELD_DOC_COUNTS);
+        if (jsonDocCounts != null) {
+            this.docCounts = new ArrayList<>(jsonDocCounts.size());
+            for (int i = 0; i < jsonDocCounts.size(); i++) {
+                docCounts.add(jsonDocCounts.getLong(i));
+            }
+        }
+
+        final JsonArray jsonBuckets = json.getJsonArray(JSON_FIELD_BUCKETS);
+        if (jsonBuckets != null) {
+            this.buckets = new ArrayList<>(jsonBuckets.size());
+            for (int i = 0; i < jsonBuckets.size(); i++) {
+                buckets.add(new AggregationResult(jsonBuckets.getJsonObject(i)));
+            }
+        }
+
+        final JsonObject jsonAggregations = json.getJsonObject(JSON_FIELD_AGGREGATIONS);
+        if (jsonAggregations != null) {
+            this.aggregations = new HashMap<>();
+            jsonAggregations.fieldNames().forEach(name -> aggregations.put(name, new AggregationResult(jsonAggregations.getJsonObject(name))));
+        }
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public AggregationResult setType(String type) {
+        this.type = type;
+        return this;
+    }
+
+    public Double getValue() {
+        return value;
+    }
+
+    public AggregationResult setValue(Double value) {
+        this.value = value;
+        return this;
+    }
+
+    public Map<String, Double> getValues() {
+        return values;
+    }
+
+    public AggregationResult setValues(Map<String, Double> values) {
+        this.values = values;
+        return this;
+    }
+
+    public Long getDocCount() {
+        return docCount;
+    }
+
+    public AggregationResult setDocCount(Long docCount) {
+        this.docCount = docCount;
+        return this;
+    }
+
+    public List<Object> getKeys() {
+        return keys;
+    }
+
+    public AggregationResult setKeys(List<Object> keys) {
+        this.keys = keys;
+        return this;
+    }
+
+    public List<Long> getDocCounts() {
+        return docCounts;
+    }
+
+    public AggregationResult setDocCounts(List<Long> docCounts) {
+        this.docCounts = docCounts;
+        return this;
+    }
+
+    public List<AggregationResult> getBuckets() {
+        return buckets;
+    }
+
+    public AggregationResult setBuckets(List<AggregationResult> buckets) {
+        this.buckets = buckets;
+        return this;
+    }
+
+    public Map<String, AggregationResult> getAggregations() {
+        return aggregations;
+    }
+
+    public AggregationResult setAggregations(Map<String, AggregationResult> aggregations) {
+        this.aggregations = aggregations;
+        return this;
+    }
+
+    public JsonObject getRaw() {
+        return raw;
+    }
+
+    public AggregationResult setRaw(JsonObject raw) {
+        this.raw = raw;
+        return this;
+    }
+
+    public JsonObject toJson() {
+
+        final JsonObject json = new JsonObject();
+
+        if (type != null) json.put(JSON_FIELD_TYPE, type);
+        if (value != null) json.put(JSON_FIELD_VALUE, value);
+        if (docCount != null) json.put(JSON_FIELD_DOC_COUNT, docCount);
+        if (raw != null) json.put(JSON_FIELD_RAW, raw);
+
+        if (values != null) {
+            final JsonObject jsonValues = new JsonObject();
+            values.forEach(jsonValues::put);
+            json.put(JSON_FIELD_VALUES, jsonValues);
+        }
+        if (keys != null) json.put(JSON_FIELD_KEYS, new JsonArray(new ArrayList<>(keys)));
+        if (docCounts != null) json.put(JSON_FIELD_DOC_COUNTS, new JsonArray(new ArrayList<>(docCounts)));
+
+        if (buckets != null) {
+            final JsonArray jsonBuckets = new JsonArray();
+            buckets.forEach(bucket -> jsonBuckets.add(bucket.toJson()));
+            json.put(JSON_FIELD_BUCKETS, jsonBuckets);
+        }
+
+        if (aggregations != null) {
+            final JsonObject jsonAggregations = new JsonObject();
+            aggregations.forEach((name, aggregation) -> jsonAggregations.put(name, aggregation.toJson()));
+            json.put(JSON_FIELD_AGGREGATIONS, jsonAggregations);
+        }
+
+        return json;
+    }
+}
@@ -0,0 +1,214 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.model;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.annotations.GenIgnore;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Single index, update or delete action of a bulk request
+ */
+@DataObject
+public class BulkItem {
+
+    private Action action;
+    private String index;
+    private String type;
+    private String id;
+    private JsonObject source;
+    private IndexOptions indexOptions;
+    private UpdateOptions updateOptions;
+    private DeleteOptions deleteOptions;
+
+    public static final String FIELD_ACTION = "action";
+    public static final String FIELD_INDEX = "index";
+    public static final String FIELD_TYPE = "type";
+    public static final String FIELD_ID = "id";
+    public static final String FIELD_SOURCE = "source";
+    public static final String FIELD_INDEX_OPTIONS = "indexOptions";
+    public static final String FIELD_UPDATE_OPTIONS = "updateOptions";
+    public static final String FIELD_DELETE_OPTIONS = "deleteOptions";
+
+    public BulkItem() {
+    }
+
+    public BulkItem(BulkItem other) {
+        action = other.getAction();
+        index = other.getIndex();
+        type = other.getType();
+        id = other.getId();
+        source = other.getSource();
+        indexOptions = other.getIndexOptions();
+        updateOptions = other.getUpdateOptions();
+        deleteOptions = other.getDeleteOptions();
+    }
+
+    public BulkItem(JsonObject json) {
+        index = json.getString(FIELD_INDEX);
+        type = json.getString(FIELD_TYPE);
+        id = json.getString(FIELD_ID);
+        source = json.getJsonObject(FIELD_SOURCE);
+
+        final String s = json.getString(FIELD_ACTION);
+        if (s != null) {
+            try {
+                action = Action.valueOf(s);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Action " + s + " is not supported");
+            }
+        }
+
+        final JsonObject jsonIndexOptions = json.getJsonObject(FIELD_INDEX_OPTIONS);
+        if (jsonIndexOptions != null) {
+            indexOptions = new IndexOptions(jsonIndexOptions);
+        }
+
+        final JsonObject jsonUpdateOptions = json.getJsonObject(FIELD_UPDATE_OPTIONS);
+        if (jsonUpdateOptions != null) {
+            updateOptions = new UpdateOptions(jsonUpdateOptions);
+        }
+
+        final JsonObject jsonDeleteOptions = json.getJsonObject(FIELD_DELETE_OPTIONS);
+        if (jsonDeleteOptions != null) {
+            deleteOptions = new DeleteOptions(jsonDeleteOptions);
+        }
+    }
+
+    @GenIgnore
+    public static BulkItem index(String index, String type, JsonObject source, IndexOptions options) {
+        return new BulkItem()
+                .setAction(Action.INDEX)
+                .setIndex(index)
+                .setType(type)
+                .setSource(source)
+                .setIndexOptions(options);
+    }
+
+    @GenIgnore
+    public static BulkItem update(String index, String type, String id, UpdateOptions options) {
+        return new BulkItem()
+                .setAction(Action.UPDATE)
+                .setIndex(index)
+                .setType(type)
+                .setId(id)
+                .setUpdateOptions(options);
+    }
+
+    @GenIgnore
+    public static BulkItem delete(String index, String type, String id, DeleteOptions options) {
+        return new BulkItem()
+                .setAction(Action.DELETE)
+                .setIndex(index)
+                .setType(type)
+                .setId(id)
+                .setDeleteOptions(options);
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public BulkItem setAction(Action action) {
+        this.action = action;
+        return this;
+    }
+
+    public String getIndex() {
+        return index;
+    }
+
+    public BulkItem setIndex(String index) {
+        this.index = index;
+        return this;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public BulkItem setType(String type) {
+        this.type = type;
+        return this;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public BulkItem setId(String id) {
+        this.id = id;
+        return this;
+    }
+
+    public JsonObject getSource() {
+        return source;
+    }
+
+    public BulkItem setSource(JsonObject source) {
+        this.source = source;
+        return this;
+    }
+
+    public IndexOptions getIndexOptions() {
+        return indexOptions;
+    }
+
+    public BulkItem setIndexOptions(IndexOptions indexOptions) {
+        this.indexOptions = indexOptions;
+        return this;
+    }
+
+    public UpdateOptions getUpdateOptions() {
+        return updateOptions;
+    }
+
+    public BulkItem setUpdateOptions(UpdateOptions updateOptions) {
+        this.updateOptions = updateOptions;
+        return this;
+    }
+
+    public DeleteOptions getDeleteOptions() {
+        return deleteOptions;
+    }
+
+    public BulkItem setDeleteOptions(DeleteOptions deleteOptions) {
+        this.deleteOptions = deleteOptions;
+        return this;
+    }
+
+    public JsonObject toJson() {
+
+        final JsonObject json = new JsonObject();
+
+        if (action != null) json.put(FIELD_ACTION, action.name());
+        if (index != null) json.put(FIELD_INDEX, index);
+        if (type != null) json.put(FIELD_TYPE, type);
+        if (id != null) json.put(FIELD_ID, id);
+        if (source != null) json.put(FIELD_SOURCE, source);
+        if (indexOptions != null) json.put(FIELD_INDEX_OPTIONS, indexOptions.toJson());
+        if (updateOptions != null) json.put(FIELD_UPDATE_OPTIONS, updateOptions.toJson());
+        if (deleteOptions != null) json.put(FIELD_DELETE_OPTIONS, deleteOptions.toJson());
+
+        return json;
+    }
+
+    public enum Action {
+        INDEX,
+        UPDATE,
+        DELETE
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.model;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.elasticsearch.action.WriteConsistencyLevel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk operation options
+ */
+@DataObject
+public class BulkOptions {
+
+    private List<BulkItem> items = new ArrayList<>();
+    private Boolean refresh;
+    private WriteConsistencyLevel consistencyLevel;
+    private String timeout;
+
+    public static final String FIELD_ITEMS = "items";
+    public static final String FIELD_REFRESH = "refresh";
+    public static final String FIELD_CONSISTENCY_LEVEL = "consistencyLevel";
+    public static final String FIELD_TIMEOUT = "timeout";
+
+    public BulkOptions() {
+    }
+
+    public BulkOptions(BulkOptions other) {
+        items.addAll(other.getItems());
+        refresh = other.isRefresh();
+        consistencyLevel = other.getConsistencyLevel();
+        timeout = other.getTimeout();
+    }
+
+    public BulkOptions(JsonObject json) {
+        refresh = json.getBoolean(FIELD_REFRESH);
+        timeout = json.getString(FIELD_TIMEOUT);
+
+        final String s = json.getString(FIELD_CONSISTENCY_LEVEL);
+        if (s != null) consistencyLevel = WriteConsistencyLevel.fromString(s);
+
+        final JsonArray jsonItems = json.getJsonArray(FIELD_ITEMS);
+        if (jsonItems != null) {
+            for (int i = 0; i < jsonItems.size(); i++) {
+                items.add(new BulkItem(jsonItems.getJsonObject(i)));
+            }
+        }
+    }
+
+    public List<BulkItem> getItems() {
+        return items;
+    }
+
+    public BulkOptions addItem(BulkItem item) {
+        items.add(item);
+        return this;
+    }
+
+    public Boolean isRefresh() {
+        return refresh;
+    }
+
+    public BulkOptions setRefresh(Boolean refresh) {
+        this.refresh = refresh;
+        return this;
+    }
+
+    public WriteConsistencyLevel getConsistencyLevel() {
+        return consistencyLevel;
+    }
+
+    public BulkOptions setConsistencyLevel(WriteConsistencyLevel consistencyLevel) {
+        this.consistencyLevel = consistencyLevel;
+        return this;
+    }
+
+    public String getTimeout() {
+        return timeout;
+    }
+
+    public BulkOptions setTimeout(String timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    public JsonObject toJson() {
+
+        final JsonObject json = new JsonObject();
+
+        if (refresh != null) json.put(FIELD_REFRESH, refresh);
+        if (consistencyLevel != null) json.put(FIELD_CONSISTENCY_LEVEL, consistencyLevel.toString().toLowerCase());
+        if (timeout != null) json.put(FIELD_TIMEOUT, timeout);
+
+        if (!items.isEmpty()) {
+            final JsonArray jsonItems = new JsonArray();
+            items.forEach(item -> jsonItems.add(item.toJson()));
+            json.put(FIELD_ITEMS, jsonItems);
+        }
+
+        return json;
+    }
+
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.model;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.annotations.GenIgnore;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Bulk operation response
+ */
+@DataObject
+public class BulkResponse {
+
+    private Long took;
+    private Boolean errors;
+    private List<BulkResponseItem> items = new LinkedList<>();
+
+    public static final String JSON_FIELD_TOOK = "took";
+    public static final String JSON_FIELD_ERRORS = "errors";
+    public static final String JSON_FIELD_ITEMS = "items";
+
+    public BulkResponse() {
+    }
+
+    public BulkResponse(BulkResponse other) {
+        this.took = other.getTook();
+        this.errors = other.getErrors();
+        this.items = other.getItems();
+    }
+
+    public BulkResponse(JsonObject json) {
+        this.took = json.getLong(JSON_FIELD_TOOK);
+        this.errors = json.getBoolean(JSON_FIELD_ERRORS);
+
+        final JsonArray jsonItems = json.getJsonArray(JSON_FIELD_ITEMS);
+        if (jsonItems != null) {
+            for (int i = 0; i < jsonItems.size(); i++) {
+                items.add(new BulkResponseItem(jsonItems.getJsonObject(i)));
+            }
+        }
+    }
+
+    public Long getTook() {
+        return took;
+    }
+
+    public BulkResponse setTook(Long took) {
+        this.took = took;
+        return this;
+    }
+
+    public Boolean getErrors() {
+        return errors;
+    }
+
+    public BulkResponse setErrors(Boolean errors) {
+        this.errors = errors;
+        return this;
+    }
+
+    public List<BulkResponseItem> getItems() {
+        return items;
+    }
+
+    public BulkResponse setItems(List<BulkResponseItem> items) {
+        this.items = items;
+        return this;
+    }
+
+    @GenIgnore
+    public BulkResponse addItem(BulkResponseItem item) {
+        items.add(item);
+        return this;
+    }
+
+    public JsonObject toJson() {
+
+        final JsonObject json = new JsonObject();
+
+        if (took != null) json.put(JSON_FIELD_TOOK, took);
+        if (errors != null) json.put(JSON_FIELD_ERRORS, errors);
+        if (!items.isEmpty()) {
+            final JsonArray jsonItems = new JsonArray();
+            items.forEach(item -> jsonItems.add(item.toJson()));
+            json.put(JSON_FIELD_ITEMS, jsonItems);
+        }
+
+        return json;
+    }
+}
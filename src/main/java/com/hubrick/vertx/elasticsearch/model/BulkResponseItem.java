@@ -0,0 +1,151 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.model;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.annotations.GenIgnore;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Result of a single action of a bulk request
+ */
+@DataObject
+public class BulkResponseItem {
+
+    private BulkItem.Action action;
+    private String index;
+    private String type;
+    private String id;
+    private Long version;
+    private Integer status;
+    private String failure;
+
+    public static final String JSON_FIELD_ACTION = "action";
+    public static final String JSON_FIELD_INDEX = "index";
+    public static final String JSON_FIELD_TYPE = "type";
+    public static final String JSON_FIELD_ID = "id";
+    public static final String JSON_FIELD_VERSION = "version";
+    public static final String JSON_FIELD_STATUS = "status";
+    public static final String JSON_FIELD_FAILURE = "failure";
+
+    public BulkResponseItem() {
+    }
+
+    public BulkResponseItem(BulkResponseItem other) {
+        this.action = other.getAction();
+        this.index = other.getIndex();
+        this.type = other.getType();
+        this.id = other.getId();
+        this.version = other.getVersion();
+        this.status = other.getStatus();
+        this.failure = other.getFailure();
+    }
+
+    public BulkResponseItem(JsonObject json) {
+        this.index = json.getString(JSON_FIELD_INDEX);
+        this.type = json.getString(JSON_FIELD_TYPE);
+        this.id = json.getString(JSON_FIELD_ID);
+        this.version = json.getLong(JSON_FIELD_VERSION);
+        this.status = json.getInteger(JSON_FIELD_STATUS);
+        this.failure = json.getString(JSON_FIELD_FAILURE);
+
+        final String s = json.getString(JSON_FIELD_ACTION);
+        if (s != null) this.action = BulkItem.Action.valueOf(s);
+    }
+
+    public BulkItem.Action getAction() {
+        return action;
+    }
+
+    public BulkResponseItem setAction(BulkItem.Action action) {
+        this.action = action;
+        return this;
+    }
+
+    public String getIndex() {
+        return index;
+    }
+
+    public BulkResponseItem setIndex(String index) {
+        this.index = index;
+        return this;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public BulkResponseItem setType(String type) {
+        this.type = type;
+        return this;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public BulkResponseItem setId(String id) {
+        this.id = id;
+        return this;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public BulkResponseItem setVersion(Long version) {
+        this.version = version;
+        return this;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public BulkResponseItem setStatus(Integer status) {
+        this.status = status;
+        return this;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    public BulkResponseItem setFailure(String failure) {
+        this.failure = failure;
+        return this;
+    }
+
+    @GenIgnore
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    public JsonObject toJson() {
+
+        final JsonObject json = new JsonObject();
+
+        if (action != null) json.put(JSON_FIELD_ACTION, action.name());
+        if (index != null) json.put(JSON_FIELD_INDEX, index);
+        if (type != null) json.put(JSON_FIELD_TYPE, type);
+        if (id != null) json.put(JSON_FIELD_ID, id);
+        if (version != null) json.put(JSON_FIELD_VERSION, version);
+        if (status != null) json.put(JSON_FIELD_STATUS, status);
+        if (failure != null) json.put(JSON_FIELD_FAILURE, failure);
+
+        return json;
+    }
+}
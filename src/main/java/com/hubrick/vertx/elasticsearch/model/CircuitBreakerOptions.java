@@ -0,0 +1,168 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.model;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Thresholds of the circuit breaker of one {@link OperationClass}
+ */
+@DataObject
+public class CircuitBreakerOptions {
+
+    private double failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+    private double slowCallRateThreshold = DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+    private long slowCallDuration = DEFAULT_SLOW_CALL_DURATION;
+    private int minimumCalls = DEFAULT_MINIMUM_CALLS;
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+    private long openDuration = DEFAULT_OPEN_DURATION;
+    private int halfOpenCalls = DEFAULT_HALF_OPEN_CALLS;
+
+    public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+    public static final double DEFAULT_SLOW_CALL_RATE_THRESHOLD = 1.0;
+    public static final long DEFAULT_SLOW_CALL_DURATION = 10000;
+    public static final int DEFAULT_MINIMUM_CALLS = 20;
+    public static final int DEFAULT_WINDOW_SIZE = 100;
+    public static final long DEFAULT_OPEN_DURATION = 30000;
+    public static final int DEFAULT_HALF_OPEN_CALLS = 5;
+
+    public static final String JSON_FIELD_FAILURE_RATE_THRESHOLD = "failureRateThreshold";
+    public static final String JSON_FIELD_SLOW_CALL_RATE_THRESHOLD = "slowCallRateThreshold";
+    public static final String JSON_FIELD_SLOW_CALL_DURATION = "slowCallDuration";
+    public static final String JSON_FIELD_MINIMUM_CALLS = "minimumCalls";
+    public static final String JSON_FIELD_WINDOW_SIZE = "windowSize";
+    public static final String JSON_FIELD_OPEN_DURATION = "openDuration";
+    public static final String JSON_FIELD_HALF_OPEN_CALLS = "halfOpenCalls";
+
+    public CircuitBreakerOptions() {
+    }
+
+    public CircuitBreakerOptions(CircuitBreakerOptions other) {
+        failureRateThreshold = other.getFailureRateThreshold();
+        slowCallRateThreshold = other.getSlowCallRateThreshold();
+        slowCallDuration = other.getSlowCallDuration();
+        minimumCalls = other.getMinimumCalls();
+        windowSize = other.getWindowSize();
+        openDuration = other.getOpenDuration();
+        halfOpenCalls = other.getHalfOpenCalls();
+    }
+
+    public CircuitBreakerOptions(JsonObject json) {
+        failureRateThreshold = json.getDouble(JSON_FIELD_FAILURE_RATE_THRESHOLD, DEFAULT_FAILURE_RATE_THRESHOLD);
+        slowCallRateThreshold = json.getDouble(JSON_FIELD_SLOW_CALL_RATE_THRESHOLD, DEFAULT_SLOW_CALL_RATE_THRESHOLD);
+        slowCallDuration = json.getLong(JSON_FIELD_SLOW_CALL_DURATION, DEFAULT_SLOW_CALL_DURATION);
+        minimumCalls = json.getInteger(JSON_FIELD_MINIMUM_CALLS, DEFAULT_MINIMUM_CALLS);
+        windowSize = json.getInteger(JSON_FIELD_WINDOW_SIZE, DEFAULT_WINDOW_SIZE);
+        openDuration = json.getLong(JSON_FIELD_OPEN_DURATION, DEFAULT_OPEN_DURATION);
+        halfOpenCalls = json.getInteger(JSON_FIELD_HALF_OPEN_CALLS, DEFAULT_HALF_OPEN_CALLS);
+    }
+
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    /**
+     * The share of failed calls in the window at which the breaker opens
+     */
+    public CircuitBreakerOptions setFailureRateThreshold(double failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+        return this;
+    }
+
+    public double getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    /**
+     * The share of slow calls in the window at which the breaker opens
+     */
+    public CircuitBreakerOptions setSlowCallRateThreshold(double slowCallRateThreshold) {
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        return this;
+    }
+
+    public long getSlowCallDuration() {
+        return slowCallDuration;
+    }
+
+    /**
+     * Calls taking at least this many milliseconds are slow
+     */
+    public CircuitBreakerOptions setSlowCallDuration(long slowCallDuration) {
+        this.slowCallDuration = slowCallDuration;
+        return this;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    /**
+     * The number of calls in the window before the rates are evaluated
+     */
+    public CircuitBreakerOptions setMinimumCalls(int minimumCalls) {
+        this.minimumCalls = minimumCalls;
+        return this;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * The number of most recent calls the rates are calculated from
+     */
+    public CircuitBreakerOptions setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+        return this;
+    }
+
+    public long getOpenDuration() {
+        return openDuration;
+    }
+
+    /**
+     * How many milliseconds the breaker stays open before it lets probe calls through
+     */
+    public CircuitBreakerOptions setOpenDuration(long openDuration) {
+        this.openDuration = openDuration;
+        return this;
+    }
+
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    /**
+     * The number of probe calls which decide whether the breaker closes or opens again
+     */
+    public CircuitBreakerOptions setHalfOpenCalls(int halfOpenCalls) {
+        this.halfOpenCalls = halfOpenCalls;
+        return this;
+    }
+
+    public JsonObject toJson() {
+        return new JsonObject()
+                .put(JSON_FIELD_FAILURE_RATE_THRESHOLD, failureRateThreshold)
+                .put(JSON_FIELD_SLOW_CALL_RATE_THRESHOLD, slowCallRateThreshold)
+                .put(JSON_FIELD_SLOW_CALL_DURATION, slowCallDuration)
+                .put(JSON_FIELD_MINIMUM_CALLS, minimumCalls)
+                .put(JSON_FIELD_WINDOW_SIZE, windowSize)
+                .put(JSON_FIELD_OPEN_DURATION, openDuration)
+                .put(JSON_FIELD_HALF_OPEN_CALLS, halfOpenCalls);
+    }
+}
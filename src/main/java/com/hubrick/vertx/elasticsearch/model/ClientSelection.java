@@ -0,0 +1,30 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.model;
+
+/**
+ * How requests are spread over the transport clients of a pool
+ */
+public enum ClientSelection {
+    /**
+     * Every client in turn
+     */
+    ROUND_ROBIN,
+    /**
+     * The client with the fewest requests in flight, ties are broken round robin
+     */
+    LEAST_IN_FLIGHT
+}
@@ -31,10 +31,12 @@ public class DeleteByQueryOptions {
     private List<String> types = new ArrayList<>();
     private String timeout;
     private String routing;
+    private Boolean rawResponse;
 
     public static final String JSON_FIELD_TYPES = "types";
     public static final String JSON_FIELD_TIMEOUT = "timeout";
     public static final String JSON_FIELD_ROUTING = "routing";
+    public static final String JSON_FIELD_RAW_RESPONSE = "rawResponse";
 
     public DeleteByQueryOptions() {
     }
@@ -43,12 +45,14 @@ public class DeleteByQueryOptions {
         types = other.getTypes();
         timeout = other.getTimeout();
         routing = other.getRouting();
+        rawResponse = other.isRawResponse();
     }
 
     public DeleteByQueryOptions(JsonObject json) {
         types = json.getJsonArray(JSON_FIELD_TYPES, new JsonArray()).getList();
         timeout = json.getString(JSON_FIELD_TIMEOUT);
         routing = json.getString(JSON_FIELD_ROUTING);
+        rawResponse = json.getBoolean(JSON_FIELD_RAW_RESPONSE);
     }
 
     public List<String> getTypes() {
@@ -78,6 +82,18 @@ public class DeleteByQueryOptions {
         return this;
     }
 
+    /**
+     * Whether the response should also contain the raw ES response. Falls back to the configured default if not set.
+     */
+    public Boolean isRawResponse() {
+        return rawResponse;
+    }
+
+    public DeleteByQueryOptions setRawResponse(Boolean rawResponse) {
+        this.rawResponse = rawResponse;
+        return this;
+    }
+
     public JsonObject toJson() {
 
         JsonObject json = new JsonObject();
@@ -85,6 +101,7 @@ public class DeleteByQueryOptions {
         if (!types.isEmpty()) json.put(JSON_FIELD_TYPES, new JsonArray(types));
         if (timeout != null) json.put(JSON_FIELD_TIMEOUT, timeout);
         if (routing != null) json.put(JSON_FIELD_ROUTING, routing);
+        if (rawResponse != null) json.put(JSON_FIELD_RAW_RESPONSE, rawResponse);
 
         return json;
     }
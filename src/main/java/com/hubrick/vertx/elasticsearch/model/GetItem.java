@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.model;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Single document lookup of a multi get request
+ */
+@DataObject
+public class GetItem {
+
+    private String index;
+    private String type;
+    private String id;
+    private GetOptions options;
+
+    public static final String FIELD_INDEX = "index";
+    public static final String FIELD_TYPE = "type";
+    public static final String FIELD_ID = "id";
+    public static final String FIELD_OPTIONS = "options";
+
+    public GetItem() {
+    }
+
+    public GetItem(String index, String type, String id) {
+        this.index = index;
+        this.type = type;
+        this.id = id;
+    }
+
+    public GetItem(GetItem other) {
+        index = other.getIndex();
+        type = other.getType();
+        id = other.getId();
+        options = other.getOptions();
+    }
+
+    public GetItem(JsonObject json) {
+        index = json.getString(FIELD_INDEX);
+        type = json.getString(FIELD_TYPE);
+        id = json.getString(FIELD_ID);
+
+        final JsonObject jsonOptions = json.getJsonObject(FIELD_OPTIONS);
+        if (jsonOptions != null) options = new GetOptions(jsonOptions);
+    }
+
+    public String getIndex() {
+        return index;
+    }
+
+    public GetItem setIndex(String index) {
+        this.index = index;
+        return this;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public GetItem setType(String type) {
+        this.type = type;
+        return this;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public GetItem setId(String id) {
+        this.id = id;
+        return this;
+    }
+
+    /**
+     * Per item options. Only routing, parent, version, version type, fields and source filtering are applied per item.
+     */
+    public GetOptions getOptions() {
+        return options;
+    }
+
+    public GetItem setOptions(GetOptions options) {
+        this.options = options;
+        return this;
+    }
+
+    public JsonObject toJson() {
+
+        final JsonObject json = new JsonObject();
+
+        if (index != null) json.put(FIELD_INDEX, index);
+        if (type != null) json.put(FIELD_TYPE, type);
+        if (id != null) json.put(FIELD_ID, id);
+        if (options != null) json.put(FIELD_OPTIONS, options.toJson());
+
+        return json;
+    }
+}
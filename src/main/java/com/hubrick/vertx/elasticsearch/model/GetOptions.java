@@ -36,6 +36,8 @@ public class GetOptions extends AbstractOptions<GetOptions> {
     private Boolean transformSource;
     private Boolean realtime;
     private Boolean ignoreErrorsOnGeneratedFields;
+    private Boolean rawResponse;
+    private String sessionKey;
 
     public static final String FIELD_PREFERENCE = "preference";
     public static final String FIELD_FIELDS = "fields";
@@ -45,6 +47,8 @@ public class GetOptions extends AbstractOptions<GetOptions> {
     public static final String FIELD_TRANSFORM_SOURCE = "transformSource";
     public static final String FIELD_REALTIME = "realtime";
     public static final String FIELD_IGNORE_ERROR_ON_GENERATED_FIELDS = "ignoreErrorsOnGeneratedFields";
+    public static final String FIELD_RAW_RESPONSE = "rawResponse";
+    public static final String FIELD_SESSION_KEY = "sessionKey";
 
     public GetOptions() {
     }
@@ -60,6 +64,8 @@ public class GetOptions extends AbstractOptions<GetOptions> {
         transformSource = other.isTransformSource();
         realtime = other.isRealtime();
         ignoreErrorsOnGeneratedFields = other.isIgnoreErrorsOnGeneratedFields();
+        rawResponse = other.isRawResponse();
+        sessionKey = other.getSessionKey();
     }
 
     public GetOptions(JsonObject json) {
@@ -73,6 +79,8 @@ public class GetOptions extends AbstractOptions<GetOptions> {
         transformSource = json.getBoolean(FIELD_TRANSFORM_SOURCE);
         realtime = json.getBoolean(FIELD_REALTIME);
         ignoreErrorsOnGeneratedFields = json.getBoolean(FIELD_IGNORE_ERROR_ON_GENERATED_FIELDS);
+        rawResponse = json.getBoolean(FIELD_RAW_RESPONSE);
+        sessionKey = json.getString(FIELD_SESSION_KEY);
 
     }
 
@@ -152,6 +160,31 @@ public class GetOptions extends AbstractOptions<GetOptions> {
         return this;
     }
 
+    /**
+     * Whether the response should also contain the raw ES response. Falls back to the configured default if not set.
+     */
+    public Boolean isRawResponse() {
+        return rawResponse;
+    }
+
+    public GetOptions setRawResponse(Boolean rawResponse) {
+        this.rawResponse = rawResponse;
+        return this;
+    }
+
+    /**
+     * A stable key of the caller like a user or tenant id. With session affinity enabled it is turned into a
+     * {@code preference} if none is set, so the requests of a session hit the same shard copies and their caches.
+     */
+    public String getSessionKey() {
+        return sessionKey;
+    }
+
+    public GetOptions setSessionKey(String sessionKey) {
+        this.sessionKey = sessionKey;
+        return this;
+    }
+
     @Override
     public JsonObject toJson() {
         JsonObject json = super.toJson();
@@ -164,6 +197,8 @@ public class GetOptions extends AbstractOptions<GetOptions> {
         if (isTransformSource() != null) json.put(FIELD_TRANSFORM_SOURCE, isTransformSource());
         if (isRealtime() != null) json.put(FIELD_REALTIME, isRealtime());
         if (isIgnoreErrorsOnGeneratedFields() != null) json.put(FIELD_IGNORE_ERROR_ON_GENERATED_FIELDS, isIgnoreErrorsOnGeneratedFields());
+        if (isRawResponse() != null) json.put(FIELD_RAW_RESPONSE, isRawResponse());
+        if (getSessionKey() != null) json.put(FIELD_SESSION_KEY, getSessionKey());
 
         return json;
     }
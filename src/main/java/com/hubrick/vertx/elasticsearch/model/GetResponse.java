@@ -31,7 +31,7 @@ public class GetResponse extends AbstractRawResponse<GetResponse> {
     public GetResponse(GetResponse other) {
         super(other);
 
-        this.result = other.getResult();
+        this.result = other.getResult() == null ? null : new GetResult(other.getResult());
     }
 
     public GetResponse(JsonObject json) {
@@ -16,6 +16,8 @@
 package com.hubrick.vertx.elasticsearch.model;
 
 import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.annotations.GenIgnore;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
@@ -36,7 +38,8 @@ public class Hit {
     private String id;
     private Float score;
     private Long version;
-    private JsonObject source;
+    private volatile JsonObject source;
+    private volatile Buffer sourceBuffer;
     private Map<String, List<Object>> fields = new HashMap<>();
 
     public static final String JSON_FIELD_INDEX = "index";
@@ -56,9 +59,17 @@ public class Hit {
         this.id = other.getId();
         this.score = other.getScore();
         this.version = other.getVersion();
-        this.source = other.getSource();
-        this.fields = other.getFields();
-
+        // Copied, so instances handed out by the caches can be modified without affecting other callers
+        final JsonObject otherSource = other.source;
+        if (otherSource != null) {
+            this.source = otherSource.copy();
+        } else {
+            final Buffer otherSourceBuffer = other.sourceBuffer;
+            this.sourceBuffer = otherSourceBuffer == null ? null : otherSourceBuffer.copy();
+        }
+        if (other.getFields() != null) {
+            other.getFields().forEach((name, values) -> this.fields.put(name, new LinkedList<>(values)));
+        }
     }
 
     public Hit(JsonObject jsonObject) {
@@ -124,12 +135,58 @@ public class Hit {
         return this;
     }
 
+    /**
+     * Returns the source, decoding it from the json source buffer on first access. Decoding is only deferred within the
+     * JVM, e.g. with the local binding, since {@link #toJson()} always includes the decoded source.
+     */
     public JsonObject getSource() {
-        return source;
+        // Instances may be shared between threads (e.g. by the caches), so the source is only published once decoded
+        JsonObject decodedSource = source;
+        if (decodedSource == null) {
+            final Buffer buffer = sourceBuffer;
+            if (buffer != null) {
+                decodedSource = new JsonObject(buffer.toString());
+                source = decodedSource;
+            }
+        }
+        return decodedSource;
     }
 
     public Hit setSource(JsonObject source) {
         this.source = source;
+        this.sourceBuffer = null;
+        return this;
+    }
+
+    /**
+     * Returns the source as encoded json without decoding it. A source which has been decoded already is encoded
+     * again since it might have been modified. The buffer is only kept in memory, on the wire the source is always
+     * sent as json.
+     */
+    @GenIgnore
+    public Buffer getSourceBuffer() {
+        if (source != null) {
+            return Buffer.buffer(source.encode());
+        }
+        return sourceBuffer;
+    }
+
+    /**
+     * Whether the source is only available as a {@link JsonObject}, e.g. because it has been read already or the
+     * instance has been created from json, so {@link #getSourceBuffer()} would have to encode it.
+     */
+    @GenIgnore
+    public boolean isSourceDecoded() {
+        return source != null || sourceBuffer == null;
+    }
+
+    /**
+     * Sets the encoded json source which is only decoded when {@link #getSource()} is called.
+     */
+    @GenIgnore
+    public Hit setSourceBuffer(Buffer sourceBuffer) {
+        this.sourceBuffer = sourceBuffer;
+        this.source = null;
         return this;
     }
 
@@ -151,7 +208,8 @@ public class Hit {
         if (id != null) json.put(JSON_FIELD_ID, id);
         if (score != null) json.put(JSON_FIELD_SCORE, score);
         if (version != null) json.put(JSON_FIELD_VERSION, version);
-        if (source != null) json.put(JSON_FIELD_SOURCE, source);
+        final JsonObject decodedSource = getSource();
+        if (decodedSource != null) json.put(JSON_FIELD_SOURCE, decodedSource);
 
         if (!fields.isEmpty()) {
             final JsonObject jsonFields = new JsonObject();
@@ -42,7 +42,9 @@ public class Hits {
     public Hits(Hits other) {
         this.total = other.getTotal();
         this.maxScore = other.getMaxScore();
-        this.hits = other.getHits();
+        if (other.getHits() != null) {
+            other.getHits().forEach(hit -> this.hits.add(new Hit(hit)));
+        }
     }
 
     public Hits(JsonObject jsonObject) {
@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.model;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Multi get operation options
+ */
+@DataObject
+public class MultiGetOptions {
+
+    private List<GetItem> items = new ArrayList<>();
+    private String preference;
+    private Boolean refresh;
+    private Boolean realtime;
+
+    public static final String FIELD_ITEMS = "items";
+    public static final String FIELD_PREFERENCE = "preference";
+    public static final String FIELD_REFRESH = "refresh";
+    public static final String FIELD_REALTIME = "realtime";
+
+    public MultiGetOptions() {
+    }
+
+    public MultiGetOptions(MultiGetOptions other) {
+        items.addAll(other.getItems());
+        preference = other.getPreference();
+        refresh = other.isRefresh();
+        realtime = other.isRealtime();
+    }
+
+    public MultiGetOptions(JsonObject json) {
+        preference = json.getString(FIELD_PREFERENCE);
+        refresh = json.getBoolean(FIELD_REFRESH);
+        realtime = json.getBoolean(FIELD_REALTIME);
+
+        final JsonArray jsonItems = json.getJsonArray(FIELD_ITEMS);
+        if (jsonItems != null) {
+            for (int i = 0; i < jsonItems.size(); i++) {
+                items.add(new GetItem(jsonItems.getJsonObject(i)));
+            }
+        }
+    }
+
+    public List<GetItem> getItems() {
+        return items;
+    }
+
+    public MultiGetOptions addItem(GetItem item) {
+        items.add(item);
+        return this;
+    }
+
+    public String getPreference() {
+        return preference;
+    }
+
+    public MultiGetOptions setPreference(String preference) {
+        this.preference = preference;
+        return this;
+    }
+
+    public Boolean isRefresh() {
+        return refresh;
+    }
+
+    public MultiGetOptions setRefresh(Boolean refresh) {
+        this.refresh = refresh;
+        return this;
+    }
+
+    public Boolean isRealtime() {
+        return realtime;
+    }
+
+    public MultiGetOptions setRealtime(Boolean realtime) {
+        this.realtime = realtime;
+        return this;
+    }
+
+    public JsonObject toJson() {
+
+        final JsonObject json = new JsonObject();
+
+        if (preference != null) json.put(FIELD_PREFERENCE, preference);
+        if (refresh != null) json.put(FIELD_REFRESH, refresh);
+        if (realtime != null) json.put(FIELD_REALTIME, realtime);
+
+        if (!items.isEmpty()) {
+            final JsonArray jsonItems = new JsonArray();
+            items.forEach(item -> jsonItems.add(item.toJson()));
+            json.put(FIELD_ITEMS, jsonItems);
+        }
+
+        return json;
+    }
+
+}
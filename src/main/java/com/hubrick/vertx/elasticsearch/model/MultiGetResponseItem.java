@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.model;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.annotations.GenIgnore;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Result of a single document lookup of a multi get request
+ */
+@DataObject
+public class MultiGetResponseItem {
+
+    private String index;
+    private String type;
+    private String id;
+    private GetResult result;
+    private String failure;
+
+    public static final String JSON_FIELD_INDEX = "index";
+    public static final String JSON_FIELD_TYPE = "type";
+    public static final String JSON_FIELD_ID = "id";
+    public static final String JSON_FIELD_RESULT = "result";
+    public static final String JSON_FIELD_FAILURE = "failure";
+
+    public MultiGetResponseItem() {
+    }
+
+    public MultiGetResponseItem(MultiGetResponseItem other) {
+        this.index = other.getIndex();
+        this.type = other.getType();
+        this.id = other.getId();
+        this.result = other.getResult();
+        this.failure = other.getFailure();
+    }
+
+    public MultiGetResponseItem(JsonObject json) {
+        this.index = json.getString(JSON_FIELD_INDEX);
+        this.type = json.getString(JSON_FIELD_TYPE);
+        this.id = json.getString(JSON_FIELD_ID);
+        this.failure = json.getString(JSON_FIELD_FAILURE);
+
+        final JsonObject jsonResult = json.getJsonObject(JSON_FIELD_RESULT);
+        if (jsonResult != null) {
+            this.result = new GetResult(jsonResult);
+        }
+    }
+
+    public String getIndex() {
+        return index;
+    }
+
+    public MultiGetResponseItem setIndex(String index) {
+        this.index = index;
+        return this;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public MultiGetResponseItem setType(String type) {
+        this.type = type;
+        return this;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public MultiGetResponseItem setId(String id) {
+        this.id = id;
+        return this;
+    }
+
+    public GetResult getResult() {
+        return result;
+    }
+
+    public MultiGetResponseItem setResult(GetResult result) {
+        this.result = result;
+        return this;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    public MultiGetResponseItem setFailure(String failure) {
+        this.failure = failure;
+        return this;
+    }
+
+    @GenIgnore
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    public JsonObject toJson() {
+
+        final JsonObject json = new JsonObject();
+
+        if (index != null) json.put(JSON_FIELD_INDEX, index);
+        if (type != null) json.put(JSON_FIELD_TYPE, type);
+        if (id != null) json.put(JSON_FIELD_ID, id);
+        if (result != null) json.put(JSON_FIELD_RESULT, result.toJson());
+        if (failure != null) json.put(JSON_FIELD_FAILURE, failure);
+
+        return json;
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.model;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Multi search operation options
+ */
+@DataObject
+public class MultiSearchOptions {
+
+    private List<SearchRequestItem> items = new ArrayList<>();
+
+    public static final String FIELD_ITEMS = "items";
+
+    public MultiSearchOptions() {
+    }
+
+    public MultiSearchOptions(MultiSearchOptions other) {
+        items.addAll(other.getItems());
+    }
+
+    public MultiSearchOptions(JsonObject json) {
+        final JsonArray jsonItems = json.getJsonArray(FIELD_ITEMS);
+        if (jsonItems != null) {
+            for (int i = 0; i < jsonItems.size(); i++) {
+                items.add(new SearchRequestItem(jsonItems.getJsonObject(i)));
+            }
+        }
+    }
+
+    public List<SearchRequestItem> getItems() {
+        return items;
+    }
+
+    public MultiSearchOptions addItem(SearchRequestItem item) {
+        items.add(item);
+        return this;
+    }
+
+    public JsonObject toJson() {
+
+        final JsonObject json = new JsonObject();
+
+        if (!items.isEmpty()) {
+            final JsonArray jsonItems = new JsonArray();
+            items.forEach(item -> jsonItems.add(item.toJson()));
+            json.put(FIELD_ITEMS, jsonItems);
+        }
+
+        return json;
+    }
+
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.model;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.annotations.GenIgnore;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Result of a single search of a multi search request
+ */
+@DataObject
+public class MultiSearchResponseItem {
+
+    private SearchResponse response;
+    private String failure;
+
+    public static final String JSON_FIELD_RESPONSE = "response";
+    public static final String JSON_FIELD_FAILURE = "failure";
+
+    public MultiSearchResponseItem() {
+    }
+
+    public MultiSearchResponseItem(MultiSearchResponseItem other) {
+        this.response = other.getResponse();
+        this.failure = other.getFailure();
+    }
+
+    public MultiSearchResponseItem(JsonObject json) {
+        this.failure = json.getString(JSON_FIELD_FAILURE);
+
+        final JsonObject jsonResponse = json.getJsonObject(JSON_FIELD_RESPONSE);
+        if (jsonResponse != null) {
+            this.response = new SearchResponse(jsonResponse);
+        }
+    }
+
+    public SearchResponse getResponse() {
+        return response;
+    }
+
+    public MultiSearchResponseItem setResponse(SearchResponse response) {
+        this.response = response;
+        return this;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    public MultiSearchResponseItem setFailure(String failure) {
+        this.failure = failure;
+        return this;
+    }
+
+    @GenIgnore
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    public JsonObject toJson() {
+
+        final JsonObject json = new JsonObject();
+
+        if (response != null) json.put(JSON_FIELD_RESPONSE, response.toJson());
+        if (failure != null) json.put(JSON_FIELD_FAILURE, failure);
+
+        return json;
+    }
+}
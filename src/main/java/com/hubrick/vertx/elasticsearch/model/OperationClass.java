@@ -0,0 +1,34 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.model;
+
+/**
+ * Classes of operations which are limited, measured and protected independently of each other
+ */
+public enum OperationClass {
+    /**
+     * get, multi get, search, scroll, multi search and suggest
+     */
+    SEARCH,
+    /**
+     * index, update, delete, bulk and delete by query
+     */
+    WRITE,
+    /**
+     * mapping and cluster requests
+     */
+    ADMIN
+}
@@ -60,6 +60,10 @@ public class SearchOptions {
     private ScriptService.ScriptType templateType;
     private JsonObject templateParams;
     private Map<String, ScriptFieldOption> scriptFields = new HashMap<>();
+    private Boolean rawResponse;
+    private Boolean typedAggregations;
+    private Long cacheTtl;
+    private String sessionKey;
 
     public static final String JSON_FIELD_TYPES = "types";
     public static final String JSON_FIELD_SEARCH_TYPE = "searchType";
@@ -85,6 +89,10 @@ public class SearchOptions {
     public static final String JSON_FIELD_TEMPLATE_TYPE = "templateType";
     public static final String JSON_FIELD_TEMPLATE_PARAMS = "templateParams";
     public static final String JSON_FIELD_SCRIPT_FIELDS = "scriptFields";
+    public static final String JSON_FIELD_RAW_RESPONSE = "rawResponse";
+    public static final String JSON_FIELD_TYPED_AGGREGATIONS = "typedAggregations";
+    public static final String JSON_FIELD_CACHE_TTL = "cacheTtl";
+    public static final String JSON_FIELD_SESSION_KEY = "sessionKey";
 
     public SearchOptions() {
     }
@@ -114,6 +122,10 @@ public class SearchOptions {
         templateType = other.getTemplateType();
         templateParams = other.getTemplateParams();
         scriptFields = other.scriptFields;
+        rawResponse = other.isRawResponse();
+        typedAggregations = other.isTypedAggregations();
+        cacheTtl = other.getCacheTtl();
+        sessionKey = other.getSessionKey();
     }
 
     public SearchOptions(JsonObject json) {
@@ -137,6 +149,10 @@ public class SearchOptions {
         aggregations = json.getJsonObject(JSON_FIELD_AGGREGATIONS);
         extraSource = json.getJsonObject(JSON_FIELD_EXTRA_SOURCE);
         templateName = json.getString(JSON_FIELD_TEMPLATE_NAME);
+        rawResponse = json.getBoolean(JSON_FIELD_RAW_RESPONSE);
+        typedAggregations = json.getBoolean(JSON_FIELD_TYPED_AGGREGATIONS);
+        cacheTtl = json.getLong(JSON_FIELD_CACHE_TTL);
+        sessionKey = json.getString(JSON_FIELD_SESSION_KEY);
 
         String s = json.getString(JSON_FIELD_TEMPLATE_TYPE);
         if (!Strings.isNullOrEmpty(s)) {
@@ -400,6 +416,57 @@ public class SearchOptions {
         return this;
     }
 
+    /**
+     * Whether the response should also contain the raw ES response. Falls back to the configured default if not set.
+     */
+    public Boolean isRawResponse() {
+        return rawResponse;
+    }
+
+    public SearchOptions setRawResponse(Boolean rawResponse) {
+        this.rawResponse = rawResponse;
+        return this;
+    }
+
+    /**
+     * Whether aggregations are returned as {@link com.hubrick.vertx.elasticsearch.model.AggregationResult}s in
+     * {@link SearchResponse#getTypedAggregations()} instead of json in {@link SearchResponse#getAggregations()}.
+     */
+    public Boolean isTypedAggregations() {
+        return typedAggregations;
+    }
+
+    public SearchOptions setTypedAggregations(Boolean typedAggregations) {
+        this.typedAggregations = typedAggregations;
+        return this;
+    }
+
+    /**
+     * How long in milliseconds the response may be served from the search result cache. {@code 0} bypasses the cache.
+     * Falls back to the configured default if not set.
+     */
+    public Long getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public SearchOptions setCacheTtl(Long cacheTtl) {
+        this.cacheTtl = cacheTtl;
+        return this;
+    }
+
+    /**
+     * A stable key of the caller like a user or tenant id. With session affinity enabled it is turned into a
+     * {@code preference} if none is set, so the requests of a session hit the same shard copies and their caches.
+     */
+    public String getSessionKey() {
+        return sessionKey;
+    }
+
+    public SearchOptions setSessionKey(String sessionKey) {
+        this.sessionKey = sessionKey;
+        return this;
+    }
+
     public JsonObject toJson() {
 
         JsonObject json = new JsonObject();
@@ -427,6 +494,10 @@ public class SearchOptions {
         if (templateType != null) json.put(JSON_FIELD_TEMPLATE_TYPE, templateType.toString());
         if (templateParams != null) json.put(JSON_FIELD_TEMPLATE_PARAMS, templateParams);
         if (extraSource != null) json.put(JSON_FIELD_EXTRA_SOURCE, extraSource);
+        if (rawResponse != null) json.put(JSON_FIELD_RAW_RESPONSE, rawResponse);
+        if (typedAggregations != null) json.put(JSON_FIELD_TYPED_AGGREGATIONS, typedAggregations);
+        if (cacheTtl != null) json.put(JSON_FIELD_CACHE_TTL, cacheTtl);
+        if (sessionKey != null) json.put(JSON_FIELD_SESSION_KEY, sessionKey);
 
         if (!sorts.isEmpty()) {
             JsonArray jsonSorts = new JsonArray();
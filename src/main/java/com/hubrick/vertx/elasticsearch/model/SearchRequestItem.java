@@ -0,0 +1,89 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.model;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Single search of a multi search request
+ */
+@DataObject
+public class SearchRequestItem {
+
+    private List<String> indices = new ArrayList<>();
+    private SearchOptions options;
+
+    public static final String FIELD_INDICES = "indices";
+    public static final String FIELD_OPTIONS = "options";
+
+    public SearchRequestItem() {
+    }
+
+    public SearchRequestItem(String index, SearchOptions options) {
+        this(Collections.singletonList(index), options);
+    }
+
+    public SearchRequestItem(List<String> indices, SearchOptions options) {
+        this.indices.addAll(indices);
+        this.options = options;
+    }
+
+    public SearchRequestItem(SearchRequestItem other) {
+        indices.addAll(other.getIndices());
+        options = other.getOptions();
+    }
+
+    public SearchRequestItem(JsonObject json) {
+        indices = json.getJsonArray(FIELD_INDICES, new JsonArray()).getList();
+
+        final JsonObject jsonOptions = json.getJsonObject(FIELD_OPTIONS);
+        if (jsonOptions != null) options = new SearchOptions(jsonOptions);
+    }
+
+    public List<String> getIndices() {
+        return indices;
+    }
+
+    public SearchRequestItem addIndex(String index) {
+        indices.add(index);
+        return this;
+    }
+
+    public SearchOptions getOptions() {
+        return options;
+    }
+
+    public SearchRequestItem setOptions(SearchOptions options) {
+        this.options = options;
+        return this;
+    }
+
+    public JsonObject toJson() {
+
+        final JsonObject json = new JsonObject();
+
+        if (!indices.isEmpty()) json.put(FIELD_INDICES, new JsonArray(indices));
+        if (options != null) json.put(FIELD_OPTIONS, options.toJson());
+
+        return json;
+    }
+}
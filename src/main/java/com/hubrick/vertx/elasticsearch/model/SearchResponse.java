@@ -33,6 +33,7 @@ public class SearchResponse extends AbstractSearchResponse<SearchResponse> {
     private Hits hits;
     private String scrollId;
     private Map<String, JsonObject> aggregations = new HashMap<>();
+    private Map<String, AggregationResult> typedAggregations = new HashMap<>();
     private Map<String, Suggestion> suggestions = new HashMap<>();
 
     public static final String JSON_FIELD_TOOK = "took";
@@ -40,6 +41,7 @@ public class SearchResponse extends AbstractSearchResponse<SearchResponse> {
     public static final String JSON_FIELD_HITS = "hits";
     public static final String JSON_FIELD_SCROLL_ID = "scrollId";
     public static final String JSON_FIELD_AGGREGATIONS = "aggregations";
+    public static final String JSON_FIELD_TYPED_AGGREGATIONS = "typedAggregations";
     public static final String JSON_FIELD_SUGGESTION = "suggestions";
 
     public SearchResponse() {
@@ -50,10 +52,17 @@ public class SearchResponse extends AbstractSearchResponse<SearchResponse> {
 
         this.took = other.getTook();
         this.timedOut = other.getTimedOut();
-        this.hits = other.getHits();
+        this.hits = other.getHits() == null ? null : new Hits(other.getHits());
         this.scrollId = other.getScrollId();
-        this.aggregations = other.getAggregations();
-        this.suggestions = other.getSuggestions();
+        if (other.getAggregations() != null) {
+            other.getAggregations().forEach((name, aggregation) -> this.aggregations.put(name, aggregation.copy()));
+        }
+        if (other.getTypedAggregations() != null) {
+            other.getTypedAggregations().forEach((name, aggregation) -> this.typedAggregations.put(name, new AggregationResult(aggregation.toJson())));
+        }
+        if (other.getSuggestions() != null) {
+            other.getSuggestions().forEach((name, suggestion) -> this.suggestions.put(name, new Suggestion(suggestion.toJson())));
+        }
     }
 
     public SearchResponse(JsonObject json) {
@@ -82,6 +91,13 @@ public class SearchResponse extends AbstractSearchResponse<SearchResponse> {
                 aggregations.put(name, jsonAggregations.getJsonObject(name));
             }
         }
+
+        final JsonObject jsonTypedAggregations = json.getJsonObject(JSON_FIELD_TYPED_AGGREGATIONS);
+        if (jsonTypedAggregations != null) {
+            for (String name : jsonTypedAggregations.fieldNames()) {
+                typedAggregations.put(name, new AggregationResult(jsonTypedAggregations.getJsonObject(name)));
+            }
+        }
     }
 
     public Long getTook() {
@@ -129,6 +145,18 @@ public class SearchResponse extends AbstractSearchResponse<SearchResponse> {
         return this;
     }
 
+    /**
+     * The aggregations if {@link SearchOptions#isTypedAggregations()} was set
+     */
+    public Map<String, AggregationResult> getTypedAggregations() {
+        return typedAggregations;
+    }
+
+    public SearchResponse setTypedAggregations(Map<String, AggregationResult> typedAggregations) {
+        this.typedAggregations = typedAggregations;
+        return this;
+    }
+
     @GenIgnore
     public SearchResponse addSuggestion(String name, Suggestion suggestion) {
         suggestions.put(name, suggestion);
@@ -165,6 +193,12 @@ public class SearchResponse extends AbstractSearchResponse<SearchResponse> {
             json.put(JSON_FIELD_AGGREGATIONS, jsonAggregations);
         }
 
+        if (typedAggregations != null && !typedAggregations.isEmpty()) {
+            final JsonObject jsonTypedAggregations = new JsonObject();
+            typedAggregations.entrySet().forEach(e -> jsonTypedAggregations.put(e.getKey(), e.getValue().toJson()));
+            json.put(JSON_FIELD_TYPED_AGGREGATIONS, jsonTypedAggregations);
+        }
+
         return json.mergeIn(super.toJson());
     }
 }
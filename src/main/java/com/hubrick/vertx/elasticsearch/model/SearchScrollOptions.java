@@ -25,18 +25,22 @@ import io.vertx.core.json.JsonObject;
 public class SearchScrollOptions {
 
     private String scroll;
+    private Boolean rawResponse;
 
     public static final String FIELD_SCROLL = "scroll";
+    public static final String FIELD_RAW_RESPONSE = "rawResponse";
 
     public SearchScrollOptions() {
     }
 
     public SearchScrollOptions(SearchScrollOptions other) {
         scroll = other.getScroll();
+        rawResponse = other.isRawResponse();
     }
 
     public SearchScrollOptions(JsonObject json) {
         scroll = json.getString(FIELD_SCROLL);
+        rawResponse = json.getBoolean(FIELD_RAW_RESPONSE);
     }
 
     public String getScroll() {
@@ -48,10 +52,23 @@ public class SearchScrollOptions {
         return this;
     }
 
+    /**
+     * Whether the response should also contain the raw ES response. Falls back to the configured default if not set.
+     */
+    public Boolean isRawResponse() {
+        return rawResponse;
+    }
+
+    public SearchScrollOptions setRawResponse(Boolean rawResponse) {
+        this.rawResponse = rawResponse;
+        return this;
+    }
+
     public JsonObject toJson() {
         JsonObject json = new JsonObject();
 
         if (getScroll() != null) json.put(FIELD_SCROLL, getScroll());
+        if (isRawResponse() != null) json.put(FIELD_RAW_RESPONSE, isRawResponse());
 
         return json;
     }
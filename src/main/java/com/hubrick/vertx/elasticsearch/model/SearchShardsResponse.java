@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.model;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.annotations.GenIgnore;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Search shards operation response, holding one group per shard a search on the requested indices would hit
+ */
+@DataObject
+public class SearchShardsResponse {
+
+    private List<ShardGroup> groups = new LinkedList<>();
+
+    public static final String JSON_FIELD_GROUPS = "groups";
+
+    public SearchShardsResponse() {
+    }
+
+    public SearchShardsResponse(SearchShardsResponse other) {
+        this.groups = other.getGroups();
+    }
+
+    public SearchShardsResponse(JsonObject json) {
+        final JsonArray jsonGroups = json.getJsonArray(JSON_FIELD_GROUPS);
+        if (jsonGroups != null) {
+            for (int i = 0; i < jsonGroups.size(); i++) {
+                groups.add(new ShardGroup(jsonGroups.getJsonObject(i)));
+            }
+        }
+    }
+
+    public List<ShardGroup> getGroups() {
+        return groups;
+    }
+
+    public SearchShardsResponse setGroups(List<ShardGroup> groups) {
+        this.groups = groups;
+        return this;
+    }
+
+    @GenIgnore
+    public SearchShardsResponse addGroup(ShardGroup group) {
+        groups.add(group);
+        return this;
+    }
+
+    /**
+     * @return the distinct shard ids over all indices in ascending order, as usable in a {@code _shards} preference
+     */
+    @GenIgnore
+    public Set<Integer> getShardIds() {
+        final Set<Integer> shardIds = new TreeSet<>();
+        groups.forEach(group -> shardIds.add(group.getShardId()));
+        return shardIds;
+    }
+
+    public JsonObject toJson() {
+
+        final JsonObject json = new JsonObject();
+
+        if (!groups.isEmpty()) {
+            final JsonArray jsonGroups = new JsonArray();
+            groups.forEach(group -> jsonGroups.add(group.toJson()));
+            json.put(JSON_FIELD_GROUPS, jsonGroups);
+        }
+
+        return json;
+    }
+}
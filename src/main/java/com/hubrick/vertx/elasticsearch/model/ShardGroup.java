@@ -0,0 +1,102 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.model;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * A shard of an index together with the nodes holding a copy of it, as returned by the search shards API
+ */
+@DataObject
+public class ShardGroup {
+
+    private String index;
+    private Integer shardId;
+    private List<String> nodeIds = new LinkedList<>();
+
+    public static final String JSON_FIELD_INDEX = "index";
+    public static final String JSON_FIELD_SHARD_ID = "shardId";
+    public static final String JSON_FIELD_NODE_IDS = "nodeIds";
+
+    public ShardGroup() {
+    }
+
+    public ShardGroup(ShardGroup other) {
+        this.index = other.getIndex();
+        this.shardId = other.getShardId();
+        this.nodeIds = new LinkedList<>(other.getNodeIds());
+    }
+
+    public ShardGroup(JsonObject json) {
+        this.index = json.getString(JSON_FIELD_INDEX);
+        this.shardId = json.getInteger(JSON_FIELD_SHARD_ID);
+
+        final JsonArray jsonNodeIds = json.getJsonArray(JSON_FIELD_NODE_IDS);
+        if (jsonNodeIds != null) {
+            for (int i = 0; i < jsonNodeIds.size(); i++) {
+                nodeIds.add(jsonNodeIds.getString(i));
+            }
+        }
+    }
+
+    public String getIndex() {
+        return index;
+    }
+
+    public ShardGroup setIndex(String index) {
+        this.index = index;
+        return this;
+    }
+
+    public Integer getShardId() {
+        return shardId;
+    }
+
+    public ShardGroup setShardId(Integer shardId) {
+        this.shardId = shardId;
+        return this;
+    }
+
+    public List<String> getNodeIds() {
+        return nodeIds;
+    }
+
+    public ShardGroup setNodeIds(List<String> nodeIds) {
+        this.nodeIds = nodeIds;
+        return this;
+    }
+
+    public ShardGroup addNodeId(String nodeId) {
+        nodeIds.add(nodeId);
+        return this;
+    }
+
+    public JsonObject toJson() {
+
+        final JsonObject json = new JsonObject();
+
+        if (index != null) json.put(JSON_FIELD_INDEX, index);
+        if (shardId != null) json.put(JSON_FIELD_SHARD_ID, shardId);
+        if (!nodeIds.isEmpty()) json.put(JSON_FIELD_NODE_IDS, new JsonArray(nodeIds));
+
+        return json;
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search hit with the source bound to {@code T}
+ */
+public class TypedHit<T> {
+
+    private String index;
+    private String type;
+    private String id;
+    private Float score;
+    private Long version;
+    private T source;
+    private Map<String, List<Object>> fields;
+
+    public String getIndex() {
+        return index;
+    }
+
+    public TypedHit<T> setIndex(String index) {
+        this.index = index;
+        return this;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public TypedHit<T> setType(String type) {
+        this.type = type;
+        return this;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public TypedHit<T> setId(String id) {
+        this.id = id;
+        return this;
+    }
+
+    public Float getScore() {
+        return score;
+    }
+
+    public TypedHit<T> setScore(Float score) {
+        this.score = score;
+        return this;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public TypedHit<T> setVersion(Long version) {
+        this.version = version;
+        return this;
+    }
+
+    public T getSource() {
+        return source;
+    }
+
+    public TypedHit<T> setSource(T source) {
+        this.source = source;
+        return this;
+    }
+
+    public Map<String, List<Object>> getFields() {
+        return fields;
+    }
+
+    public TypedHit<T> setFields(Map<String, List<Object>> fields) {
+        this.fields = fields;
+        return this;
+    }
+}
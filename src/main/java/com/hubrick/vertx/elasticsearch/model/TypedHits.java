@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.model;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Search hits with the sources bound to {@code T}
+ */
+public class TypedHits<T> {
+
+    private Long total;
+    private Float maxScore;
+    private String scrollId;
+    private List<TypedHit<T>> hits = new LinkedList<>();
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public TypedHits<T> setTotal(Long total) {
+        this.total = total;
+        return this;
+    }
+
+    public Float getMaxScore() {
+        return maxScore;
+    }
+
+    public TypedHits<T> setMaxScore(Float maxScore) {
+        this.maxScore = maxScore;
+        return this;
+    }
+
+    public String getScrollId() {
+        return scrollId;
+    }
+
+    public TypedHits<T> setScrollId(String scrollId) {
+        this.scrollId = scrollId;
+        return this;
+    }
+
+    public List<TypedHit<T>> getHits() {
+        return hits;
+    }
+
+    public TypedHits<T> setHits(List<TypedHit<T>> hits) {
+        this.hits = hits;
+        return this;
+    }
+
+    public TypedHits<T> addHit(TypedHit<T> hit) {
+        this.hits.add(hit);
+        return this;
+    }
+}
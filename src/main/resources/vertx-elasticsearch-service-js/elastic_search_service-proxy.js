@@ -145,6 +145,42 @@
       } else throw new TypeError('function invoked with invalid arguments');
     };
 
+    /**
+     https://www.elastic.co/guide/en/elasticsearch/reference/2.4/search-request-scroll.html#_clear_scroll_api
+
+     @public
+     @param scrollIds {Array.<string>} the scroll ids to clear 
+     @param resultHandler {function} result handler callback 
+     */
+    this.clearScroll = function(scrollIds, resultHandler) {
+      var __args = arguments;
+      if (__args.length === 2 && typeof __args[0] === 'object' && __args[0] instanceof Array && typeof __args[1] === 'function') {
+        if (closed) {
+          throw new Error('Proxy is closed');
+        }
+        j_eb.send(j_address, {"scrollIds":__args[0]}, {"action":"clearScroll"}, function(err, result) { __args[1](err, result &&result.body); });
+        return;
+      } else throw new TypeError('function invoked with invalid arguments');
+    };
+
+    /**
+     https://www.elastic.co/guide/en/elasticsearch/reference/2.4/search-shards.html
+
+     @public
+     @param indices {Array.<string>} the index names 
+     @param resultHandler {function} result handler callback 
+     */
+    this.searchShards = function(indices, resultHandler) {
+      var __args = arguments;
+      if (__args.length === 2 && typeof __args[0] === 'object' && __args[0] instanceof Array && typeof __args[1] === 'function') {
+        if (closed) {
+          throw new Error('Proxy is closed');
+        }
+        j_eb.send(j_address, {"indices":__args[0]}, {"action":"searchShards"}, function(err, result) { __args[1](err, result &&result.body); });
+        return;
+      } else throw new TypeError('function invoked with invalid arguments');
+    };
+
     /**
      http://www.elastic.co/guide/en/elasticsearch/client/java-api/1.4/delete.html
 
@@ -170,17 +206,91 @@
      https://www.elastic.co/guide/en/elasticsearch/reference/current/search-suggesters.html
 
      @public
-     @param index {string} the index name 
+     @param indices {Array.<string>} the index names 
      @param options {Object} optional suggest options 
      @param resultHandler {function} result handler callback 
      */
-    this.suggest = function(index, options, resultHandler) {
+    this.suggest = function(indices, options, resultHandler) {
       var __args = arguments;
-      if (__args.length === 3 && typeof __args[0] === 'string' && typeof __args[1] === 'object' && typeof __args[2] === 'function') {
+      if (__args.length === 3 && typeof __args[0] === 'object' && __args[0] instanceof Array && typeof __args[1] === 'object' && typeof __args[2] === 'function') {
+        if (closed) {
+          throw new Error('Proxy is closed');
+        }
+        j_eb.send(j_address, {"indices":__args[0], "options":__args[1]}, {"action":"suggest"}, function(err, result) { __args[2](err, result &&result.body); });
+        return;
+      } else throw new TypeError('function invoked with invalid arguments');
+    };
+
+    /**
+     https://www.elastic.co/guide/en/elasticsearch/reference/current/docs-delete-by-query.html
+
+     @public
+     @param indices {Array.<string>} the index names 
+     @param query {Object} the query that will be used for deletion 
+     @param options {Object} delete by query options (timeout, etc.) 
+     @param resultHandler {function} result handler callback 
+     */
+    this.deleteByQuery = function(indices, query, options, resultHandler) {
+      var __args = arguments;
+      if (__args.length === 4 && typeof __args[0] === 'object' && __args[0] instanceof Array && typeof __args[1] === 'object' && typeof __args[2] === 'object' && typeof __args[3] === 'function') {
+        if (closed) {
+          throw new Error('Proxy is closed');
+        }
+        j_eb.send(j_address, {"indices":__args[0], "query":__args[1], "options":__args[2]}, {"action":"deleteByQuery"}, function(err, result) { __args[3](err, result &&result.body); });
+        return;
+      } else throw new TypeError('function invoked with invalid arguments');
+    };
+
+    /**
+     https://www.elastic.co/guide/en/elasticsearch/client/java-api/2.4/java-docs-bulk.html
+
+     @public
+     @param options {Object} the bulk options holding the actions to execute 
+     @param resultHandler {function} result handler callback 
+     */
+    this.bulk = function(options, resultHandler) {
+      var __args = arguments;
+      if (__args.length === 2 && typeof __args[0] === 'object' && typeof __args[1] === 'function') {
+        if (closed) {
+          throw new Error('Proxy is closed');
+        }
+        j_eb.send(j_address, {"options":__args[0]}, {"action":"bulk"}, function(err, result) { __args[1](err, result &&result.body); });
+        return;
+      } else throw new TypeError('function invoked with invalid arguments');
+    };
+
+    /**
+     https://www.elastic.co/guide/en/elasticsearch/client/java-api/2.4/java-docs-multi-get.html
+
+     @public
+     @param options {Object} the multi get options holding the documents to get 
+     @param resultHandler {function} result handler callback 
+     */
+    this.multiGet = function(options, resultHandler) {
+      var __args = arguments;
+      if (__args.length === 2 && typeof __args[0] === 'object' && typeof __args[1] === 'function') {
+        if (closed) {
+          throw new Error('Proxy is closed');
+        }
+        j_eb.send(j_address, {"options":__args[0]}, {"action":"multiGet"}, function(err, result) { __args[1](err, result &&result.body); });
+        return;
+      } else throw new TypeError('function invoked with invalid arguments');
+    };
+
+    /**
+     https://www.elastic.co/guide/en/elasticsearch/client/java-api/2.4/java-search-msearch.html
+
+     @public
+     @param options {Object} the multi search options holding the searches to execute 
+     @param resultHandler {function} result handler callback 
+     */
+    this.multiSearch = function(options, resultHandler) {
+      var __args = arguments;
+      if (__args.length === 2 && typeof __args[0] === 'object' && typeof __args[1] === 'function') {
         if (closed) {
           throw new Error('Proxy is closed');
         }
-        j_eb.send(j_address, {"index":__args[0], "options":__args[1]}, {"action":"suggest"}, function(err, result) { __args[2](err, result &&result.body); });
+        j_eb.send(j_address, {"options":__args[0]}, {"action":"multiSearch"}, function(err, result) { __args[1](err, result &&result.body); });
         return;
       } else throw new TypeError('function invoked with invalid arguments');
     };
@@ -205,6 +315,51 @@
     } else throw new TypeError('function invoked with invalid arguments');
   };
 
+  /**
+   Creates an event bus proxy which exchanges requests and responses with the verticle in the binary Smile format
+   instead of json. Saves bandwidth and encoding time for large responses in a clustered deployment.
+   The verticle serves binary requests if <code>binary</code> is enabled in its config, on <code>&lt;address&gt;.binary</code> unless
+   <code>address.binary</code> is configured.
+
+   @memberof module:vertx-elasticsearch-service-js/elastic_search_service
+   @param vertx {Vertx} 
+   @param binaryAddress {string} 
+   @return {ElasticSearchService}
+   */
+  ElasticSearchService.createBinaryEventBusProxy = function(vertx, binaryAddress) {
+    var __args = arguments;
+    if (__args.length === 2 && typeof __args[0] === 'object' && __args[0]._jdel && typeof __args[1] === 'string') {
+      if (closed) {
+        throw new Error('Proxy is closed');
+      }
+      j_eb.send(j_address, {"vertx":__args[0], "binaryAddress":__args[1]}, {"action":"createBinaryEventBusProxy"});
+      return;
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   Binds directly to the service if <code>ElasticSearchServiceVerticle</code> is deployed in the same JVM, which passes
+   options and responses by reference instead of encoding them to json. Falls back to the event bus proxy otherwise.
+   <p>
+   Responses are never shared between callers, cached responses are copied before they are handed out. Options must
+   not be modified until the result handler has been called.
+
+   @memberof module:vertx-elasticsearch-service-js/elastic_search_service
+   @param vertx {Vertx} 
+   @param address {string} 
+   @return {ElasticSearchService}
+   */
+  ElasticSearchService.createLocalProxy = function(vertx, address) {
+    var __args = arguments;
+    if (__args.length === 2 && typeof __args[0] === 'object' && __args[0]._jdel && typeof __args[1] === 'string') {
+      if (closed) {
+        throw new Error('Proxy is closed');
+      }
+      j_eb.send(j_address, {"vertx":__args[0], "address":__args[1]}, {"action":"createLocalProxy"});
+      return;
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
   if (typeof exports !== 'undefined') {
     if (typeof module !== 'undefined' && module.exports) {
       exports = module.exports = ElasticSearchService;
@@ -36,6 +36,13 @@ var SuggestOptions = com.hubrick.vertx.elasticsearch.model.SuggestOptions;
 var SuggestResponse = com.hubrick.vertx.elasticsearch.model.SuggestResponse;
 var SearchScrollOptions = com.hubrick.vertx.elasticsearch.model.SearchScrollOptions;
 var DeleteByQueryOptions = com.hubrick.vertx.elasticsearch.model.DeleteByQueryOptions;
+var BulkOptions = com.hubrick.vertx.elasticsearch.model.BulkOptions;
+var BulkResponse = com.hubrick.vertx.elasticsearch.model.BulkResponse;
+var MultiGetOptions = com.hubrick.vertx.elasticsearch.model.MultiGetOptions;
+var MultiGetResponse = com.hubrick.vertx.elasticsearch.model.MultiGetResponse;
+var MultiSearchOptions = com.hubrick.vertx.elasticsearch.model.MultiSearchOptions;
+var MultiSearchResponse = com.hubrick.vertx.elasticsearch.model.MultiSearchResponse;
+var SearchShardsResponse = com.hubrick.vertx.elasticsearch.model.SearchShardsResponse;
 
 /**
  ElasticSearch service
@@ -181,6 +188,46 @@ var ElasticSearchService = function(j_val) {
     } else throw new TypeError('function invoked with invalid arguments');
   };
 
+  /**
+   https://www.elastic.co/guide/en/elasticsearch/reference/2.4/search-request-scroll.html#_clear_scroll_api
+
+   @public
+   @param scrollIds {Array.<string>} the scroll ids to clear 
+   @param resultHandler {function} result handler callback 
+   */
+  this.clearScroll = function(scrollIds, resultHandler) {
+    var __args = arguments;
+    if (__args.length === 2 && typeof __args[0] === 'object' && __args[0] instanceof Array && typeof __args[1] === 'function') {
+      j_elasticSearchService["clearScroll(java.util.List,io.vertx.core.Handler)"](utils.convParamListBasicOther(scrollIds), function(ar) {
+      if (ar.succeeded()) {
+        resultHandler(null, null);
+      } else {
+        resultHandler(null, ar.cause());
+      }
+    });
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   https://www.elastic.co/guide/en/elasticsearch/reference/2.4/search-shards.html
+
+   @public
+   @param indices {Array.<string>} the index names 
+   @param resultHandler {function} result handler callback 
+   */
+  this.searchShards = function(indices, resultHandler) {
+    var __args = arguments;
+    if (__args.length === 2 && typeof __args[0] === 'object' && __args[0] instanceof Array && typeof __args[1] === 'function') {
+      j_elasticSearchService["searchShards(java.util.List,io.vertx.core.Handler)"](utils.convParamListBasicOther(indices), function(ar) {
+      if (ar.succeeded()) {
+        resultHandler(utils.convReturnDataObject(ar.result()), null);
+      } else {
+        resultHandler(null, ar.cause());
+      }
+    });
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
   /**
    http://www.elastic.co/guide/en/elasticsearch/client/java-api/1.4/delete.html
 
@@ -247,6 +294,66 @@ var ElasticSearchService = function(j_val) {
     } else throw new TypeError('function invoked with invalid arguments');
   };
 
+  /**
+   https://www.elastic.co/guide/en/elasticsearch/client/java-api/2.4/java-docs-bulk.html
+
+   @public
+   @param options {Object} the bulk options holding the actions to execute 
+   @param resultHandler {function} result handler callback 
+   */
+  this.bulk = function(options, resultHandler) {
+    var __args = arguments;
+    if (__args.length === 2 && (typeof __args[0] === 'object' && __args[0] != null) && typeof __args[1] === 'function') {
+      j_elasticSearchService["bulk(com.hubrick.vertx.elasticsearch.model.BulkOptions,io.vertx.core.Handler)"](options != null ? new BulkOptions(new JsonObject(JSON.stringify(options))) : null, function(ar) {
+      if (ar.succeeded()) {
+        resultHandler(utils.convReturnDataObject(ar.result()), null);
+      } else {
+        resultHandler(null, ar.cause());
+      }
+    });
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   https://www.elastic.co/guide/en/elasticsearch/client/java-api/2.4/java-docs-multi-get.html
+
+   @public
+   @param options {Object} the multi get options holding the documents to get 
+   @param resultHandler {function} result handler callback 
+   */
+  this.multiGet = function(options, resultHandler) {
+    var __args = arguments;
+    if (__args.length === 2 && (typeof __args[0] === 'object' && __args[0] != null) && typeof __args[1] === 'function') {
+      j_elasticSearchService["multiGet(com.hubrick.vertx.elasticsearch.model.MultiGetOptions,io.vertx.core.Handler)"](options != null ? new MultiGetOptions(new JsonObject(JSON.stringify(options))) : null, function(ar) {
+      if (ar.succeeded()) {
+        resultHandler(utils.convReturnDataObject(ar.result()), null);
+      } else {
+        resultHandler(null, ar.cause());
+      }
+    });
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
+  /**
+   https://www.elastic.co/guide/en/elasticsearch/client/java-api/2.4/java-search-msearch.html
+
+   @public
+   @param options {Object} the multi search options holding the searches to execute 
+   @param resultHandler {function} result handler callback 
+   */
+  this.multiSearch = function(options, resultHandler) {
+    var __args = arguments;
+    if (__args.length === 2 && (typeof __args[0] === 'object' && __args[0] != null) && typeof __args[1] === 'function') {
+      j_elasticSearchService["multiSearch(com.hubrick.vertx.elasticsearch.model.MultiSearchOptions,io.vertx.core.Handler)"](options != null ? new MultiSearchOptions(new JsonObject(JSON.stringify(options))) : null, function(ar) {
+      if (ar.succeeded()) {
+        resultHandler(utils.convReturnDataObject(ar.result()), null);
+      } else {
+        resultHandler(null, ar.cause());
+      }
+    });
+    } else throw new TypeError('function invoked with invalid arguments');
+  };
+
   // A reference to the underlying Java delegate
   // NOTE! This is an internal API and must not be used in user code.
   // If you rely on this property your code is likely to break if we change it / remove it without warning.
@@ -267,5 +374,42 @@ ElasticSearchService.createEventBusProxy = function(vertx, address) {
   } else throw new TypeError('function invoked with invalid arguments');
 };
 
+/**
+ Creates an event bus proxy which exchanges requests and responses with the verticle in the binary Smile format
+ instead of json. Saves bandwidth and encoding time for large responses in a clustered deployment.
+ The verticle serves binary requests if <code>binary</code> is enabled in its config, on <code>&lt;address&gt;.binary</code> unless
+ <code>address.binary</code> is configured.
+
+ @memberof module:vertx-elasticsearch-service-js/elastic_search_service
+ @param vertx {Vertx} 
+ @param binaryAddress {string} 
+ @return {ElasticSearchService}
+ */
+ElasticSearchService.createBinaryEventBusProxy = function(vertx, binaryAddress) {
+  var __args = arguments;
+  if (__args.length === 2 && typeof __args[0] === 'object' && __args[0]._jdel && typeof __args[1] === 'string') {
+    return utils.convReturnVertxGen(JElasticSearchService["createBinaryEventBusProxy(io.vertx.core.Vertx,java.lang.String)"](vertx._jdel, binaryAddress), ElasticSearchService);
+  } else throw new TypeError('function invoked with invalid arguments');
+};
+
+/**
+ Binds directly to the service if <code>ElasticSearchServiceVerticle</code> is deployed in the same JVM, which passes
+ options and responses by reference instead of encoding them to json. Falls back to the event bus proxy otherwise.
+ <p>
+ Responses are never shared between callers, cached responses are copied before they are handed out. Options must
+ not be modified until the result handler has been called.
+
+ @memberof module:vertx-elasticsearch-service-js/elastic_search_service
+ @param vertx {Vertx} 
+ @param address {string} 
+ @return {ElasticSearchService}
+ */
+ElasticSearchService.createLocalProxy = function(vertx, address) {
+  var __args = arguments;
+  if (__args.length === 2 && typeof __args[0] === 'object' && __args[0]._jdel && typeof __args[1] === 'string') {
+    return utils.convReturnVertxGen(JElasticSearchService["createLocalProxy(io.vertx.core.Vertx,java.lang.String)"](vertx._jdel, address), ElasticSearchService);
+  } else throw new TypeError('function invoked with invalid arguments');
+};
+
 // We export the Constructor function
 module.exports = ElasticSearchService;
\ No newline at end of file
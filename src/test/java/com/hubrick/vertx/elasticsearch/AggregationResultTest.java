@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch;
+
+import com.hubrick.vertx.elasticsearch.model.AggregationResult;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link AggregationResult}
+ */
+public class AggregationResultTest {
+
+    @Test
+    public void testToJson() throws Exception {
+
+        final Map<String, Double> stats = new LinkedHashMap<>();
+        stats.put("min", 1.0);
+        stats.put("max", null);
+
+        final AggregationResult result1 = new AggregationResult()
+                .setType("terms")
+                .setKeys(Arrays.asList("a", 2L))
+                .setDocCounts(Arrays.asList(10L, 5L))
+                .setBuckets(Arrays.asList(
+                        new AggregationResult().setAggregations(Collections.singletonMap("avg", new AggregationResult().setType("avg").setValue(1.5))),
+                        new AggregationResult().setAggregations(Collections.singletonMap("stats", new AggregationResult().setType("stats").setValues(stats)))
+                ));
+        final JsonObject json1 = result1.toJson();
+
+        AggregationResult result2 = new AggregationResult(json1);
+        JsonObject json2 = result2.toJson();
+
+        assertEquals(json1.encode(), json2.encode());
+        assertEquals(10L, result2.getDocCounts().get(0).longValue());
+        assertEquals(1.5, result2.getBuckets().get(0).getAggregations().get("avg").getValue(), 0);
+
+        result2 = new AggregationResult(result1);
+        json2 = result2.toJson();
+
+        assertEquals(json1.encode(), json2.encode());
+
+    }
+
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch;
+
+import com.hubrick.vertx.elasticsearch.model.BulkItem;
+import com.hubrick.vertx.elasticsearch.model.BulkOptions;
+import com.hubrick.vertx.elasticsearch.model.DeleteOptions;
+import com.hubrick.vertx.elasticsearch.model.IndexOptions;
+import com.hubrick.vertx.elasticsearch.model.UpdateOptions;
+import io.vertx.core.json.JsonObject;
+import org.elasticsearch.action.WriteConsistencyLevel;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link BulkOptions}
+ */
+public class BulkOptionsTest {
+
+    @Test
+    public void testToJson() throws Exception {
+
+        BulkOptions options1 = new BulkOptions()
+                .setTimeout("10s");
+        JsonObject json1 = options1.toJson();
+
+        assertEquals(1, json1.fieldNames().size());
+        assertEquals("{\"timeout\":\"10s\"}", json1.encode());
+
+        options1 = new BulkOptions()
+                .setRefresh(true)
+                .setConsistencyLevel(WriteConsistencyLevel.QUORUM)
+                .setTimeout("10s")
+                .addItem(BulkItem.index("index", "type", new JsonObject().put("user", "hubrick"), new IndexOptions().setId("1")))
+                .addItem(BulkItem.update("index", "type", "2", new UpdateOptions().setDoc(new JsonObject().put("user", "hubrick"))))
+                .addItem(BulkItem.delete("index", "type", "3", new DeleteOptions().setRouting("routing")));
+
+        json1 = options1.toJson();
+
+        assertEquals(4, json1.fieldNames().size());
+        assertEquals(3, json1.getJsonArray(BulkOptions.FIELD_ITEMS).size());
+
+        BulkOptions options2 = new BulkOptions(json1);
+        JsonObject json2 = options2.toJson();
+
+        assertEquals(json1.encode(), json2.encode());
+        assertEquals(BulkItem.Action.UPDATE, options2.getItems().get(1).getAction());
+
+        options2 = new BulkOptions(options1);
+        json2 = options2.toJson();
+
+        assertEquals(json1.encode(), json2.encode());
+
+    }
+}
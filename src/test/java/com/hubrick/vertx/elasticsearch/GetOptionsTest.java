@@ -46,11 +46,13 @@ public class GetOptionsTest {
                 .setFetchSource(Arrays.asList("incl1", "incl2"), Arrays.asList("excl1", "excl2"))
                 .setTransformSource(true)
                 .setRealtime(true)
-                .setIgnoreErrorsOnGeneratedFields(true);
+                .setIgnoreErrorsOnGeneratedFields(true)
+                .setRawResponse(false)
+                .setSessionKey("user-1");
 
         json1= options1.toJson();
 
-        assertEquals(8, json1.fieldNames().size());
+        assertEquals(10, json1.fieldNames().size());
 
         GetOptions options2 = new GetOptions(json1);
         JsonObject json2 = options2.toJson();
@@ -0,0 +1,61 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch;
+
+import com.hubrick.vertx.elasticsearch.model.Hit;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Unit tests for {@link Hit}
+ */
+public class HitTest {
+
+    @Test
+    public void testSourceBuffer() throws Exception {
+
+        final Hit hit1 = new Hit()
+                .setId("id")
+                .setSourceBuffer(Buffer.buffer("{\"user\":\"hubrick\"}"));
+        final JsonObject json1 = hit1.toJson();
+
+        assertEquals("hubrick", json1.getJsonObject(Hit.JSON_FIELD_SOURCE).getString("user"));
+        assertEquals(1, json1.getJsonObject(Hit.JSON_FIELD_SOURCE).size());
+
+        final Hit hit2 = new Hit(json1);
+        assertEquals(json1.encode(), hit2.toJson().encode());
+        assertEquals(json1.encode(), new Hit(hit2).toJson().encode());
+
+        assertEquals("hubrick", hit2.getSource().getString("user"));
+        assertEquals("{\"user\":\"hubrick\"}", hit2.getSourceBuffer().toString());
+
+    }
+
+    @Test
+    public void testSourceDecodedOnce() throws Exception {
+
+        final Hit hit = new Hit().setSourceBuffer(Buffer.buffer("{\"user\":\"hubrick\"}"));
+
+        assertSame(hit.getSource(), hit.getSource());
+        assertSame(hit.getSource(), new Hit(hit).getSource());
+
+    }
+
+}
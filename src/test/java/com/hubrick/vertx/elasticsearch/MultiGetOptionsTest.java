@@ -0,0 +1,70 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch;
+
+import com.hubrick.vertx.elasticsearch.model.GetItem;
+import com.hubrick.vertx.elasticsearch.model.GetOptions;
+import com.hubrick.vertx.elasticsearch.model.MultiGetOptions;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link MultiGetOptions}
+ */
+public class MultiGetOptionsTest {
+
+    @Test
+    public void testToJson() throws Exception {
+
+        MultiGetOptions options1 = new MultiGetOptions()
+                .setPreference("_local");
+        JsonObject json1 = options1.toJson();
+
+        assertEquals(1, json1.fieldNames().size());
+        assertEquals("{\"preference\":\"_local\"}", json1.encode());
+
+        options1 = new MultiGetOptions()
+                .setPreference("_local")
+                .setRefresh(true)
+                .setRealtime(false)
+                .addItem(new GetItem("index", "type", "1"))
+                .addItem(new GetItem("index", "type", "2").setOptions(new GetOptions()
+                        .setRouting("routing")
+                        .addField("user")
+                        .setFetchSource(Arrays.asList("user", "message"), null)));
+
+        json1 = options1.toJson();
+
+        assertEquals(4, json1.fieldNames().size());
+        assertEquals(2, json1.getJsonArray(MultiGetOptions.FIELD_ITEMS).size());
+
+        MultiGetOptions options2 = new MultiGetOptions(json1);
+        JsonObject json2 = options2.toJson();
+
+        assertEquals(json1.encode(), json2.encode());
+        assertEquals("routing", options2.getItems().get(1).getOptions().getRouting());
+
+        options2 = new MultiGetOptions(options1);
+        json2 = options2.toJson();
+
+        assertEquals(json1.encode(), json2.encode());
+
+    }
+}
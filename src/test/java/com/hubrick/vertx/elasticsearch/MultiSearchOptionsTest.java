@@ -0,0 +1,64 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch;
+
+import com.hubrick.vertx.elasticsearch.model.MultiSearchOptions;
+import com.hubrick.vertx.elasticsearch.model.SearchOptions;
+import com.hubrick.vertx.elasticsearch.model.SearchRequestItem;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link MultiSearchOptions}
+ */
+public class MultiSearchOptionsTest {
+
+    @Test
+    public void testToJson() throws Exception {
+
+        MultiSearchOptions options1 = new MultiSearchOptions();
+        JsonObject json1 = options1.toJson();
+
+        assertEquals(0, json1.fieldNames().size());
+
+        options1 = new MultiSearchOptions()
+                .addItem(new SearchRequestItem("index1", new SearchOptions().setSize(10)))
+                .addItem(new SearchRequestItem(Arrays.asList("index1", "index2"), new SearchOptions()
+                        .addType("type")
+                        .setQuery(new JsonObject().put("match_all", new JsonObject()))));
+
+        json1 = options1.toJson();
+
+        assertEquals(1, json1.fieldNames().size());
+        assertEquals(2, json1.getJsonArray(MultiSearchOptions.FIELD_ITEMS).size());
+
+        MultiSearchOptions options2 = new MultiSearchOptions(json1);
+        JsonObject json2 = options2.toJson();
+
+        assertEquals(json1.encode(), json2.encode());
+        assertEquals(Arrays.asList("index1", "index2"), options2.getItems().get(1).getIndices());
+
+        options2 = new MultiSearchOptions(options1);
+        json2 = options2.toJson();
+
+        assertEquals(json1.encode(), json2.encode());
+
+    }
+}
@@ -69,7 +69,11 @@ public class SearchOptionsTest {
                 .setExtraSource(new JsonObject().put("extra", "1"))
                 .setTemplateName("templateName")
                 .setTemplateType(ScriptService.ScriptType.INDEXED)
-                .setTemplateParams(new JsonObject().put("template_param", "sample_param"));
+                .setTemplateParams(new JsonObject().put("template_param", "sample_param"))
+                .setRawResponse(false)
+                .setCacheTtl(1000L)
+                .setSessionKey("user-1")
+                .setTypedAggregations(true);
 
         json1 = options1.toJson();
 
@@ -0,0 +1,165 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import io.vertx.core.Vertx;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BulkWriteBufferTest {
+
+    private final Vertx vertx = Vertx.vertx();
+    private final List<BulkRequest> executed = new ArrayList<>();
+    private final List<ActionListener<BulkResponse>> pending = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void testFlushOnMaxActions() {
+        final BulkWriteBuffer buffer = new BulkWriteBuffer(vertx, this::execute, 2, Long.MAX_VALUE, 60000);
+
+        buffer.add(indexRequest("1"), listener(new CompletableFuture<>()));
+        assertTrue(executed.isEmpty());
+
+        buffer.add(indexRequest("2"), listener(new CompletableFuture<>()));
+        assertEquals(1, executed.size());
+        assertEquals(2, executed.get(0).numberOfActions());
+    }
+
+    @Test
+    public void testFlushOnMaxSize() {
+        final BulkWriteBuffer buffer = new BulkWriteBuffer(vertx, this::execute, 1000, 1, 60000);
+
+        buffer.add(indexRequest("1"), listener(new CompletableFuture<>()));
+        assertEquals(1, executed.size());
+        assertEquals(1, executed.get(0).numberOfActions());
+    }
+
+    @Test
+    public void testFlushOnTimer() throws Exception {
+        final CountDownLatch flushed = new CountDownLatch(1);
+        final BulkWriteBuffer buffer = new BulkWriteBuffer(vertx, (request, listener) -> flushed.countDown(), 1000, Long.MAX_VALUE, 10);
+
+        buffer.add(indexRequest("1"), listener(new CompletableFuture<>()));
+
+        assertTrue(flushed.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testItemResponsesAreMappedByItemId() throws Exception {
+        final BulkWriteBuffer buffer = new BulkWriteBuffer(vertx, this::execute, 2, Long.MAX_VALUE, 60000);
+        final CompletableFuture<BulkItemResponse> first = new CompletableFuture<>();
+        final CompletableFuture<BulkItemResponse> second = new CompletableFuture<>();
+
+        buffer.add(indexRequest("1"), listener(first));
+        buffer.add(indexRequest("2"), listener(second));
+        pending.get(0).onResponse(new BulkResponse(new BulkItemResponse[]{success(1, "2"), success(0, "1")}, 1));
+
+        assertEquals("1", first.get(5, TimeUnit.SECONDS).getId());
+        assertEquals("2", second.get(5, TimeUnit.SECONDS).getId());
+    }
+
+    @Test
+    public void testFailureIsReportedToEveryAction() throws Exception {
+        final BulkWriteBuffer buffer = new BulkWriteBuffer(vertx, this::execute, 2, Long.MAX_VALUE, 60000);
+        final CompletableFuture<BulkItemResponse> first = new CompletableFuture<>();
+        final CompletableFuture<BulkItemResponse> second = new CompletableFuture<>();
+
+        buffer.add(indexRequest("1"), listener(first));
+        buffer.add(indexRequest("2"), listener(second));
+        pending.get(0).onFailure(new EsRejectedExecutionException("rejected"));
+
+        assertFailure(first, EsRejectedExecutionException.class);
+        assertFailure(second, EsRejectedExecutionException.class);
+    }
+
+    @Test
+    public void testDrainWaitsForBulksInFlight() {
+        final BulkWriteBuffer buffer = new BulkWriteBuffer(vertx, this::execute, 1, Long.MAX_VALUE, 60000);
+        final AtomicBoolean drained = new AtomicBoolean();
+
+        buffer.add(indexRequest("1"), listener(new CompletableFuture<>()));
+        buffer.add(indexRequest("2"), listener(new CompletableFuture<>()));
+        buffer.drain(result -> drained.set(true));
+        assertEquals(2, buffer.getInFlight());
+
+        pending.get(0).onResponse(new BulkResponse(new BulkItemResponse[]{success(0, "1")}, 1));
+        assertFalse(drained.get());
+
+        pending.get(1).onFailure(new EsRejectedExecutionException("rejected"));
+        assertTrue(drained.get());
+        assertEquals(0, buffer.getInFlight());
+    }
+
+    private void execute(BulkRequest request, ActionListener<BulkResponse> listener) {
+        executed.add(request);
+        pending.add(listener);
+    }
+
+    private static IndexRequest indexRequest(String id) {
+        return new IndexRequest("index", "type", id).source("field", "value" + id);
+    }
+
+    private static BulkItemResponse success(int itemId, String id) {
+        return new BulkItemResponse(itemId, "index", new IndexResponse("index", "type", id, 1, true));
+    }
+
+    private static ActionListener<BulkItemResponse> listener(CompletableFuture<BulkItemResponse> future) {
+        return new ActionListener<BulkItemResponse>() {
+            @Override
+            public void onResponse(BulkItemResponse response) {
+                future.complete(response);
+            }
+
+            @Override
+            public void onFailure(Throwable e) {
+                future.completeExceptionally(e);
+            }
+        };
+    }
+
+    private static void assertFailure(CompletableFuture<?> future, Class<? extends Throwable> expected) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected " + expected.getSimpleName());
+        } catch (ExecutionException e) {
+            assertTrue(expected.isInstance(e.getCause()));
+        }
+    }
+}
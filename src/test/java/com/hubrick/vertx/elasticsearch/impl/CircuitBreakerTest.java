@@ -0,0 +1,177 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import com.hubrick.vertx.elasticsearch.model.OperationClass;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.index.IndexNotFoundException;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CircuitBreakerTest {
+
+    private final Vertx vertx = Vertx.vertx();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(vertx, new JsonElasticSearchConfigurator(new JsonObject()
+            .put("circuitBreaker", new JsonObject()
+                    .put("enabled", true)
+                    .put("failureRateThreshold", 0.5)
+                    .put("minimumCalls", 4)
+                    .put("windowSize", 4)
+                    .put("openDuration", 50)
+                    .put("halfOpenCalls", 2)
+                    .put("write", new JsonObject().put("minimumCalls", 100)))));
+
+    @After
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void testOpenHalfOpenClose() throws Exception {
+        final List<JsonObject> events = new ArrayList<>();
+        final CountDownLatch eventsReceived = new CountDownLatch(3);
+        vertx.eventBus().<JsonObject>consumer(JsonElasticSearchConfigurator.DEFAULT_CIRCUIT_BREAKER_ADDRESS, message -> {
+            events.add(message.body());
+            eventsReceived.countDown();
+        }).completionHandler(result -> {
+        });
+        Thread.sleep(50);
+
+        call(OperationClass.SEARCH, null);
+        call(OperationClass.SEARCH, null);
+        call(OperationClass.SEARCH, new EsRejectedExecutionException("rejected"));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState(OperationClass.SEARCH));
+
+        call(OperationClass.SEARCH, new RuntimeException("timeout"));
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState(OperationClass.SEARCH));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState(OperationClass.WRITE));
+
+        final AtomicInteger executed = new AtomicInteger();
+        final List<Throwable> failures = new ArrayList<>();
+        circuitBreaker.run(OperationClass.SEARCH, listener -> executed.incrementAndGet(), new RecordingListener(failures));
+        assertEquals(0, executed.get());
+        assertTrue(failures.get(0) instanceof CircuitBreakerOpenException);
+
+        Thread.sleep(60);
+        call(OperationClass.SEARCH, null);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState(OperationClass.SEARCH));
+        call(OperationClass.SEARCH, null);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState(OperationClass.SEARCH));
+
+        assertTrue(eventsReceived.await(5, TimeUnit.SECONDS));
+        assertEquals("OPEN", events.get(0).getString("state"));
+        assertEquals(0.5, events.get(0).getDouble("failureRate"), 0.001);
+        assertEquals("search", events.get(0).getString("operationClass"));
+        assertEquals("HALF_OPEN", events.get(1).getString("state"));
+        assertEquals("CLOSED", events.get(2).getString("state"));
+        assertEquals("elasticsearch", events.get(2).getString("cluster"));
+
+        final JsonObject metrics = circuitBreaker.getMetrics().getJsonObject("search");
+        assertEquals("CLOSED", metrics.getString("state"));
+        assertEquals(1L, (long) metrics.getLong("rejected"));
+    }
+
+    @Test
+    public void testHalfOpenLimitsProbes() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            call(OperationClass.SEARCH, new RuntimeException("timeout"));
+        }
+        Thread.sleep(60);
+
+        final List<ActionListener<String>> probes = new ArrayList<>();
+        final List<Throwable> failures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.<String>run(OperationClass.SEARCH, probes::add, new RecordingListener(failures));
+        }
+        assertEquals(2, probes.size());
+        assertTrue(failures.get(0) instanceof CircuitBreakerOpenException);
+
+        probes.get(0).onFailure(new RuntimeException("timeout"));
+        probes.get(1).onResponse("ok");
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState(OperationClass.SEARCH));
+    }
+
+    @Test
+    public void testThrowingProbeReturnsItsPermit() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            call(OperationClass.SEARCH, new RuntimeException("timeout"));
+        }
+        Thread.sleep(60);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                circuitBreaker.<String>run(OperationClass.SEARCH, listener -> {
+                    throw new IllegalStateException("not connected");
+                }, new RecordingListener(new ArrayList<>()));
+                fail("Expected the exception of the action");
+            } catch (IllegalStateException e) {
+                // Expected
+            }
+        }
+
+        // Both probes completed as failures instead of leaving the breaker half open
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState(OperationClass.SEARCH));
+    }
+
+    @Test
+    public void testClientErrorsAreNoFailures() {
+        assertFalse(CircuitBreaker.isFailure(new IndexNotFoundException("index")));
+        assertTrue(CircuitBreaker.isFailure(new EsRejectedExecutionException("rejected")));
+        assertTrue(CircuitBreaker.isFailure(new RuntimeException("timeout")));
+    }
+
+    private void call(OperationClass operationClass, Throwable failure) {
+        circuitBreaker.<String>run(operationClass, listener -> {
+            if (failure == null) {
+                listener.onResponse("ok");
+            } else {
+                listener.onFailure(failure);
+            }
+        }, new RecordingListener(new ArrayList<>()));
+    }
+
+    private static class RecordingListener implements ActionListener<String> {
+
+        private final List<Throwable> failures;
+
+        private RecordingListener(List<Throwable> failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public void onResponse(String response) {
+        }
+
+        @Override
+        public void onFailure(Throwable e) {
+            failures.add(e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import com.hubrick.vertx.elasticsearch.model.GetOptions;
+import com.hubrick.vertx.elasticsearch.model.SearchOptions;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DefaultElasticSearchServiceTest {
+
+    private final List<String> indices = Collections.singletonList("index");
+
+    @Test
+    public void testSessionPreference() {
+        final DefaultElasticSearchService service = service(true);
+
+        final String preference = service.getPreference(null, "user-1");
+        assertEquals(DefaultElasticSearchService.SESSION_PREFERENCE_PREFIX + Integer.toHexString("user-1".hashCode()), preference);
+        assertTrue(preference.matches("session-[0-9a-f]+"));
+        assertEquals(preference, service.getPreference(null, "user-1"));
+        assertNotEquals(preference, service.getPreference(null, "user-2"));
+    }
+
+    @Test
+    public void testExplicitPreferenceWins() {
+        assertEquals("_local", service(true).getPreference("_local", "user-1"));
+    }
+
+    @Test
+    public void testSessionAffinityDisabled() {
+        assertNull(service(false).getPreference(null, "user-1"));
+        assertEquals("_local", service(false).getPreference("_local", "user-1"));
+    }
+
+    @Test
+    public void testWithoutSessionKey() {
+        assertNull(service(true).getPreference(null, null));
+    }
+
+    @Test
+    public void testSessionKeyIsNotPartOfTheSearchCacheKey() {
+        final SearchOptions options = new SearchOptions().setSize(10);
+
+        assertEquals(
+                DefaultElasticSearchService.getSearchCacheKey(indices, options),
+                DefaultElasticSearchService.getSearchCacheKey(indices, new SearchOptions(options).setSessionKey("user-1"))
+        );
+        assertEquals(
+                DefaultElasticSearchService.getSearchCacheKey(indices, new SearchOptions(options).setSessionKey("user-1")),
+                DefaultElasticSearchService.getSearchCacheKey(indices, new SearchOptions(options).setSessionKey("user-2"))
+        );
+        assertNotEquals(
+                DefaultElasticSearchService.getSearchCacheKey(indices, options),
+                DefaultElasticSearchService.getSearchCacheKey(indices, new SearchOptions(options).setPreference("_local"))
+        );
+    }
+
+    @Test
+    public void testSessionKeyIsNotPartOfTheGetCacheVariant() {
+        assertEquals(
+                DefaultElasticSearchService.getCacheVariant(new GetOptions().setSessionKey("user-1")),
+                DefaultElasticSearchService.getCacheVariant(new GetOptions().setSessionKey("user-2"))
+        );
+    }
+
+    private static DefaultElasticSearchService service(boolean sessionAffinity) {
+        return new DefaultElasticSearchService(null, null, new JsonElasticSearchConfigurator(new JsonObject()
+                .put("sessionAffinity", new JsonObject().put("enabled", sessionAffinity))));
+    }
+}
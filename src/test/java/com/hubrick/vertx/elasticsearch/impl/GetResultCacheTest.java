@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import com.hubrick.vertx.elasticsearch.model.GetResponse;
+import com.hubrick.vertx.elasticsearch.model.GetResult;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+public class GetResultCacheTest {
+
+    @Test
+    public void testInvalidateAllVariants() {
+        final GetResultCache cache = new GetResultCache(10, 60000);
+        final GetResponse response = response(1L);
+
+        cache.put("index", "type", "id", "{}", response);
+        cache.put("index", "type", "id", "{\"fields\":[\"a\"]}", response);
+        cache.put("index", "type", "id2", "{}", response);
+        assertCopy(response, cache.get("index", "type", "id", "{}"));
+
+        cache.invalidate("index", "type", "id", 0);
+
+        assertNull(cache.get("index", "type", "id", "{}"));
+        assertNull(cache.get("index", "type", "id", "{\"fields\":[\"a\"]}"));
+        assertCopy(response, cache.get("index", "type", "id2", "{}"));
+    }
+
+    @Test
+    public void testStaleResponseAfterWriteIsNotCached() {
+        final GetResultCache cache = new GetResultCache(10, 60000);
+
+        cache.invalidate("index", "type", "id", 2);
+
+        cache.put("index", "type", "id", "{}", response(1L));
+        assertNull(cache.get("index", "type", "id", "{}"));
+
+        final GetResponse response = response(2L);
+        cache.put("index", "type", "id", "{}", response);
+        assertCopy(response, cache.get("index", "type", "id", "{}"));
+    }
+
+    @Test
+    public void testExpiryAndEviction() throws Exception {
+        final GetResultCache cache = new GetResultCache(1, 1);
+
+        cache.put("index", "type", "id", "{}", response(1L));
+        Thread.sleep(10);
+        assertNull(cache.get("index", "type", "id", "{}"));
+
+        cache.put("index", "type", "id2", "{}", response(1L));
+        assertEquals(1, cache.getMetrics().getLong("evictions").longValue());
+        assertEquals(1, cache.getMetrics().getLong("misses").longValue());
+    }
+
+    @Test
+    public void testAliasAndConcreteIndexShareEntries() {
+        final GetResultCache cache = new GetResultCache(10, 60000);
+        final GetResponse response = response(1L);
+        response.getResult().setIndex("index_v1");
+
+        cache.put("alias", "type", "id", "{}", response);
+        assertCopy(response, cache.get("alias", "type", "id", "{}"));
+        assertCopy(response, cache.get("index_v1", "type", "id", "{}"));
+
+        cache.invalidate("index_v1", "type", "id", 0);
+        assertNull(cache.get("alias", "type", "id", "{}"));
+
+        cache.put("alias", "type", "id", "{}", response);
+        cache.invalidate("alias", "type", "id", 0);
+        assertNull(cache.get("index_v1", "type", "id", "{}"));
+    }
+
+    @Test
+    public void testResponsesAreCopied() {
+        final GetResultCache cache = new GetResultCache(10, 60000);
+        final GetResponse response = response(1L);
+        response.getResult().setSource(new JsonObject().put("field", "value"));
+
+        cache.put("index", "type", "id", "{}", response);
+        response.getResult().getSource().put("field", "modified");
+        cache.get("index", "type", "id", "{}").getResult().getSource().put("field", "modified");
+
+        assertEquals("value", cache.get("index", "type", "id", "{}").getResult().getSource().getString("field"));
+    }
+
+    private static void assertCopy(GetResponse expected, GetResponse actual) {
+        assertNotNull(actual);
+        assertNotSame(expected, actual);
+        assertEquals(expected.getResult().getVersion(), actual.getResult().getVersion());
+        assertEquals(expected.getResult().getIndex(), actual.getResult().getIndex());
+    }
+
+    private GetResponse response(Long version) {
+        final GetResponse response = new GetResponse();
+        response.setResult(new GetResult().setVersion(version));
+        return response;
+    }
+}
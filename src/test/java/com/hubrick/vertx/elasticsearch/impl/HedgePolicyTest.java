@@ -0,0 +1,185 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import io.vertx.core.Vertx;
+import org.elasticsearch.action.ActionListener;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class HedgePolicyTest {
+
+    private final Vertx vertx = Vertx.vertx();
+
+    @After
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void testHedgePreference() {
+        final HedgePolicy hedgePolicy = new HedgePolicy(vertx, true, 0.95, 1, 10, 0.1);
+
+        assertEquals("user-1" + HedgePolicy.HEDGE_PREFERENCE_SUFFIX, hedgePolicy.hedgePreference("user-1"));
+        assertTrue(hedgePolicy.hedgePreference(null).endsWith(HedgePolicy.HEDGE_PREFERENCE_SUFFIX));
+        assertNull(hedgePolicy.hedgePreference("_primary"));
+        assertNull(hedgePolicy.hedgePreference("_shards:0,1"));
+        assertNull(new HedgePolicy(vertx, false, 0.95, 1, 10, 0.1).hedgePreference("user-1"));
+    }
+
+    @Test
+    public void testPercentile() {
+        assertEquals(95L, HedgePolicy.percentile(values(100), 0.95));
+        assertEquals(100L, HedgePolicy.percentile(values(100), 1));
+        assertEquals(1L, HedgePolicy.percentile(values(100), 0));
+        assertEquals(5L, HedgePolicy.percentile(new long[]{5}, 0.5));
+    }
+
+    @Test
+    public void testNoHedgeWithoutSamples() throws Exception {
+        final HedgePolicy hedgePolicy = new HedgePolicy(vertx, true, 0.5, 1, 10, 1);
+        final AtomicInteger hedges = new AtomicInteger();
+        final CompletableFuture<String> result = new CompletableFuture<>();
+        assertEquals(-1L, hedgePolicy.getThreshold(HedgePolicy.Operation.SEARCH));
+
+        hedgePolicy.run(HedgePolicy.Operation.SEARCH,
+                listener -> vertx.setTimer(50, id -> listener.onResponse("primary")),
+                listener -> hedges.incrementAndGet(),
+                listener(result));
+
+        assertEquals("primary", result.get(5, TimeUnit.SECONDS));
+        assertEquals(0, hedges.get());
+    }
+
+    @Test
+    public void testHedgeWins() throws Exception {
+        final HedgePolicy hedgePolicy = new HedgePolicy(vertx, true, 0.5, 1, 10, 1);
+        warmUp(hedgePolicy, HedgePolicy.Operation.SEARCH, 10);
+
+        final CompletableFuture<String> result = new CompletableFuture<>();
+        hedgePolicy.run(HedgePolicy.Operation.SEARCH,
+                listener -> vertx.setTimer(2000, id -> listener.onResponse("primary")),
+                listener -> listener.onResponse("hedge"),
+                listener(result));
+
+        assertEquals("hedge", result.get(1, TimeUnit.SECONDS));
+        assertEquals(1L, (long) hedgePolicy.getMetrics().getLong("hedged"));
+        assertEquals(1L, (long) hedgePolicy.getMetrics().getLong("hedgeWins"));
+        assertEquals(-1L, hedgePolicy.getThreshold(HedgePolicy.Operation.GET));
+    }
+
+    @Test
+    public void testWaitsForHedgeAfterPrimaryFailure() throws Exception {
+        final HedgePolicy hedgePolicy = new HedgePolicy(vertx, true, 0.5, 1, 10, 1);
+        warmUp(hedgePolicy, HedgePolicy.Operation.GET, 10);
+
+        final CompletableFuture<String> result = new CompletableFuture<>();
+        hedgePolicy.run(HedgePolicy.Operation.GET,
+                listener -> vertx.setTimer(100, id -> listener.onFailure(new IllegalStateException("primary"))),
+                listener -> vertx.setTimer(200, id -> listener.onResponse("hedge")),
+                listener(result));
+
+        assertEquals("hedge", result.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFailsWhenAllFail() throws Exception {
+        final HedgePolicy hedgePolicy = new HedgePolicy(vertx, true, 0.5, 1, 10, 1);
+        warmUp(hedgePolicy, HedgePolicy.Operation.GET, 10);
+
+        final CompletableFuture<String> result = new CompletableFuture<>();
+        hedgePolicy.run(HedgePolicy.Operation.GET,
+                listener -> vertx.setTimer(100, id -> listener.onFailure(new IllegalStateException("primary"))),
+                listener -> vertx.setTimer(200, id -> listener.onFailure(new IllegalArgumentException("hedge"))),
+                listener(result));
+
+        try {
+            result.get(5, TimeUnit.SECONDS);
+            fail("Expected a failure");
+        } catch (ExecutionException e) {
+            assertEquals("primary", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testBudget() throws Exception {
+        final HedgePolicy hedgePolicy = new HedgePolicy(vertx, true, 0.5, 1, 10, 0);
+        warmUp(hedgePolicy, HedgePolicy.Operation.SEARCH, 10);
+
+        final List<CompletableFuture<String>> results = new CopyOnWriteArrayList<>();
+        final AtomicInteger hedges = new AtomicInteger();
+        for (int i = 0; i < HedgePolicy.MAX_BALANCE + 5; i++) {
+            final CompletableFuture<String> result = new CompletableFuture<>();
+            results.add(result);
+            hedgePolicy.run(HedgePolicy.Operation.SEARCH,
+                    listener -> vertx.setTimer(200, id -> listener.onResponse("primary")),
+                    listener -> {
+                        hedges.incrementAndGet();
+                        listener.onResponse("hedge");
+                    },
+                    listener(result));
+        }
+
+        for (CompletableFuture<String> result : results) {
+            result.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals((int) HedgePolicy.MAX_BALANCE, hedges.get());
+        assertEquals(5L, (long) hedgePolicy.getMetrics().getLong("budgetExhausted"));
+    }
+
+    private void warmUp(HedgePolicy hedgePolicy, HedgePolicy.Operation operation, int requests) throws Exception {
+        for (int i = 0; i < requests; i++) {
+            final CompletableFuture<String> result = new CompletableFuture<>();
+            hedgePolicy.run(operation, listener -> listener.onResponse("fast"), listener -> fail("Unexpected hedge"), listener(result));
+            result.get(5, TimeUnit.SECONDS);
+        }
+        assertTrue(hedgePolicy.getThreshold(operation) >= 0);
+    }
+
+    private static long[] values(int count) {
+        final long[] values = new long[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = count - i;
+        }
+        return values;
+    }
+
+    private static <T> ActionListener<T> listener(CompletableFuture<T> future) {
+        return new ActionListener<T>() {
+            @Override
+            public void onResponse(T response) {
+                future.complete(response);
+            }
+
+            @Override
+            public void onFailure(Throwable e) {
+                future.completeExceptionally(e);
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import com.hubrick.vertx.elasticsearch.model.ClientSelection;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JsonElasticSearchConfiguratorTest {
+
+    @Test
+    public void testNoSettings() {
+        final JsonElasticSearchConfigurator configurator = new JsonElasticSearchConfigurator(new JsonObject());
+
+        assertTrue(configurator.getSettings().isEmpty());
+    }
+
+    @Test
+    public void testSettingsAreFlattened() {
+        final JsonElasticSearchConfigurator configurator = new JsonElasticSearchConfigurator(new JsonObject()
+                .put("settings", new JsonObject()
+                        .put("transport", new JsonObject()
+                                .put("tcp", new JsonObject().put("compress", true))
+                                .put("netty.worker_count", 16))
+                        .put("client.transport.ping_timeout", "5s")
+                        .put("node.attr", new JsonArray().add("a").add("b"))));
+
+        final Map<String, String> settings = configurator.getSettings();
+        assertEquals("true", settings.get("transport.tcp.compress"));
+        assertEquals("16", settings.get("transport.netty.worker_count"));
+        assertEquals("5s", settings.get("client.transport.ping_timeout"));
+        assertEquals("a,b", settings.get("node.attr"));
+    }
+
+    @Test
+    public void testSettingsOverrideProfile() {
+        final JsonElasticSearchConfigurator configurator = new JsonElasticSearchConfigurator(new JsonObject()
+                .put("transportProfile", "throughput")
+                .put("settings", new JsonObject().put("transport.connections_per_node.bulk", 4)));
+
+        final Map<String, String> settings = configurator.getSettings();
+        assertEquals("true", settings.get("transport.tcp.compress"));
+        assertEquals("4", settings.get("transport.connections_per_node.bulk"));
+    }
+
+    @Test
+    public void testLowLatencyProfile() {
+        final JsonElasticSearchConfigurator configurator = new JsonElasticSearchConfigurator(new JsonObject()
+                .put("transportProfile", "low-latency"));
+
+        assertEquals(TransportProfile.LOW_LATENCY.getSettings(), configurator.getSettings());
+    }
+
+    @Test
+    public void testClientPoolSelectionIgnoresCase() {
+        final JsonElasticSearchConfigurator configurator = new JsonElasticSearchConfigurator(new JsonObject()
+                .put("clientPool", new JsonObject().put("size", 2).put("selection", "least_in_flight")));
+
+        assertEquals(ClientSelection.LEAST_IN_FLIGHT, configurator.getClientPoolSelection());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownProfile() {
+        new JsonElasticSearchConfigurator(new JsonObject().put("transportProfile", "fast"));
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelScanReadStreamTest {
+
+    @Test
+    public void testPartitionRoundRobin() {
+        final List<List<Integer>> partitions = ParallelScanReadStream.partition(Arrays.asList(0, 1, 2, 3, 4), 2);
+
+        assertEquals(Arrays.asList(Arrays.asList(0, 2, 4), Arrays.asList(1, 3)), partitions);
+    }
+
+    @Test
+    public void testPartitionLimitedByShards() {
+        final List<List<Integer>> partitions = ParallelScanReadStream.partition(Arrays.asList(0, 1), 8);
+
+        assertEquals(Arrays.asList(Collections.singletonList(0), Collections.singletonList(1)), partitions);
+    }
+
+    @Test
+    public void testPartitionWithoutShards() {
+        assertTrue(ParallelScanReadStream.partition(Collections.emptyList(), 4).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParallelism() {
+        new ParallelScanReadStream(null, Collections.singletonList("index"), null, 0);
+    }
+}
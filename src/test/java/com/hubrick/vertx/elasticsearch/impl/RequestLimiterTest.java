@@ -0,0 +1,149 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import com.hubrick.vertx.elasticsearch.model.OperationClass;
+import io.vertx.core.json.JsonObject;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RequestLimiterTest {
+
+    private final RequestLimiter limiter = new RequestLimiter(new JsonElasticSearchConfigurator(new JsonObject()
+            .put("requestLimits", new JsonObject()
+                    .put("search", new JsonObject().put("maxConcurrent", 1).put("maxQueued", 1)))));
+
+    @Test
+    public void testQueueAndReject() {
+        final List<ActionListener<String>> started = new ArrayList<>();
+        final List<Object> results = new ArrayList<>();
+
+        limiter.run(OperationClass.SEARCH, started::add, new RecordingListener(results));
+        limiter.run(OperationClass.SEARCH, started::add, new RecordingListener(results));
+        limiter.run(OperationClass.SEARCH, started::add, new RecordingListener(results));
+
+        assertEquals(1, started.size());
+        assertEquals(1, results.size());
+        assertTrue(results.get(0) instanceof EsRejectedExecutionException);
+
+        JsonObject metrics = limiter.getMetrics().getJsonObject("search");
+        assertEquals(1, (int) metrics.getInteger("inFlight"));
+        assertEquals(1, (int) metrics.getInteger("queued"));
+        assertEquals(1L, (long) metrics.getLong("rejected"));
+
+        started.get(0).onResponse("first");
+        assertEquals(2, started.size());
+        assertEquals("first", results.get(1));
+
+        started.get(1).onFailure(new RuntimeException("second"));
+        assertEquals(3, results.size());
+
+        metrics = limiter.getMetrics().getJsonObject("search");
+        assertEquals(0, (int) metrics.getInteger("inFlight"));
+        assertEquals(0, (int) metrics.getInteger("queued"));
+        assertEquals(2L, (long) metrics.getLong("executed"));
+        assertEquals(1L, (long) metrics.getLong("waited"));
+    }
+
+    @Test
+    public void testReleaseOnlyOnce() {
+        final List<ActionListener<String>> started = new ArrayList<>();
+        final List<Object> results = new ArrayList<>();
+
+        limiter.run(OperationClass.SEARCH, started::add, new RecordingListener(results));
+        started.get(0).onResponse("first");
+        started.get(0).onFailure(new RuntimeException("again"));
+
+        assertEquals(0, (int) limiter.getMetrics().getJsonObject("search").getInteger("inFlight"));
+    }
+
+    @Test
+    public void testQueuedActionsFailingSynchronously() {
+        final int queued = 100000;
+        final RequestLimiter limiter = new RequestLimiter(new JsonElasticSearchConfigurator(new JsonObject()
+                .put("requestLimits", new JsonObject()
+                        .put("write", new JsonObject().put("maxConcurrent", 1).put("maxQueued", queued)))));
+        final List<ActionListener<String>> started = new ArrayList<>();
+        final List<Object> results = new ArrayList<>();
+
+        limiter.run(OperationClass.WRITE, started::add, new RecordingListener(results));
+        for (int i = 0; i < queued; i++) {
+            limiter.run(OperationClass.WRITE, listener -> {
+                throw new IllegalStateException("no node available");
+            }, new RecordingListener(results));
+        }
+
+        started.get(0).onResponse("first");
+
+        assertEquals(queued + 1, results.size());
+        final JsonObject metrics = limiter.getMetrics().getJsonObject("write");
+        assertEquals(0, (int) metrics.getInteger("inFlight"));
+        assertEquals(0, (int) metrics.getInteger("queued"));
+        assertEquals(queued + 1L, (long) metrics.getLong("executed"));
+    }
+
+    @Test
+    public void testActionThrows() {
+        final List<Object> results = new ArrayList<>();
+
+        limiter.run(OperationClass.SEARCH, listener -> {
+            throw new IllegalStateException("no client");
+        }, new RecordingListener(results));
+
+        assertTrue(results.get(0) instanceof IllegalStateException);
+        assertEquals(0, (int) limiter.getMetrics().getJsonObject("search").getInteger("inFlight"));
+    }
+
+    @Test
+    public void testUnlimited() {
+        final List<ActionListener<String>> started = new ArrayList<>();
+        final List<Object> results = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            limiter.run(OperationClass.WRITE, started::add, new RecordingListener(results));
+        }
+
+        assertEquals(100, started.size());
+        assertTrue(results.isEmpty());
+        assertEquals(100, (int) limiter.getMetrics().getJsonObject("write").getInteger("inFlight"));
+    }
+
+    private static class RecordingListener implements ActionListener<String> {
+
+        private final List<Object> results;
+
+        private RecordingListener(List<Object> results) {
+            this.results = results;
+        }
+
+        @Override
+        public void onResponse(String response) {
+            results.add(response);
+        }
+
+        @Override
+        public void onFailure(Throwable e) {
+            results.add(e);
+        }
+    }
+}
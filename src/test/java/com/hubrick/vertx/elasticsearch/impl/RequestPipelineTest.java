@@ -0,0 +1,139 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import com.hubrick.vertx.elasticsearch.model.OperationClass;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RequestPipelineTest {
+
+    private final Vertx vertx = Vertx.vertx();
+    private final JsonElasticSearchConfigurator configurator = new JsonElasticSearchConfigurator(new JsonObject());
+    private final RetryPolicy retryPolicy = new RetryPolicy(vertx, 2, 1, 1, 1);
+    private final RequestLimiter requestLimiter = new RequestLimiter(configurator);
+    private final RequestPipeline pipeline = new RequestPipeline(retryPolicy, requestLimiter, new CircuitBreaker(vertx, configurator));
+
+    @After
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void testRun() throws Exception {
+        final AtomicInteger attempts = new AtomicInteger();
+        final CompletableFuture<String> result = new CompletableFuture<>();
+
+        pipeline.run(OperationClass.SEARCH, listener -> {
+            if (attempts.incrementAndGet() == 1) {
+                listener.onFailure(new EsRejectedExecutionException("rejected"));
+            } else {
+                listener.onResponse("response");
+            }
+        }, listener(result));
+
+        assertEquals("response", result.get(5, TimeUnit.SECONDS));
+        assertEquals(2, attempts.get());
+        assertEquals(0, (int) requestLimiter.getMetrics().getJsonObject("search").getInteger("inFlight"));
+    }
+
+    @Test
+    public void testRejectedBulkIsRetriedOnlyByTheBulkRetry() throws Exception {
+        final AtomicInteger attempts = new AtomicInteger();
+        final CompletableFuture<BulkResponse> result = new CompletableFuture<>();
+
+        pipeline.bulk(bulkRequest(), (bulkRequest, listener) -> {
+            attempts.incrementAndGet();
+            listener.onFailure(new EsRejectedExecutionException("rejected"));
+        }, listener(result));
+
+        try {
+            result.get(5, TimeUnit.SECONDS);
+            fail("Expected EsRejectedExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof EsRejectedExecutionException);
+        }
+        assertEquals(3, attempts.get());
+        assertEquals(1L, (long) retryPolicy.getMetrics().getLong("requests"));
+        assertEquals(2L, (long) retryPolicy.getMetrics().getLong("retries"));
+        assertEquals(3L, (long) requestLimiter.getMetrics().getJsonObject("write").getLong("executed"));
+    }
+
+    @Test
+    public void testBulkItemRetry() throws Exception {
+        final AtomicInteger attempts = new AtomicInteger();
+        final CompletableFuture<BulkResponse> result = new CompletableFuture<>();
+
+        pipeline.bulk(bulkRequest(), (bulkRequest, listener) -> {
+            if (attempts.incrementAndGet() == 1) {
+                listener.onResponse(new BulkResponse(new BulkItemResponse[]{
+                        new BulkItemResponse(0, "index", new IndexResponse("index", "type", "1", 1, true)),
+                        new BulkItemResponse(1, "index", new BulkItemResponse.Failure("index", "type", "2", new EsRejectedExecutionException("rejected")))
+                }, 1));
+            } else {
+                listener.onResponse(new BulkResponse(new BulkItemResponse[]{
+                        new BulkItemResponse(0, "index", new IndexResponse("index", "type", "2", 1, true))
+                }, 1));
+            }
+        }, listener(result));
+
+        final BulkResponse bulkResponse = result.get(5, TimeUnit.SECONDS);
+        assertFalse(bulkResponse.hasFailures());
+        assertEquals(2, attempts.get());
+        assertEquals(1L, (long) retryPolicy.getMetrics().getLong("requests"));
+        assertEquals(1L, (long) retryPolicy.getMetrics().getLong("retries"));
+        assertEquals(0, (int) requestLimiter.getMetrics().getJsonObject("write").getInteger("inFlight"));
+    }
+
+    private static BulkRequest bulkRequest() {
+        return new BulkRequest()
+                .add(new IndexRequest("index", "type", "1").source("field", "value1"))
+                .add(new IndexRequest("index", "type", "2").source("field", "value2"));
+    }
+
+    private static <T> ActionListener<T> listener(CompletableFuture<T> future) {
+        return new ActionListener<T>() {
+            @Override
+            public void onResponse(T response) {
+                future.complete(response);
+            }
+
+            @Override
+            public void onFailure(Throwable e) {
+                future.completeExceptionally(e);
+            }
+        };
+    }
+}
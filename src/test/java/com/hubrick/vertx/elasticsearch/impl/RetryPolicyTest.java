@@ -0,0 +1,211 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import io.vertx.core.Vertx;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.index.engine.VersionConflictEngineException;
+import org.elasticsearch.index.shard.ShardId;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RetryPolicyTest {
+
+    private final Vertx vertx = Vertx.vertx();
+
+    @After
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void testRetriesRejections() throws Exception {
+        final RetryPolicy retryPolicy = new RetryPolicy(vertx, 3, 1, 10, 0.1);
+        final AtomicInteger attempts = new AtomicInteger();
+        final CompletableFuture<String> result = new CompletableFuture<>();
+
+        retryPolicy.run(listener -> {
+            if (attempts.incrementAndGet() < 3) {
+                listener.onFailure(new EsRejectedExecutionException("rejected"));
+            } else {
+                listener.onResponse("done");
+            }
+        }, listener(result));
+
+        assertEquals("done", result.get(5, TimeUnit.SECONDS));
+        assertEquals(3, attempts.get());
+        assertEquals(2L, (long) retryPolicy.getMetrics().getLong("retries"));
+    }
+
+    @Test
+    public void testDoesNotRetryOtherFailures() throws Exception {
+        final RetryPolicy retryPolicy = new RetryPolicy(vertx, 3, 1, 10, 0.1);
+        final AtomicInteger attempts = new AtomicInteger();
+        final CompletableFuture<String> result = new CompletableFuture<>();
+
+        retryPolicy.run(listener -> {
+            attempts.incrementAndGet();
+            listener.onFailure(new IllegalArgumentException("invalid"));
+        }, listener(result));
+
+        assertFailure(result, IllegalArgumentException.class);
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    public void testDoesNotRetryLocalLimitRejections() throws Exception {
+        final RetryPolicy retryPolicy = new RetryPolicy(vertx, 3, 1, 10, 0.1);
+        final AtomicInteger attempts = new AtomicInteger();
+        final CompletableFuture<String> result = new CompletableFuture<>();
+
+        retryPolicy.run(listener -> {
+            attempts.incrementAndGet();
+            listener.onFailure(new RequestLimitExceededException("rejected"));
+        }, listener(result));
+
+        assertFailure(result, RequestLimitExceededException.class);
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    public void testBudget() throws Exception {
+        final RetryPolicy retryPolicy = new RetryPolicy(vertx, 100, 1, 1, 0);
+        final AtomicInteger attempts = new AtomicInteger();
+        final CompletableFuture<String> result = new CompletableFuture<>();
+
+        retryPolicy.run(listener -> {
+            attempts.incrementAndGet();
+            listener.onFailure(new EsRejectedExecutionException("rejected"));
+        }, listener(result));
+
+        assertFailure(result, EsRejectedExecutionException.class);
+        assertEquals((int) RetryPolicy.MAX_BALANCE + 1, attempts.get());
+        assertEquals(1L, (long) retryPolicy.getMetrics().getLong("budgetExhausted"));
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        final RetryPolicy retryPolicy = new RetryPolicy(vertx, 0, 1, 1, 0.1);
+        final AtomicInteger attempts = new AtomicInteger();
+        final CompletableFuture<String> result = new CompletableFuture<>();
+
+        retryPolicy.run(listener -> {
+            attempts.incrementAndGet();
+            listener.onFailure(new EsRejectedExecutionException("rejected"));
+        }, listener(result));
+
+        assertFailure(result, EsRejectedExecutionException.class);
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    public void testDelay() {
+        final RetryPolicy retryPolicy = new RetryPolicy(vertx, 10, 100, 1000, 0.1);
+
+        for (int i = 0; i < 100; i++) {
+            final long first = retryPolicy.delay(0);
+            assertTrue(first >= 50 && first <= 100);
+            final long capped = retryPolicy.delay(8);
+            assertTrue(capped >= 500 && capped <= 1000);
+        }
+        assertTrue(retryPolicy.delay(100) <= 1000);
+    }
+
+    @Test
+    public void testBulkItemRetry() throws Exception {
+        final RetryPolicy retryPolicy = new RetryPolicy(vertx, 3, 1, 10, 0.1);
+        final BulkRequest request = new BulkRequest()
+                .add(new IndexRequest("index", "type", "1").source("field", "value1"))
+                .add(new IndexRequest("index", "type", "2").source("field", "value2"))
+                .add(new IndexRequest("index", "type", "3").source("field", "value3"));
+        final List<BulkRequest> executed = new ArrayList<>();
+        final CompletableFuture<BulkResponse> result = new CompletableFuture<>();
+
+        retryPolicy.bulk(request, (bulkRequest, listener) -> {
+            executed.add(bulkRequest);
+            if (executed.size() == 1) {
+                listener.onResponse(new BulkResponse(new BulkItemResponse[]{
+                        success(0, "1"),
+                        failure(1, "2", new EsRejectedExecutionException("rejected")),
+                        failure(2, "3", new VersionConflictEngineException(new ShardId("index", 0), "type", "3", 2, 1))
+                }, 1));
+            } else {
+                listener.onResponse(new BulkResponse(new BulkItemResponse[]{success(0, "2")}, 1));
+            }
+        }, listener(result));
+
+        final BulkResponse bulkResponse = result.get(5, TimeUnit.SECONDS);
+        assertEquals(2, executed.size());
+        assertEquals(1, executed.get(1).numberOfActions());
+
+        final BulkItemResponse[] items = bulkResponse.getItems();
+        assertEquals(3, items.length);
+        assertFalse(items[1].isFailed());
+        assertEquals(1, items[1].getItemId());
+        assertEquals("2", items[1].getId());
+        assertTrue(items[2].isFailed());
+        assertEquals(2L, bulkResponse.getTookInMillis());
+    }
+
+    private static BulkItemResponse success(int itemId, String id) {
+        return new BulkItemResponse(itemId, "index", new IndexResponse("index", "type", id, 1, true));
+    }
+
+    private static BulkItemResponse failure(int itemId, String id, Throwable cause) {
+        return new BulkItemResponse(itemId, "index", new BulkItemResponse.Failure("index", "type", id, cause));
+    }
+
+    private static <T> ActionListener<T> listener(CompletableFuture<T> future) {
+        return new ActionListener<T>() {
+            @Override
+            public void onResponse(T response) {
+                future.complete(response);
+            }
+
+            @Override
+            public void onFailure(Throwable e) {
+                future.completeExceptionally(e);
+            }
+        };
+    }
+
+    private static void assertFailure(CompletableFuture<?> future, Class<? extends Throwable> expected) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected " + expected.getSimpleName());
+        } catch (ExecutionException e) {
+            assertTrue(expected.isInstance(e.getCause()));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ScrollRegistryTest {
+
+    private final ScrollRegistry registry = new ScrollRegistry();
+
+    @Test
+    public void testTouchReplacesPreviousScrollId() {
+        registry.touch(null, "1", 60000);
+        registry.touch("1", "2", 60000);
+
+        assertEquals(Collections.singletonList("2"), registry.removeAll());
+    }
+
+    @Test
+    public void testRemove() {
+        registry.touch(null, "1", 60000);
+        registry.touch(null, "2", 60000);
+        registry.remove(Collections.singletonList("1"));
+
+        assertEquals(Collections.singletonList("2"), registry.removeAll());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void testExpiredScrollsAreForgotten() throws Exception {
+        registry.touch(null, "1", 10);
+        registry.touch(null, "2", 60000);
+        Thread.sleep(50);
+
+        assertEquals(Collections.singletonList("2"), registry.removeAll());
+    }
+
+    @Test
+    public void testExpiredScrollsArePrunedOnTouch() throws Exception {
+        registry.touch(null, "1", 10);
+        Thread.sleep(50);
+        registry.touch(null, "2", 60000);
+
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void testKeepAliveIsInheritedWhenNotGiven() throws Exception {
+        registry.touch(null, "1", 10);
+        registry.touch("1", "2", -1);
+        Thread.sleep(50);
+
+        assertTrue(registry.removeAll().isEmpty());
+    }
+
+    @Test
+    public void testRemoveIdle() throws Exception {
+        registry.touch(null, "1", 60000);
+        Thread.sleep(50);
+        registry.touch(null, "2", 60000);
+
+        assertEquals(Collections.singletonList("1"), registry.removeIdle(25));
+        assertEquals(Collections.singletonList("2"), registry.removeAll());
+    }
+}
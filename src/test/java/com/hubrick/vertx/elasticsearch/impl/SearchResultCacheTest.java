@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import com.hubrick.vertx.elasticsearch.model.Hit;
+import com.hubrick.vertx.elasticsearch.model.Hits;
+import com.hubrick.vertx.elasticsearch.model.SearchResponse;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertNotSame;
+
+public class SearchResultCacheTest {
+
+    @Test
+    public void testFingerprintIgnoresOrder() {
+        final JsonObject options1 = new JsonObject()
+                .put("size", 10)
+                .put("query", new JsonObject().put("term", new JsonObject().put("a", "1")).put("boost", 2))
+                .put("fields", new JsonArray().add("f1").add("f2"));
+        final JsonObject options2 = new JsonObject()
+                .put("fields", new JsonArray().add("f1").add("f2"))
+                .put("query", new JsonObject().put("boost", 2).put("term", new JsonObject().put("a", "1")))
+                .put("size", 10);
+
+        assertEquals(
+                SearchResultCache.fingerprint(Arrays.asList("index1", "index2"), options1),
+                SearchResultCache.fingerprint(Arrays.asList("index2", "index1"), options2)
+        );
+        assertNotEquals(
+                SearchResultCache.fingerprint(Arrays.asList("index1"), options1),
+                SearchResultCache.fingerprint(Arrays.asList("index1"), options1.copy().put("size", 11))
+        );
+    }
+
+    @Test
+    public void testExpiry() throws Exception {
+        final SearchResultCache cache = new SearchResultCache(10);
+        final SearchResponse response = new SearchResponse().setTook(1L);
+
+        cache.put("key1", response, 60000);
+        cache.put("key2", response, 1);
+        Thread.sleep(10);
+
+        assertEquals(response.getTook(), cache.get("key1").getTook());
+        assertNull(cache.get("key2"));
+
+        final JsonObject metrics = cache.getMetrics();
+        assertEquals(2, metrics.getLong("hits").longValue());
+        assertEquals(1, metrics.getLong("misses").longValue());
+        assertEquals(1, metrics.getInteger("size").intValue());
+    }
+
+    @Test
+    public void testResponsesAreCopied() {
+        final SearchResultCache cache = new SearchResultCache(10);
+        final Hit hit = new Hit().setId("1").setSourceBuffer(Buffer.buffer("{\"field\":\"value\"}"));
+        final Hits hits = new Hits().setTotal(1L);
+        hits.getHits().add(hit);
+        final SearchResponse response = new SearchResponse().setHits(hits);
+
+        cache.put("key", response, 60000);
+        hit.getSource().put("field", "modified");
+        final SearchResponse cached = cache.get("key");
+        assertNotSame(response, cached);
+        cached.getHits().getHits().get(0).getSource().put("field", "modified");
+        cached.getHits().getHits().clear();
+
+        final Hit cachedHit = cache.get("key").getHits().getHits().get(0);
+        assertEquals("1", cachedHit.getId());
+        assertEquals("value", cachedHit.getSource().getString("field"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        final SearchResultCache cache = new SearchResultCache(2);
+
+        cache.put("key1", new SearchResponse(), 60000);
+        cache.put("key2", new SearchResponse(), 60000);
+        cache.get("key1");
+        cache.put("key3", new SearchResponse(), 60000);
+
+        assertNotNull(cache.get("key1"));
+        assertNull(cache.get("key2"));
+        assertNotNull(cache.get("key3"));
+        assertEquals(1, cache.getMetrics().getLong("evictions").longValue());
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class SmileJsonObjectCodecTest {
+
+    private final SmileJsonObjectCodec codec = new SmileJsonObjectCodec();
+
+    @Test
+    public void testWireRoundTrip() {
+        final JsonObject jsonObject = new JsonObject()
+                .put("string", "value")
+                .put("int", 1)
+                .put("long", Long.MAX_VALUE)
+                .put("double", 1.5)
+                .put("boolean", true)
+                .putNull("null")
+                .put("binary", new byte[]{1, 2, 3})
+                .put("object", new JsonObject().put("nested", new JsonArray().add(1).add(new JsonObject().put("a", "b"))));
+
+        final Buffer buffer = Buffer.buffer().appendString("prefix");
+        codec.encodeToWire(buffer, jsonObject);
+
+        final JsonObject decoded = codec.decodeFromWire(6, buffer);
+
+        assertEquals(jsonObject, decoded);
+        assertEquals(jsonObject.encode(), decoded.encode());
+    }
+
+    @Test
+    public void testNullBody() {
+        final Buffer buffer = Buffer.buffer();
+        codec.encodeToWire(buffer, null);
+
+        assertNull(codec.decodeFromWire(0, buffer));
+        assertNull(codec.transform(null));
+    }
+
+    @Test
+    public void testTransformCopies() {
+        final JsonObject jsonObject = new JsonObject().put("object", new JsonObject().put("a", "b"));
+        final JsonObject transformed = codec.transform(jsonObject);
+
+        transformed.getJsonObject("object").put("a", "c");
+
+        assertEquals("b", jsonObject.getJsonObject("object").getString("a"));
+    }
+}
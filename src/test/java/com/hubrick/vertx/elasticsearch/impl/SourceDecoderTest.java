@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import com.hubrick.vertx.elasticsearch.model.GetResponse;
+import com.hubrick.vertx.elasticsearch.model.GetResult;
+import com.hubrick.vertx.elasticsearch.model.Hit;
+import com.hubrick.vertx.elasticsearch.model.Hits;
+import com.hubrick.vertx.elasticsearch.model.SearchResponse;
+import com.hubrick.vertx.elasticsearch.model.TypedHits;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SourceDecoderTest {
+
+    @Test
+    public void testDecodeHits() {
+        final SearchResponse searchResponse = new SearchResponse();
+        searchResponse.setHits(new Hits()
+                .setTotal(2L)
+                .setHits(Arrays.asList(
+                        new Hit().setId("1").setSourceBuffer(Buffer.buffer("{\"user\":\"user1\",\"age\":10}")),
+                        new Hit().setId("2").setSource(new JsonObject().put("user", "user2"))
+                )));
+
+        final TypedHits<User> typedHits = SourceDecoder.decodeHits(searchResponse, User.class);
+
+        assertEquals(2L, typedHits.getTotal().longValue());
+        assertEquals("1", typedHits.getHits().get(0).getId());
+        assertEquals("user1", typedHits.getHits().get(0).getSource().user);
+        assertEquals(10, typedHits.getHits().get(0).getSource().age);
+        assertEquals("user2", typedHits.getHits().get(1).getSource().user);
+    }
+
+    @Test
+    public void testDecodeHitsCreatedFromJson() {
+        final JsonObject json = new JsonObject()
+                .put("hits", new JsonObject()
+                        .put("total", 1)
+                        .put("hits", new JsonArray().add(new JsonObject()
+                                .put("id", "1")
+                                .put("source", new JsonObject().put("user", "user1").put("age", 10)))));
+        final SearchResponse searchResponse = new SearchResponse(json);
+
+        final TypedHits<User> typedHits = SourceDecoder.decodeHits(searchResponse, User.class);
+
+        assertTrue(searchResponse.getHits().getHits().get(0).isSourceDecoded());
+        assertEquals("user1", typedHits.getHits().get(0).getSource().user);
+        assertEquals(10, typedHits.getHits().get(0).getSource().age);
+    }
+
+    @Test
+    public void testDecodeGetResponse() {
+        final GetResponse getResponse = new GetResponse();
+        getResponse.setResult(new GetResult().setExists(true).setSourceBuffer(Buffer.buffer("{\"user\":\"user1\"}")));
+        assertEquals("user1", SourceDecoder.decodeGetResponse(getResponse, User.class).user);
+
+        getResponse.setResult(new GetResult().setExists(false));
+        assertNull(SourceDecoder.decodeGetResponse(getResponse, User.class));
+
+        getResponse.setResult(new GetResult().setExists(true).setSource(new JsonObject().put("user", "user2")));
+        assertEquals("user2", SourceDecoder.decodeGetResponse(getResponse, User.class).user);
+    }
+
+    @Test(expected = DecodeException.class)
+    public void testDecodeInvalidSource() {
+        SourceDecoder.decode(Buffer.buffer("{\"user\":"), User.class);
+    }
+
+    @Test(expected = DecodeException.class)
+    public void testDecodeInvalidDecodedSource() {
+        SourceDecoder.decode(new JsonObject().put("age", "ten"), User.class);
+    }
+
+    public static class User {
+        public String user;
+        public int age;
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * Copyright (C) 2016 Etaia AS (oss@hubrick.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hubrick.vertx.elasticsearch.impl;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.assertEquals;
+
+public class TransportClientPoolTest {
+
+    @Test
+    public void testLeastInFlight() {
+        final AtomicIntegerArray inFlight = new AtomicIntegerArray(new int[]{3, 1, 2});
+
+        assertEquals(1, TransportClientPool.leastInFlight(inFlight, 0));
+        assertEquals(1, TransportClientPool.leastInFlight(inFlight, 2));
+    }
+
+    @Test
+    public void testLeastInFlightTiesTakeTurns() {
+        final AtomicIntegerArray inFlight = new AtomicIntegerArray(new int[]{1, 1, 1});
+
+        assertEquals(0, TransportClientPool.leastInFlight(inFlight, 0));
+        assertEquals(1, TransportClientPool.leastInFlight(inFlight, 1));
+        assertEquals(2, TransportClientPool.leastInFlight(inFlight, 2));
+    }
+
+    @Test
+    public void testIdleClientIsTakenImmediately() {
+        final AtomicIntegerArray inFlight = new AtomicIntegerArray(new int[]{0, 5, 0});
+
+        assertEquals(0, TransportClientPool.leastInFlight(inFlight, 0));
+        assertEquals(2, TransportClientPool.leastInFlight(inFlight, 1));
+    }
+}
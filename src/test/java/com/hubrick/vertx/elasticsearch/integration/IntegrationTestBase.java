@@ -22,17 +22,28 @@ import com.hubrick.vertx.elasticsearch.ElasticSearchService;
 import com.hubrick.vertx.elasticsearch.ElasticSearchServiceVerticle;
 import com.hubrick.vertx.elasticsearch.RxElasticSearchAdminService;
 import com.hubrick.vertx.elasticsearch.RxElasticSearchService;
+import com.hubrick.vertx.elasticsearch.impl.DefaultElasticSearchService;
 import com.hubrick.vertx.elasticsearch.impl.DefaultRxElasticSearchAdminService;
 import com.hubrick.vertx.elasticsearch.impl.DefaultRxElasticSearchService;
+import com.hubrick.vertx.elasticsearch.model.AggregationResult;
+import com.hubrick.vertx.elasticsearch.model.BulkItem;
+import com.hubrick.vertx.elasticsearch.model.BulkResponseItem;
 import com.hubrick.vertx.elasticsearch.model.CompletionSuggestOption;
 import com.hubrick.vertx.elasticsearch.model.DeleteByQueryOptions;
+import com.hubrick.vertx.elasticsearch.model.DeleteOptions;
+import com.hubrick.vertx.elasticsearch.model.GetItem;
+import com.hubrick.vertx.elasticsearch.model.GetOptions;
 import com.hubrick.vertx.elasticsearch.model.IndexOptions;
+import com.hubrick.vertx.elasticsearch.model.MultiGetResponseItem;
 import com.hubrick.vertx.elasticsearch.model.ScriptSortOption;
 import com.hubrick.vertx.elasticsearch.model.SearchOptions;
+import com.hubrick.vertx.elasticsearch.model.SearchRequestItem;
 import com.hubrick.vertx.elasticsearch.model.SearchScrollOptions;
 import com.hubrick.vertx.elasticsearch.model.SuggestOptions;
+import com.hubrick.vertx.elasticsearch.model.UpdateOptions;
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.ReplyException;
 import io.vertx.core.json.JsonArray;
@@ -49,8 +60,11 @@ import org.junit.FixMethodOrder;
 import org.junit.Test;
 import org.junit.runners.MethodSorters;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Scanner;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.hubrick.vertx.elasticsearch.VertxMatcherAssert.assertThat;
 import static org.hamcrest.CoreMatchers.instanceOf;
@@ -85,6 +99,7 @@ public abstract class IntegrationTestBase extends AbstractVertxIntegrationTest {
     public void setUp(TestContext testContext) throws Exception {
         config = readConfig();
         configure(config);
+        config.put("binary", true);
 
         deployVerticle(testContext, getVerticleName(), new DeploymentOptions().setConfig(config));
 
@@ -303,6 +318,248 @@ public abstract class IntegrationTestBase extends AbstractVertxIntegrationTest {
                 );
     }
 
+    @Test
+    public void test80Bulk(TestContext testContext) throws Exception {
+
+        final Async async = testContext.async();
+        final String bulkId = UUID.randomUUID().toString();
+        final JsonObject source = new JsonObject()
+                .put("user", source_user)
+                .put("message", source_message);
+
+        rxService.bulk(Arrays.asList(
+                BulkItem.index(index, type, source, new IndexOptions().setId(bulkId)),
+                BulkItem.update(index, type, bulkId, new UpdateOptions().setDoc(new JsonObject().put("message", "updated"))),
+                BulkItem.delete(index, type, bulkId, new DeleteOptions())
+        ))
+                .subscribe(
+                        bulkResponse -> {
+                            assertThat(testContext, bulkResponse.getErrors(), is(false));
+                            assertThat(testContext, bulkResponse.getItems().size(), is(3));
+
+                            final BulkResponseItem indexItem = bulkResponse.getItems().get(0);
+                            assertThat(testContext, indexItem.getAction(), is(BulkItem.Action.INDEX));
+                            assertThat(testContext, indexItem.getId(), is(bulkId));
+                            assertThat(testContext, indexItem.getStatus(), is(201));
+                            assertThat(testContext, indexItem.getVersion(), is(1l));
+
+                            assertThat(testContext, bulkResponse.getItems().get(1).getAction(), is(BulkItem.Action.UPDATE));
+                            assertThat(testContext, bulkResponse.getItems().get(1).getVersion(), is(2l));
+                            assertThat(testContext, bulkResponse.getItems().get(2).getAction(), is(BulkItem.Action.DELETE));
+                            assertThat(testContext, bulkResponse.getItems().get(2).getStatus(), is(200));
+
+                            async.complete();
+                        },
+                        error -> testContext.fail(error)
+                );
+    }
+
+    @Test
+    public void test81MultiGet(TestContext testContext) throws Exception {
+
+        final Async async = testContext.async();
+        rxService.multiGet(Arrays.asList(
+                new GetItem(index, type, id).setOptions(new GetOptions().setFetchSource(Arrays.asList("user"), null)),
+                new GetItem(index, type, "missing-id")
+        ))
+                .subscribe(
+                        multiGetResponse -> {
+                            assertThat(testContext, multiGetResponse.getItems().size(), is(2));
+
+                            final MultiGetResponseItem existingItem = multiGetResponse.getItems().get(0);
+                            assertThat(testContext, existingItem.isFailed(), is(false));
+                            assertThat(testContext, existingItem.getResult().getId(), is(id));
+                            assertThat(testContext, existingItem.getResult().getExists(), is(true));
+                            assertThat(testContext, existingItem.getResult().getSource().getString("user"), is(source_user));
+                            assertThat(testContext, existingItem.getResult().getSource().containsKey("message"), is(false));
+
+                            final MultiGetResponseItem missingItem = multiGetResponse.getItems().get(1);
+                            assertThat(testContext, missingItem.getResult().getExists(), is(false));
+
+                            async.complete();
+                        },
+                        error -> testContext.fail(error)
+                );
+    }
+
+    @Test
+    public void test82MultiSearch(TestContext testContext) throws Exception {
+
+        final Async async = testContext.async();
+        rxService.multiSearch(Arrays.asList(
+                new SearchRequestItem(index, new SearchOptions().setQuery(new JsonObject().put("match_all", new JsonObject()))),
+                new SearchRequestItem(index, new SearchOptions().setQuery(new JsonObject().put("invalid_query", new JsonObject())))
+        ))
+                .subscribe(
+                        multiSearchResponse -> {
+                            assertThat(testContext, multiSearchResponse.getItems().size(), is(2));
+                            assertThat(testContext, multiSearchResponse.getItems().get(0).isFailed(), is(false));
+                            assertThat(testContext, multiSearchResponse.getItems().get(0).getResponse().getHits().getTotal(), greaterThan(0l));
+                            assertThat(testContext, multiSearchResponse.getItems().get(1).isFailed(), is(true));
+
+                            async.complete();
+                        },
+                        error -> testContext.fail(error)
+                );
+    }
+
+    @Test
+    public void test83ScrollStream(TestContext testContext) throws Exception {
+
+        final Async async = testContext.async();
+        final SearchOptions options = new SearchOptions()
+                .setSize(1)
+                .setQuery(new JsonObject().put("match_all", new JsonObject()));
+        final AtomicInteger count = new AtomicInteger();
+
+        service.scrollStream(index, options)
+                .exceptionHandler(error -> testContext.fail(error))
+                .endHandler(v -> {
+                    assertThat(testContext, count.get(), greaterThan(0));
+                    async.complete();
+                })
+                .handler(hit -> {
+                    assertThat(testContext, hit.getIndex(), is(index));
+                    count.incrementAndGet();
+                });
+    }
+
+    @Test
+    public void test84ScrollAll(TestContext testContext) throws Exception {
+
+        final Async async = testContext.async();
+        final SearchOptions options = new SearchOptions()
+                .setSize(1)
+                .setQuery(new JsonObject().put("match_all", new JsonObject()));
+
+        rxService.scrollAll(index, options)
+                .count()
+                .subscribe(
+                        count -> {
+                            assertThat(testContext, count, greaterThan(0));
+                            async.complete();
+                        },
+                        error -> testContext.fail(error)
+                );
+    }
+
+    @Test
+    public void test85LocalProxy(TestContext testContext) throws Exception {
+
+        final ElasticSearchService localService = ElasticSearchService.createLocalProxy(vertx, "et.elasticsearch");
+        assertThat(testContext, localService, instanceOf(DefaultElasticSearchService.class));
+
+        final Async async = testContext.async();
+        new DefaultRxElasticSearchService(localService).get(index, type, id)
+                .subscribe(
+                        getResponse -> {
+                            assertThat(testContext, getResponse.getResult().getId(), is(id));
+                            assertThat(testContext, getResponse.getResult().getSource().getString("user"), is(source_user));
+
+                            async.complete();
+                        },
+                        error -> testContext.fail(error)
+                );
+    }
+
+    @Test
+    public void test86IndexAndUpdateBuffer(TestContext testContext) throws Exception {
+
+        final String bufferId = "integration-test-buffer";
+        final RxElasticSearchService localService = new DefaultRxElasticSearchService(ElasticSearchService.createLocalProxy(vertx, "et.elasticsearch"));
+
+        final Async async = testContext.async();
+        localService.index(index, type, Buffer.buffer(new JsonObject().put("user", source_user).encode()), new IndexOptions().setId(bufferId))
+                .flatMap(indexResponse -> localService.update(index, type, bufferId, Buffer.buffer("{\"message\":\"updated\"}"), new UpdateOptions()))
+                .flatMap(updateResponse -> localService.get(index, type, bufferId))
+                .subscribe(
+                        getResponse -> {
+                            assertThat(testContext, getResponse.getResult().getSource().getString("user"), is(source_user));
+                            assertThat(testContext, getResponse.getResult().getSource().getString("message"), is("updated"));
+
+                            async.complete();
+                        },
+                        error -> testContext.fail(error)
+                );
+    }
+
+    @Test
+    public void test87TypedAggregations(TestContext testContext) throws Exception {
+
+        final SearchOptions options = new SearchOptions()
+                .setSize(0)
+                .setTypedAggregations(true)
+                .setAggregations(new JsonObject()
+                        .put("users", new JsonObject()
+                                .put("terms", new JsonObject().put("field", "user"))
+                                .put("aggregations", new JsonObject()
+                                        .put("messages", new JsonObject().put("value_count", new JsonObject().put("field", "message"))))));
+
+        final Async async = testContext.async();
+        rxService.search(index, options)
+                .subscribe(
+                        searchResponse -> {
+                            assertThat(testContext, searchResponse.getAggregations().isEmpty(), is(true));
+
+                            final AggregationResult users = searchResponse.getTypedAggregations().get("users");
+                            assertThat(testContext, users.getType(), is("terms"));
+                            assertThat(testContext, users.getKeys().contains(source_user), is(true));
+                            assertThat(testContext, users.getDocCounts().get(0), greaterThan(0l));
+                            assertThat(testContext, users.getBuckets().get(0).getAggregations().get("messages").getValue(), greaterThan(0d));
+
+                            async.complete();
+                        },
+                        error -> testContext.fail(error)
+                );
+    }
+
+    @Test
+    public void test88ParallelScan(TestContext testContext) throws Exception {
+
+        final SearchOptions options = new SearchOptions()
+                .setSize(1)
+                .setQuery(new JsonObject().put("match_all", new JsonObject()));
+
+        final Async async = testContext.async();
+        rxService.searchShards(Collections.singletonList(index))
+                .flatMap(searchShardsResponse -> {
+                    assertThat(testContext, searchShardsResponse.getGroups().isEmpty(), is(false));
+                    assertThat(testContext, searchShardsResponse.getGroups().get(0).getIndex(), is(index));
+                    return rxService.scrollAll(index, options).count();
+                })
+                .flatMap(expected -> rxService.parallelScanAll(index, options, 2)
+                        .doOnNext(hit -> assertThat(testContext, hit.getIndex(), is(index)))
+                        .count()
+                        .doOnNext(count -> assertThat(testContext, count, is(expected))))
+                .subscribe(
+                        count -> async.complete(),
+                        error -> testContext.fail(error)
+                );
+    }
+
+    @Test
+    public void test89BinaryProxy(TestContext testContext) throws Exception {
+
+        final RxElasticSearchService binaryService = new DefaultRxElasticSearchService(ElasticSearchService.createBinaryEventBusProxy(vertx, "et.elasticsearch.binary"));
+        final SearchOptions options = new SearchOptions()
+                .setScroll("5m")
+                .setQuery(new JsonObject().put("match_all", new JsonObject()));
+
+        final Async async = testContext.async();
+        binaryService.search(index, options)
+                .flatMap(searchResponse -> {
+                    assertThat(testContext, searchResponse.getHits().getHits().size(), greaterThan(0));
+                    assertThat(testContext, searchResponse.getScrollId(), notNullValue());
+
+                    // Void replies have no body
+                    return binaryService.clearScroll(Collections.singletonList(searchResponse.getScrollId()));
+                })
+                .subscribe(
+                        ignored -> async.complete(),
+                        error -> testContext.fail(error)
+                );
+    }
+
     @Test
     public void test99Delete(TestContext testContext) throws Exception {
 